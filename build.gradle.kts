@@ -11,11 +11,27 @@ allprojects {
     description = "Lightweight and multi-threaded Minecraft server implementation"
 }
 
+evaluationDependsOn(":code-generators")
+
+// Binary registry snapshots, loaded instead of the json files
+val generateRegistry = tasks.register<JavaExec>("generateRegistry") {
+    val outputDir = layout.buildDirectory.dir("generated/registry")
+    // Server classes provide the list of registry resources, only the compiled classes to not depend on the resources
+    classpath = project(":code-generators").extensions.getByType<SourceSetContainer>()["main"].runtimeClasspath +
+            files(sourceSets.main.map { it.output.classesDirs })
+    mainClass.set("net.minestom.codegen.registry.RegistryBinaryGenerator")
+    argumentProviders.add(CommandLineArgumentProvider { listOf(outputDir.get().asFile.absolutePath) })
+    outputs.dir(outputDir)
+}
+
 sourceSets {
     main {
         java {
             srcDir(file("src/autogenerated/java"))
         }
+        resources {
+            srcDir(generateRegistry)
+        }
     }
 }
 
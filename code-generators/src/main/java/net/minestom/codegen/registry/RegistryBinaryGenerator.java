@@ -0,0 +1,165 @@
+package net.minestom.codegen.registry;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precompiles the registry json files into the binary snapshots read by {@code RegistryBinary}.
+ * <p>
+ * Snapshots start with a table of every string used as a key or value, followed by the json tree
+ * where strings are referenced by their table index and numbers are stored already parsed.
+ */
+public final class RegistryBinaryGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegistryBinaryGenerator.class);
+    // Compiled server classes are on the classpath of the generation task, see build.gradle.kts
+    private static final String RESOURCE_CLASS = "net.minestom.server.registry.Registry$Resource";
+
+    private static final int MAGIC = 0x4D535247; // MSRG
+    private static final int VERSION = 1;
+
+    private static final byte OBJECT = 0;
+    private static final byte ARRAY = 1;
+    private static final byte STRING = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte TRUE = 5;
+    private static final byte FALSE = 6;
+
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            LOGGER.error("Usage: <target folder>");
+            return;
+        }
+        final File outputFolder = new File(args[0], "registry");
+        for (String fileName : resources()) {
+            final String resource = fileName.substring(0, fileName.length() - ".json".length());
+            try (InputStream input = RegistryBinaryGenerator.class.getResourceAsStream("/" + fileName)) {
+                if (input == null) {
+                    LOGGER.error("Failed to find {}.", fileName);
+                    continue;
+                }
+                final File output = new File(outputFolder, resource + ".bin");
+                if (!output.getParentFile().exists() && !output.getParentFile().mkdirs()) {
+                    LOGGER.error("Output folder for registry snapshots does not exist and could not be created.");
+                    return;
+                }
+                final JsonElement root = JsonParser.parseReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(output)))) {
+                    new RegistryBinaryGenerator().write(root, out);
+                }
+            }
+        }
+        LOGGER.info("Finished generating registry snapshots");
+    }
+
+    /**
+     * Gets the json files loaded by the server, from {@code Registry.Resource}.
+     *
+     * @return the resource paths
+     */
+    private static List<String> resources() {
+        try {
+            final Class<?> resourceClass = Class.forName(RESOURCE_CLASS);
+            final Method fileName = resourceClass.getMethod("fileName");
+            List<String> resources = new ArrayList<>();
+            for (Object resource : resourceClass.getEnumConstants()) {
+                resources.add((String) fileName.invoke(resource));
+            }
+            return resources;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Registry resources are not on the classpath", e);
+        }
+    }
+
+    private void write(@NotNull JsonElement root, @NotNull DataOutputStream out) throws IOException {
+        collectStrings(root);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        writeVarInt(out, strings.size());
+        for (String string : strings.keySet()) {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, bytes.length);
+            out.write(bytes);
+        }
+        writeValue(root, out);
+    }
+
+    private void collectStrings(JsonElement element) {
+        if (element.isJsonObject()) {
+            for (var entry : element.getAsJsonObject().entrySet()) {
+                strings.putIfAbsent(entry.getKey(), strings.size());
+                collectStrings(entry.getValue());
+            }
+        } else if (element.isJsonArray()) {
+            for (JsonElement value : element.getAsJsonArray()) collectStrings(value);
+        } else if (element.isJsonPrimitive() && element.getAsJsonPrimitive().isString()) {
+            strings.putIfAbsent(element.getAsString(), strings.size());
+        }
+    }
+
+    private void writeValue(JsonElement element, DataOutputStream out) throws IOException {
+        if (element.isJsonObject()) {
+            final JsonObject object = element.getAsJsonObject();
+            out.writeByte(OBJECT);
+            writeVarInt(out, object.size());
+            for (var entry : object.entrySet()) {
+                writeVarInt(out, strings.get(entry.getKey()));
+                writeValue(entry.getValue(), out);
+            }
+        } else if (element.isJsonArray()) {
+            final JsonArray array = element.getAsJsonArray();
+            out.writeByte(ARRAY);
+            writeVarInt(out, array.size());
+            for (JsonElement value : array) writeValue(value, out);
+        } else if (element.isJsonPrimitive()) {
+            final JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isString()) {
+                out.writeByte(STRING);
+                writeVarInt(out, strings.get(primitive.getAsString()));
+            } else if (primitive.isBoolean()) {
+                out.writeByte(primitive.getAsBoolean() ? TRUE : FALSE);
+            } else {
+                // Same as ToNumberPolicy.LONG_OR_DOUBLE
+                final String number = primitive.getAsString();
+                try {
+                    final long value = Long.parseLong(number);
+                    out.writeByte(LONG);
+                    writeVarLong(out, (value << 1) ^ (value >> 63)); // ZigZag
+                } catch (NumberFormatException e) {
+                    out.writeByte(DOUBLE);
+                    out.writeDouble(Double.parseDouble(number));
+                }
+            }
+        } else {
+            throw new IllegalStateException("Invalid registry element: " + element);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+}
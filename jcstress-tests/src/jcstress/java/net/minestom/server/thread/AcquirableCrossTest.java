@@ -0,0 +1,64 @@
+package net.minestom.server.thread;
+
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+
+/**
+ * Two tick threads, each holding its own lock as during a tick, acquiring the elements of the other.
+ */
+@JCStressTest
+@Outcome(id = "2000, 2000", expect = ACCEPTABLE)
+@State
+public class AcquirableCrossTest {
+    private static final TickThread FIRST = new TickThread(0);
+    private static final TickThread SECOND = new TickThread(1);
+
+    // Elements of each thread
+    private int first, second;
+
+    @Actor
+    public void actor1() {
+        final ReentrantLock lock = FIRST.lock();
+        lock.lock();
+        for (int i = 0; i < 1000; i++) {
+            first++;
+            var secondLock = AcquirableImpl.enter(FIRST, SECOND);
+            second++;
+            AcquirableImpl.leave(secondLock);
+            yieldLock(lock);
+        }
+        lock.unlock();
+    }
+
+    @Actor
+    public void actor2() {
+        final ReentrantLock lock = SECOND.lock();
+        lock.lock();
+        for (int i = 0; i < 1000; i++) {
+            second++;
+            var firstLock = AcquirableImpl.enter(SECOND, FIRST);
+            first++;
+            AcquirableImpl.leave(firstLock);
+            yieldLock(lock);
+        }
+        lock.unlock();
+    }
+
+    @Arbiter
+    public void arbiter(II_Result r) {
+        r.r1 = first;
+        r.r2 = second;
+    }
+
+    private static void yieldLock(ReentrantLock lock) {
+        // Same as between two elements of a tick
+        if (lock.hasQueuedThreads()) {
+            lock.unlock();
+            lock.lock();
+        }
+    }
+}
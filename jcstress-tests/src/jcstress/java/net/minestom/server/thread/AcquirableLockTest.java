@@ -0,0 +1,38 @@
+package net.minestom.server.thread;
+
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+
+@JCStressTest
+@Outcome(id = "2000", expect = ACCEPTABLE)
+@State
+public class AcquirableLockTest {
+    private static final TickThread THREAD = new TickThread(0);
+
+    private int value;
+
+    @Actor
+    public void actor1() {
+        for (int i = 0; i < 1000; i++) {
+            var lock = AcquirableImpl.enter(Thread.currentThread(), THREAD);
+            value++;
+            AcquirableImpl.leave(lock);
+        }
+    }
+
+    @Actor
+    public void actor2() {
+        for (int i = 0; i < 1000; i++) {
+            var lock = AcquirableImpl.enter(Thread.currentThread(), THREAD);
+            value++;
+            AcquirableImpl.leave(lock);
+        }
+    }
+
+    @Arbiter
+    public void arbiter(I_Result r) {
+        r.r1 = value;
+    }
+}
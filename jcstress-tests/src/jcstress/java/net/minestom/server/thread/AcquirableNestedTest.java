@@ -0,0 +1,55 @@
+package net.minestom.server.thread;
+
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+
+@JCStressTest
+@Outcome(id = "2000, 3000", expect = ACCEPTABLE)
+@State
+public class AcquirableNestedTest {
+    private static final TickThread FIRST = new TickThread(0);
+    private static final TickThread SECOND = new TickThread(1);
+
+    private int first, second;
+
+    @Actor
+    public void actor1() {
+        for (int i = 0; i < 1000; i++) {
+            var firstLock = AcquirableImpl.enter(Thread.currentThread(), FIRST);
+            var secondLock = AcquirableImpl.enter(Thread.currentThread(), SECOND);
+            first++;
+            second++;
+            AcquirableImpl.leave(secondLock);
+            AcquirableImpl.leave(firstLock);
+        }
+    }
+
+    @Actor
+    public void actor2() {
+        for (int i = 0; i < 1000; i++) {
+            var firstLock = AcquirableImpl.enter(Thread.currentThread(), FIRST);
+            first++;
+            AcquirableImpl.leave(firstLock);
+            var secondLock = AcquirableImpl.enter(Thread.currentThread(), SECOND);
+            second++;
+            AcquirableImpl.leave(secondLock);
+        }
+    }
+
+    @Actor
+    public void actor3() {
+        for (int i = 0; i < 1000; i++) {
+            var secondLock = AcquirableImpl.enter(Thread.currentThread(), SECOND);
+            second++;
+            AcquirableImpl.leave(secondLock);
+        }
+    }
+
+    @Arbiter
+    public void arbiter(II_Result r) {
+        r.r1 = first;
+        r.r2 = second;
+    }
+}
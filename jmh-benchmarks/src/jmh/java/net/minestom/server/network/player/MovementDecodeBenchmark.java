@@ -0,0 +1,51 @@
+package net.minestom.server.network.player;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.network.NetworkBuffer;
+import net.minestom.server.network.packet.client.ClientPacketsHandler;
+import net.minestom.server.network.packet.client.play.ClientPlayerPositionAndRotationPacket;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class MovementDecodeBenchmark {
+    // Movement packets received in a single read
+    @Param({"1", "3", "8"})
+    public int packetsPerRead;
+
+    ClientPacketsHandler handler = new ClientPacketsHandler.Play();
+    MovementCoalescer coalescer = new MovementCoalescer();
+    ByteBuffer[] payloads;
+
+    @Setup
+    public void setup() {
+        this.payloads = new ByteBuffer[packetsPerRead];
+        for (int i = 0; i < packetsPerRead; i++) {
+            var packet = new ClientPlayerPositionAndRotationPacket(new Pos(i, 64, -i, i * 10, 0), true);
+            this.payloads[i] = ByteBuffer.wrap(NetworkBuffer.makeArray(buffer -> buffer.write(packet)));
+        }
+    }
+
+    @Benchmark
+    public void records(Blackhole blackhole) {
+        for (ByteBuffer payload : payloads) {
+            blackhole.consume(handler.create(MovementCoalescer.POSITION_AND_ROTATION, new NetworkBuffer(payload.clear())));
+        }
+    }
+
+    @Benchmark
+    public void coalesced(Blackhole blackhole) {
+        for (ByteBuffer payload : payloads) {
+            blackhole.consume(coalescer.accept(MovementCoalescer.POSITION_AND_ROTATION, payload.clear()));
+        }
+        blackhole.consume(coalescer.poll());
+    }
+}
@@ -0,0 +1,59 @@
+package net.minestom.server.thread;
+
+import net.minestom.server.Tickable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class AcquireBenchmark {
+    private static final int ELEMENTS_PER_THREAD = 100;
+
+    @Param({"2", "4", "8", "16"})
+    public int threadCount;
+
+    ThreadDispatcher<Object> dispatcher;
+    // Partitions are weakly referenced by the dispatcher
+    List<Object> partitions = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        this.dispatcher = ThreadDispatcher.of(ThreadProvider.counter(), threadCount);
+        final List<TickThread> threads = dispatcher.threads();
+        for (int i = 0; i < threadCount; i++) {
+            final Object partition = new Object();
+            partitions.add(partition);
+            dispatcher.createPartition(partition);
+            // Every element acquires the next partition, each thread pair interacting with each other
+            final TickThread target = threads.get((i + 1) % threadCount);
+            for (int j = 0; j < ELEMENTS_PER_THREAD; j++) {
+                dispatcher.updateElement(new CrossElement(target), partition);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Benchmark
+    public void tick() {
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+    }
+
+    private record CrossElement(TickThread target) implements Tickable {
+        @Override
+        public void tick(long time) {
+            var lock = AcquirableImpl.enter(Thread.currentThread(), target);
+            AcquirableImpl.leave(lock);
+        }
+    }
+}
@@ -12,9 +12,13 @@ import java.util.concurrent.TimeUnit;
 @State(Scope.Benchmark)
 public class SchedulerTickBenchmark {
 
-    @Param({"0", "1", "5"})
+    @Param({"0", "1", "5", "100000"})
     public int tickTasks;
 
+    // Tasks repeating with a longer delay, only some of them being due each tick
+    @Param({"0", "100000"})
+    public int delayedTasks;
+
     Scheduler scheduler;
 
     @Setup
@@ -24,6 +28,11 @@ public class SchedulerTickBenchmark {
             this.scheduler.scheduleTask(() -> {
             }, TaskSchedule.nextTick(), TaskSchedule.nextTick());
         }
+        for (int i = 0; i < this.delayedTasks; i++) {
+            final TaskSchedule delay = TaskSchedule.tick(1 + i % 200);
+            this.scheduler.scheduleTask(() -> {
+            }, delay, delay);
+        }
     }
 
     @Benchmark
@@ -0,0 +1,50 @@
+package net.minestom.server.utils;
+
+import net.minestom.server.network.NetworkBuffer;
+import net.minestom.server.utils.binary.BinaryBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PacketReadBenchmark {
+    private static final int PACKET_COUNT = 64;
+
+    @Param({"false", "true"})
+    public boolean compressed;
+
+    @Param({"16", "256", "4096"})
+    public int payloadSize;
+
+    BinaryBuffer readBuffer;
+    int writerOffset;
+
+    @Setup
+    public void setup() {
+        byte[] payload = new byte[payloadSize];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) (i % 31);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(PACKET_COUNT * (payloadSize + 16));
+        for (int i = 0; i < PACKET_COUNT; i++) {
+            PacketUtils.writeFramedPacket(buffer, i, writer -> writer.write(NetworkBuffer.RAW_BYTES, payload),
+                    compressed ? 256 : 0);
+        }
+        this.writerOffset = buffer.position();
+        this.readBuffer = BinaryBuffer.wrap(buffer);
+    }
+
+    @Benchmark
+    public void read(Blackhole blackhole) throws DataFormatException {
+        readBuffer.reset(0, writerOffset);
+        PacketUtils.readPackets(readBuffer, compressed, (id, payload) -> blackhole.consume(payload.remaining()));
+    }
+}
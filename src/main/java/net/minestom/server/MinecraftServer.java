@@ -4,6 +4,7 @@ import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
 import net.minestom.server.advancements.AdvancementManager;
 import net.minestom.server.adventure.bossbar.BossBarManager;
 import net.minestom.server.command.CommandManager;
+import net.minestom.server.entity.EntityLodPolicy;
 import net.minestom.server.event.GlobalEventHandler;
 import net.minestom.server.exception.ExceptionManager;
 import net.minestom.server.extensions.ExtensionManager;
@@ -12,6 +13,8 @@ import net.minestom.server.instance.InstanceManager;
 import net.minestom.server.instance.block.BlockManager;
 import net.minestom.server.listener.manager.PacketListenerManager;
 import net.minestom.server.monitoring.BenchmarkManager;
+import net.minestom.server.monitoring.TickJitter;
+import net.minestom.server.network.CompressionPolicy;
 import net.minestom.server.network.ConnectionManager;
 import net.minestom.server.network.PacketProcessor;
 import net.minestom.server.network.packet.server.play.PluginMessagePacket;
@@ -19,6 +22,7 @@ import net.minestom.server.network.packet.server.play.ServerDifficultyPacket;
 import net.minestom.server.network.socket.Server;
 import net.minestom.server.recipe.RecipeManager;
 import net.minestom.server.scoreboard.TeamManager;
+import net.minestom.server.thread.TickPacing;
 import net.minestom.server.thread.TickSchedulerThread;
 import net.minestom.server.timer.SchedulerManager;
 import net.minestom.server.utils.MathUtils;
@@ -65,6 +69,9 @@ public final class MinecraftServer {
     private static int chunkViewDistance = Integer.getInteger("minestom.chunk-view-distance", 8);
     private static int entityViewDistance = Integer.getInteger("minestom.entity-view-distance", 5);
     private static int compressionThreshold = 256;
+    private static volatile CompressionPolicy compressionPolicy = CompressionPolicy.adaptive();
+    private static volatile EntityLodPolicy entityLodPolicy = EntityLodPolicy.NONE;
+    private static volatile TickPacing tickPacing = TickPacing.fixedRate(0);
     private static boolean terminalEnabled = System.getProperty("minestom.terminal.disabled") == null;
     private static String brandName = "Minestom";
     private static Difficulty difficulty = Difficulty.NORMAL;
@@ -267,6 +274,82 @@ public final class MinecraftServer {
         MinecraftServer.compressionThreshold = compressionThreshold;
     }
 
+    /**
+     * Gets the policy deciding how often viewers receive the movement of entities.
+     *
+     * @return the entity level-of-detail policy
+     */
+    @ApiStatus.Experimental
+    public static @NotNull EntityLodPolicy getEntityLodPolicy() {
+        return entityLodPolicy;
+    }
+
+    /**
+     * Changes the policy deciding how often viewers receive the movement of entities.
+     * <p>
+     * Default to {@link EntityLodPolicy#NONE}, updating every viewer every tick.
+     *
+     * @param entityLodPolicy the new entity level-of-detail policy
+     */
+    @ApiStatus.Experimental
+    public static void setEntityLodPolicy(@NotNull EntityLodPolicy entityLodPolicy) {
+        MinecraftServer.entityLodPolicy = entityLodPolicy;
+    }
+
+    /**
+     * Gets the strategy deciding when the server ticks.
+     *
+     * @return the tick pacing
+     */
+    @ApiStatus.Experimental
+    public static @NotNull TickPacing getTickPacing() {
+        return tickPacing;
+    }
+
+    /**
+     * Changes the strategy deciding when the server ticks, applied from the next tick.
+     * <p>
+     * Default to {@link TickPacing#fixedRate(int)} without catch-up, late ticks are skipped.
+     *
+     * @param tickPacing the new tick pacing
+     */
+    @ApiStatus.Experimental
+    public static void setTickPacing(@NotNull TickPacing tickPacing) {
+        MinecraftServer.tickPacing = tickPacing;
+    }
+
+    /**
+     * Gets the difference between the planned and actual start of the ticks over the last second.
+     *
+     * @return the last tick jitter
+     */
+    @ApiStatus.Experimental
+    public static @NotNull TickJitter getTickJitter() {
+        return TickSchedulerThread.jitter();
+    }
+
+    /**
+     * Gets the policy deciding how packets above the compression threshold are compressed.
+     *
+     * @return the compression policy
+     */
+    @ApiStatus.Experimental
+    public static @NotNull CompressionPolicy getCompressionPolicy() {
+        return compressionPolicy;
+    }
+
+    /**
+     * Changes the policy deciding how packets above the compression threshold are compressed.
+     * <p>
+     * Can be changed at any time, only affects the packets written afterward.
+     *
+     * @param compressionPolicy the new compression policy
+     */
+    @ApiStatus.Experimental
+    public static void setCompressionPolicy(@NotNull CompressionPolicy compressionPolicy) {
+        MinecraftServer.compressionPolicy = compressionPolicy;
+    }
+
     /**
      * Gets if the built in Minestom terminal is enabled.
      *
@@ -5,6 +5,7 @@ import net.minestom.server.advancements.AdvancementManager;
 import net.minestom.server.adventure.bossbar.BossBarManager;
 import net.minestom.server.command.CommandManager;
 import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.MovementAggregator;
 import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.GlobalEventHandler;
 import net.minestom.server.event.server.ServerTickMonitorEvent;
@@ -17,7 +18,9 @@ import net.minestom.server.instance.InstanceManager;
 import net.minestom.server.instance.block.BlockManager;
 import net.minestom.server.listener.manager.PacketListenerManager;
 import net.minestom.server.monitoring.BenchmarkManager;
+import net.minestom.server.monitoring.TickEvent;
 import net.minestom.server.monitoring.TickMonitor;
+import net.minestom.server.monitoring.TickProfiler;
 import net.minestom.server.network.ConnectionManager;
 import net.minestom.server.network.PacketProcessor;
 import net.minestom.server.network.socket.Server;
@@ -39,7 +42,9 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.net.SocketAddress;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -276,6 +281,8 @@ final class ServerProcessImpl implements ServerProcess {
         @Override
         public void tick(long nanoTime) {
             final long msTime = System.currentTimeMillis();
+            final TickEvent tickEvent = new TickEvent();
+            tickEvent.begin();
 
             scheduler().processTick();
 
@@ -288,29 +295,44 @@ final class ServerProcessImpl implements ServerProcess {
             // Server tick (chunks/entities)
             serverTick(msTime);
 
+            // Send the movement of the entities updated during the tick
+            MovementAggregator.flush();
+
             // Flush all waiting packets
             PacketUtils.flush();
 
             // Monitoring
             {
-                final double acquisitionTimeMs = Acquirable.resetAcquiringTime() / 1e6D;
-                final double tickTimeMs = (System.nanoTime() - nanoTime) / 1e6D;
-                final TickMonitor tickMonitor = new TickMonitor(tickTimeMs, acquisitionTimeMs);
+                final long acquisitionTime = Acquirable.resetAcquiringTime();
+                final long tickTime = System.nanoTime() - nanoTime;
+                final TickMonitor tickMonitor = new TickMonitor(tickTime / 1e6D, acquisitionTime / 1e6D);
                 EventDispatcher.call(new ServerTickMonitorEvent(tickMonitor));
+                if (TickProfiler.ENABLED) TickProfiler.endTick(tickTime, acquisitionTime);
+                tickEvent.acquisitionTime = acquisitionTime;
+                tickEvent.commit();
             }
         }
 
         private void serverTick(long tickStart) {
             // Tick all instances
+            // Skipped ticks are decided here, the tick threads must agree on them
+            Set<Instance> skippedInstances = Set.of();
             for (Instance instance : instance().getInstances()) {
                 try {
-                    instance.tick(tickStart);
+                    if (instance.nextTickSkipped()) {
+                        if (skippedInstances.isEmpty()) skippedInstances = new HashSet<>();
+                        skippedInstances.add(instance);
+                    } else {
+                        instance.tick(tickStart);
+                    }
+                    // Block changes and light are sent even when the simulation is skipped
+                    instance.serverTick(tickStart);
                 } catch (Exception e) {
                     exception().handleException(e);
                 }
             }
             // Tick all chunks (and entities inside)
-            dispatcher().updateAndAwait(tickStart);
+            dispatcher().updateAndAwait(tickStart, skippedInstances);
 
             // Clear removed entities & update threads
             final long tickTime = System.currentTimeMillis() - tickStart;
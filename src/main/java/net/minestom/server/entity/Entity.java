@@ -1,5 +1,7 @@
 package net.minestom.server.entity;
 
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
 import net.kyori.adventure.sound.Sound;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.HoverEvent;
@@ -99,6 +101,8 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
     protected Pos position;
     protected Pos previousPosition;
     protected Pos lastSyncedPosition;
+    // Viewers which did not receive the last synchronized position, see MovementAggregator
+    private final IntSet delayedViewers = new IntOpenHashSet(0);
     protected boolean onGround;
 
     private BoundingBox boundingBox;
@@ -331,6 +335,10 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         final Pos currentPosition = this.position;
         if (currentPosition.sameView(yaw, pitch)) return;
         this.position = currentPosition.withView(yaw, pitch);
+        if (MovementAggregator.ENABLED) {
+            MovementAggregator.mark(this);
+            return;
+        }
         sendPacketToViewersAndSelf(new EntityHeadLookPacket(getEntityId(), yaw));
         sendPacketToViewersAndSelf(new EntityRotationPacket(getEntityId(), yaw, pitch, onGround));
     }
@@ -453,6 +461,13 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         }
         // Head position
         player.sendPacket(new EntityHeadLookPacket(getEntityId(), position.yaw()));
+        if (MovementAggregator.ENABLED && !position.equals(lastSyncedPosition)) {
+            // Pending movement is relative to a position this viewer never received
+            synchronized (delayedViewers) {
+                delayedViewers.add(player.getEntityId());
+            }
+            MovementAggregator.mark(this);
+        }
     }
 
     /**
@@ -867,6 +882,7 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         this.isActive = true;
         this.position = spawnPosition;
         this.previousPosition = spawnPosition;
+        this.lastSyncedPosition = spawnPosition;
         this.instance = instance;
         return instance.loadOptionalChunk(spawnPosition).thenAccept(chunk -> {
             try {
@@ -1298,36 +1314,16 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
     public void refreshPosition(@NotNull final Pos newPosition, boolean ignoreView) {
         final var previousPosition = this.position;
         final Pos position = ignoreView ? previousPosition.withCoord(newPosition) : newPosition;
-        if (position.equals(lastSyncedPosition)) return;
+        if (position.equals(previousPosition) && position.equals(lastSyncedPosition)) return;
         this.position = position;
         this.previousPosition = previousPosition;
         if (!position.samePoint(previousPosition)) refreshCoordinate(position);
         // Update viewers
-        final boolean viewChange = !position.sameView(lastSyncedPosition);
-        final double distanceX = Math.abs(position.x() - lastSyncedPosition.x());
-        final double distanceY = Math.abs(position.y() - lastSyncedPosition.y());
-        final double distanceZ = Math.abs(position.z() - lastSyncedPosition.z());
-        final boolean positionChange = (distanceX + distanceY + distanceZ) > 0;
-
-        final Chunk chunk = getChunk();
-        if (distanceX > 8 || distanceY > 8 || distanceZ > 8) {
-            PacketUtils.prepareViewablePacket(chunk, new EntityTeleportPacket(getEntityId(), position, isOnGround()), this);
-            this.lastAbsoluteSynchronizationTime = System.currentTimeMillis();
-        } else if (positionChange && viewChange) {
-            PacketUtils.prepareViewablePacket(chunk, EntityPositionAndRotationPacket.getPacket(getEntityId(), position,
-                    lastSyncedPosition, isOnGround()), this);
-            // Fix head rotation
-            PacketUtils.prepareViewablePacket(chunk, new EntityHeadLookPacket(getEntityId(), position.yaw()), this);
-        } else if (positionChange) {
-            // This is a confusing fix for a confusing issue. If rotation is only sent when the entity actually changes, then spawning an entity
-            // on the ground causes the entity not to update its rotation correctly. It works fine if the entity is spawned in the air. Very weird.
-            PacketUtils.prepareViewablePacket(chunk, EntityPositionAndRotationPacket.getPacket(getEntityId(), position,
-                    lastSyncedPosition, onGround), this);
-        } else if (viewChange) {
-            PacketUtils.prepareViewablePacket(chunk, new EntityHeadLookPacket(getEntityId(), position.yaw()), this);
-            PacketUtils.prepareViewablePacket(chunk, new EntityRotationPacket(getEntityId(), position.yaw(), position.pitch(), onGround), this);
+        if (MovementAggregator.ENABLED) {
+            MovementAggregator.mark(this);
+        } else {
+            synchronizeMovement();
         }
-        this.lastSyncedPosition = position;
     }
 
     @ApiStatus.Internal
@@ -1558,7 +1554,36 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         final ServerPacket packet = new EntityTeleportPacket(getEntityId(), posCache, isOnGround());
         PacketUtils.prepareViewablePacket(currentChunk, packet, this);
         this.lastAbsoluteSynchronizationTime = System.currentTimeMillis();
-        this.lastSyncedPosition = posCache;
+        synchronized (delayedViewers) {
+            this.delayedViewers.clear();
+            this.lastSyncedPosition = posCache;
+        }
+    }
+
+    /**
+     * Sends the position and view changes since the last synchronization to the viewers.
+     *
+     * @see MovementAggregator
+     */
+    void synchronizeMovement() {
+        final Pos position = this.position;
+        final Chunk chunk = this.currentChunk;
+        if (chunk == null || isRemoved()) return;
+        final EntityLodPolicy policy = MinecraftServer.getEntityLodPolicy();
+        final boolean teleport;
+        synchronized (delayedViewers) {
+            if (!MovementAggregator.ENABLED || (policy == EntityLodPolicy.NONE && delayedViewers.isEmpty())) {
+                if (position.equals(lastSyncedPosition)) return;
+                teleport = MovementAggregator.write(getEntityId(), position, lastSyncedPosition, isOnGround(),
+                        packet -> PacketUtils.prepareViewablePacket(chunk, packet, this));
+            } else {
+                teleport = MovementAggregator.writePerViewer(this, policy, position, lastSyncedPosition, isOnGround(), delayedViewers);
+                // Retry the viewers not yet due
+                if (!delayedViewers.isEmpty()) MovementAggregator.mark(this);
+            }
+        }
+        if (teleport) this.lastAbsoluteSynchronizationTime = System.currentTimeMillis();
+        this.lastSyncedPosition = position;
     }
 
     /**
@@ -1707,14 +1732,17 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         }
 
         final Pos start = position.withY(position.y() + getEyeHeight());
-        final Vec startAsVec = start.asVec();
         final Predicate<Entity> finalPredicate = e -> e != this
-                && e.boundingBox.boundingBoxRayIntersectionCheck(startAsVec, position.direction(), e.getPosition())
+                && e.getDistanceSquared(this) <= range * range
                 && predicate.test(e)
                 && CollisionUtils.isLineOfSightReachingShape(instance, currentChunk, start,
                 e.position.withY(e.position.y() + e.getEyeHeight()), e.boundingBox);
 
-        Optional<Entity> nearby = instance.getNearbyEntities(position, range).stream()
+        // Only the entities crossed by the line of sight
+        List<Entity> candidates = new ArrayList<>();
+        instance.getEntityTracker().raycastEntities(start, position.direction(), range,
+                EntityTracker.Target.ENTITIES, candidates::add);
+        Optional<Entity> nearby = candidates.stream()
                 .filter(finalPredicate)
                 .min(Comparator.comparingDouble(e -> e.getDistance(this.position)));
 
@@ -0,0 +1,70 @@
+package net.minestom.server.entity;
+
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Decides how often viewers receive the movement of an entity, usually based on their distance.
+ * <p>
+ * Viewers updated less than every tick receive the absolute position of the entity when due,
+ * and as soon as they get back to a band updated every tick.
+ * Only used when movement is aggregated, see {@link MovementAggregator}.
+ *
+ * @see net.minestom.server.MinecraftServer#setEntityLodPolicy(EntityLodPolicy)
+ */
+@ApiStatus.Experimental
+@FunctionalInterface
+public interface EntityLodPolicy {
+    /**
+     * Policy updating every viewer every tick.
+     */
+    EntityLodPolicy NONE = (entity, viewer, distanceSquared) -> 1;
+
+    /**
+     * Creates a policy from distance bands.
+     * <p>
+     * A viewer uses the interval of the first band containing it, or the one of the last band if further.
+     *
+     * @param bands the bands, by increasing distance
+     * @return a new policy
+     */
+    static @NotNull EntityLodPolicy bands(@NotNull Band @NotNull ... bands) {
+        Check.argCondition(bands.length == 0, "At least one band is required");
+        final double[] distances = new double[bands.length];
+        final int[] intervals = new int[bands.length];
+        for (int i = 0; i < bands.length; i++) {
+            final Band band = bands[i];
+            Check.argCondition(i > 0 && band.distance() <= bands[i - 1].distance(), "Bands must be sorted by increasing distance");
+            distances[i] = band.distance() * band.distance();
+            intervals[i] = band.interval();
+        }
+        return (entity, viewer, distanceSquared) -> {
+            for (int i = 0; i < distances.length; i++) {
+                if (distanceSquared <= distances[i]) return intervals[i];
+            }
+            return intervals[intervals.length - 1];
+        };
+    }
+
+    /**
+     * Gets the number of ticks between two movement updates of an entity for a viewer.
+     *
+     * @param entity          the moving entity
+     * @param viewer          the viewer
+     * @param distanceSquared the squared distance between the viewer and the entity
+     * @return the update interval in ticks, 1 to update every tick
+     */
+    int interval(@NotNull Entity entity, @NotNull Player viewer, double distanceSquared);
+
+    /**
+     * @param distance the maximum distance in blocks
+     * @param interval the number of ticks between two updates
+     */
+    record Band(double distance, int interval) {
+        public Band {
+            Check.argCondition(distance < 0, "Distance cannot be negative: {0}", distance);
+            Check.argCondition(interval < 1, "Interval must be at least 1: {0}", interval);
+        }
+    }
+}
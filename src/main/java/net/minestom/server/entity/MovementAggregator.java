@@ -0,0 +1,184 @@
+package net.minestom.server.entity;
+
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.network.packet.server.play.EntityHeadLookPacket;
+import net.minestom.server.network.packet.server.play.EntityPositionAndRotationPacket;
+import net.minestom.server.network.packet.server.play.EntityRotationPacket;
+import net.minestom.server.network.packet.server.play.EntityTeleportPacket;
+import net.minestom.server.utils.PacketUtils;
+import net.minestom.server.utils.PropertyUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Collects the entities that moved or rotated during the tick and sends their movement once, at the end of the tick.
+ * <p>
+ * Every position and view change of an entity within a tick is therefore merged into the minimal set of packets,
+ * computed from the last synchronized position. Teleports ({@link Entity#synchronizePosition(boolean)}) are still
+ * sent immediately and cancel the pending movement.
+ * <p>
+ * Viewers can receive the movement less often based on {@link net.minestom.server.MinecraftServer#getEntityLodPolicy()}.
+ * <p>
+ * Can be disabled with the {@code minestom.aggregate-movement} property, movement is then sent on every change.
+ */
+@ApiStatus.Internal
+public final class MovementAggregator {
+    public static final boolean ENABLED = PropertyUtils.getBoolean("minestom.aggregate-movement", true);
+
+    // Beyond this distance (in blocks, on any axis) a relative move cannot be encoded
+    private static final double MAX_DELTA = 8;
+
+    // Entities are marked by the thread moving them, each thread has its own buffer to avoid contention
+    private static final List<Buffer> BUFFERS = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(() -> {
+        Buffer buffer = new Buffer(Thread.currentThread());
+        BUFFERS.add(buffer);
+        return buffer;
+    });
+    private static volatile long flushCount;
+
+    private MovementAggregator() {
+    }
+
+    /**
+     * Sends the movement of every entity that changed position or view since the last flush.
+     * <p>
+     * Packets are appended to the viewable storage of each entity chunk, and sent with {@link PacketUtils#flush()}.
+     * <p>
+     * Must be called once the tick threads are done, entities are synchronized sequentially by the calling thread.
+     */
+    public static void flush() {
+        List<Entity> entities = null;
+        for (Buffer buffer : BUFFERS) {
+            synchronized (buffer) {
+                if (buffer.entities.isEmpty()) {
+                    if (!buffer.owner.isAlive()) BUFFERS.remove(buffer);
+                    continue;
+                }
+                if (entities == null) entities = new ArrayList<>(buffer.entities.size());
+                entities.addAll(buffer.entities);
+                buffer.entities.clear();
+            }
+        }
+        if (entities == null) return;
+        flushCount++;
+        for (Entity entity : entities) entity.synchronizeMovement();
+    }
+
+    static void mark(@NotNull Entity entity) {
+        final Buffer buffer = BUFFER.get();
+        synchronized (buffer) {
+            buffer.entities.add(entity);
+        }
+    }
+
+    /**
+     * Writes the packets moving an entity from its last synchronized position.
+     *
+     * @param entityId     the id of the entity to move
+     * @param position     the new position
+     * @param lastPosition the position known by the viewers
+     * @param onGround     the entity ground state
+     * @param sink         the consumer sending the packets to the viewers
+     * @return true if the packets contain the absolute position of the entity
+     */
+    static boolean write(int entityId, @NotNull Pos position, @NotNull Pos lastPosition, boolean onGround,
+                         @NotNull Consumer<@NotNull ServerPacket> sink) {
+        final boolean viewChange = !position.sameView(lastPosition);
+        final double distanceX = Math.abs(position.x() - lastPosition.x());
+        final double distanceY = Math.abs(position.y() - lastPosition.y());
+        final double distanceZ = Math.abs(position.z() - lastPosition.z());
+        final boolean positionChange = (distanceX + distanceY + distanceZ) > 0;
+
+        final boolean teleport = distanceX > MAX_DELTA || distanceY > MAX_DELTA || distanceZ > MAX_DELTA;
+        if (teleport) {
+            sink.accept(new EntityTeleportPacket(entityId, position, onGround));
+        } else if (positionChange) {
+            // Rotation is always sent, an entity spawned on the ground would otherwise not update its rotation
+            sink.accept(EntityPositionAndRotationPacket.getPacket(entityId, position, lastPosition, onGround));
+        } else if (viewChange) {
+            sink.accept(new EntityRotationPacket(entityId, position.yaw(), position.pitch(), onGround));
+        }
+        if (viewChange) {
+            // Fix head rotation
+            sink.accept(new EntityHeadLookPacket(entityId, position.yaw()));
+        }
+        return teleport;
+    }
+
+    /**
+     * Writes the movement of an entity to each viewer according to the {@link EntityLodPolicy}.
+     * <p>
+     * Viewers missing an update are added to {@code delayed}, and receive the absolute position once due.
+     *
+     * @param entity       the entity to move
+     * @param policy       the update frequency policy
+     * @param position     the new position
+     * @param lastPosition the position known by the viewers not in {@code delayed}
+     * @param onGround     the entity ground state
+     * @param delayed      the ids of the viewers lacking the last synchronized position, updated
+     * @return true if the packets contain the absolute position of the entity
+     */
+    static boolean writePerViewer(@NotNull Entity entity, @NotNull EntityLodPolicy policy,
+                                  @NotNull Pos position, @NotNull Pos lastPosition, boolean onGround,
+                                  @NotNull IntSet delayed) {
+        final int entityId = entity.getEntityId();
+        final boolean moved = !position.equals(lastPosition);
+        // Spread the updates of distant viewers over the ticks
+        final long tick = flushCount + entityId;
+        List<Player> relativeViewers = null, absoluteViewers = null;
+        IntSet stillDelayed = null;
+        for (Player viewer : entity.getViewers()) {
+            final int viewerId = viewer.getEntityId();
+            final boolean late = delayed.contains(viewerId);
+            if (!moved && !late) continue;
+            final int interval = policy.interval(entity, viewer, viewer.getPosition().distanceSquared(position));
+            if (interval > 1 && tick % interval != 0) {
+                if (stillDelayed == null) stillDelayed = new IntOpenHashSet();
+                stillDelayed.add(viewerId);
+            } else if (late) {
+                if (absoluteViewers == null) absoluteViewers = new ArrayList<>();
+                absoluteViewers.add(viewer);
+            } else {
+                if (relativeViewers == null) relativeViewers = new ArrayList<>();
+                relativeViewers.add(viewer);
+            }
+        }
+        delayed.clear();
+        if (stillDelayed != null) delayed.addAll(stillDelayed);
+
+        boolean teleport = false;
+        if (relativeViewers != null) {
+            final List<Player> viewers = relativeViewers;
+            teleport = write(entityId, position, lastPosition, onGround,
+                    packet -> PacketUtils.sendGroupedPacket(viewers, packet));
+        }
+        if (absoluteViewers != null) {
+            PacketUtils.sendGroupedPacket(absoluteViewers, new EntityTeleportPacket(entityId, position, onGround));
+            PacketUtils.sendGroupedPacket(absoluteViewers, new EntityHeadLookPacket(entityId, position.yaw()));
+        }
+        return teleport;
+    }
+
+    /**
+     * Entities marked by a single thread, only contended when flushed.
+     */
+    private static final class Buffer {
+        private final Thread owner;
+        private final Set<Entity> entities = new ReferenceOpenHashSet<>();
+
+        private Buffer(Thread owner) {
+            this.owner = owner;
+        }
+    }
+}
@@ -36,6 +36,7 @@ import net.minestom.server.event.item.ItemUpdateStateEvent;
 import net.minestom.server.event.item.PickupExperienceEvent;
 import net.minestom.server.event.player.*;
 import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.ChunkSendQueue;
 import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.inventory.Inventory;
@@ -128,21 +129,14 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
      * in the range of {@link MinecraftServer#getChunkViewDistance()}
      */
     private Vec chunksLoadedByClient = Vec.ZERO;
+    private final ChunkSendQueue chunkSendQueue = new ChunkSendQueue(this);
     final IntegerBiConsumer chunkAdder = (chunkX, chunkZ) -> {
-        // Load new chunks
-        this.instance.loadOptionalChunk(chunkX, chunkZ).thenAccept(chunk -> {
-            try {
-                if (chunk != null) {
-                    chunk.sendChunk(this);
-                    EventDispatcher.call(new PlayerChunkLoadEvent(this, chunkX, chunkZ));
-                }
-            } catch (Exception e) {
-                MinecraftServer.getExceptionManager().handleException(e);
-            }
-        });
+        // Load and send new chunks over the next ticks
+        this.chunkSendQueue.add(chunkX, chunkZ);
     };
     final IntegerBiConsumer chunkRemover = (chunkX, chunkZ) -> {
         // Unload old chunks
+        this.chunkSendQueue.remove(chunkX, chunkZ);
         sendPacket(new UnloadChunkPacket(chunkX, chunkZ));
         EventDispatcher.call(new PlayerChunkUnloadEvent(this, chunkX, chunkZ));
     };
@@ -340,6 +334,8 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
     public void update(long time) {
         // Process received packets
         interpretPacketQueue();
+        // Send the chunks allowed by the connection
+        this.chunkSendQueue.tick();
 
         super.update(time); // Super update (item pickup/fire management)
 
@@ -455,16 +451,8 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
         Pos respawnPosition = respawnEvent.getRespawnPosition();
 
         // The client unloads chunks when respawning, so resend all chunks next to spawn
-        ChunkUtils.forChunksInRange(respawnPosition, Math.min(MinecraftServer.getChunkViewDistance(), settings.getViewDistance()), (chunkX, chunkZ) ->
-                this.instance.loadOptionalChunk(chunkX, chunkZ).thenAccept(chunk -> {
-                    try {
-                        if (chunk != null) {
-                            chunk.sendChunk(this);
-                        }
-                    } catch (Exception e) {
-                        MinecraftServer.getExceptionManager().handleException(e);
-                    }
-                }));
+        this.chunkSendQueue.clear();
+        ChunkUtils.forChunksInRange(respawnPosition, Math.min(MinecraftServer.getChunkViewDistance(), settings.getViewDistance()), chunkAdder);
         chunksLoadedByClient = new Vec(respawnPosition.chunkX(), respawnPosition.chunkZ());
         // Client also needs all entities resent to them, since those are unloaded as well
         this.instance.getEntityTracker().nearbyEntitiesByChunkRange(respawnPosition, Math.min(MinecraftServer.getChunkViewDistance(), settings.getViewDistance()),
@@ -659,6 +647,7 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
             final int chunkX = spawnPosition.chunkX();
             final int chunkZ = spawnPosition.chunkZ();
             chunksLoadedByClient = new Vec(chunkX, chunkZ);
+            chunkSendQueue.clear();
             chunkUpdateLimitChecker.addToHistory(getChunk());
             sendPacket(new UpdateViewPositionPacket(chunkX, chunkZ));
             ChunkUtils.forChunksInRange(spawnPosition, MinecraftServer.getChunkViewDistance(), chunkAdder);
@@ -1212,6 +1201,15 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
         return playerConnection;
     }
 
+    /**
+     * Gets the queue of chunks waiting to be sent to the player.
+     *
+     * @return the chunk send queue, exposing chunk sending metrics
+     */
+    public @NotNull ChunkSendQueue getChunkSendQueue() {
+        return chunkSendQueue;
+    }
+
     /**
      * Shortcut for {@link PlayerConnection#sendPacket(SendablePacket)}.
      *
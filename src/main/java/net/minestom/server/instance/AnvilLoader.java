@@ -1,13 +1,21 @@
 package net.minestom.server.instance;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.IntIntImmutablePair;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -22,32 +30,76 @@ import org.jglrxavpok.hephaistos.nbt.mutable.MutableNBTCompound;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+
+import static net.minestom.server.utils.chunk.ChunkUtils.getChunkIndex;
+
+/**
+ * Loads and saves chunks in the Anvil format used by vanilla worlds.
+ * <p>
+ * Region files are read with positional I/O, chunks are decompressed on a bounded pool of daemon threads.
+ * Saved chunks are serialized by the calling thread, only compression and writing are done in the pool.
+ * Saves are grouped per region so that each region file is synced once per {@link #saveChunks(Collection)} call,
+ * pending saves are awaited when the JVM shuts down.
+ */
 public class AnvilLoader implements IChunkLoader {
     private final static Logger LOGGER = LoggerFactory.getLogger(AnvilLoader.class);
     private static final Biome BIOME = Biome.PLAINS;
 
-    private final Map<String, RegionFile> alreadyLoaded = new ConcurrentHashMap<>();
+    private static final int THREAD_COUNT = Integer.getInteger("minestom.anvil-threads", Runtime.getRuntime().availableProcessors());
+    private static final int PREFETCH_RADIUS = Integer.getInteger("minestom.anvil-prefetch-radius", 0);
+    private static final int READ_CACHE_SIZE = Integer.getInteger("minestom.anvil-read-cache-size", 1024);
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREAD_COUNT, r -> {
+        Thread thread = new Thread(r, "Ms-Anvil-" + THREAD_COUNTER.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Set<CompletableFuture<Void>> PENDING_SAVES = ConcurrentHashMap.newKeySet();
+    private static final int LOCK_COUNT = 64;
+
+    static {
+        // Pool threads are daemon, do not let the JVM exit in the middle of a save
+        Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                CompletableFuture.allOf(PENDING_SAVES.toArray(CompletableFuture[]::new)).join(), "Ms-Anvil-Shutdown"));
+    }
+
     private final Path path;
     private final Path levelPath;
     private final Path regionPath;
 
-    private static class RegionCache extends ConcurrentHashMap<IntIntImmutablePair, Set<IntIntImmutablePair>> {
-    }
+    /**
+     * Represents the open region files, with the chunks currently loaded from them.
+     * Regions are only added under {@link #openLocks}, and only modified inside the map compute functions.
+     */
+    private final Map<Long, Region> regions = new ConcurrentHashMap<>();
+    // Region files are opened under these locks, outside the map
+    private final Object[] openLocks = new Object[LOCK_COUNT];
 
     /**
-     * Represents the chunks currently loaded per region. Used to determine when a region file can be unloaded.
+     * Incremented after each chunk save, prefetches reading older data do not add it to {@link #readCache}.
+     * Indexed by chunk hash, a save can discard unrelated prefetches.
      */
-    private final RegionCache perRegionLoadedChunks = new RegionCache();
+    private final AtomicIntegerArray saveStamps = new AtomicIntegerArray(LOCK_COUNT * 16);
+
+    /**
+     * Chunks read ahead of time by {@link #prefetchChunks(Instance, int, int, int)}, removed once loaded.
+     */
+    private final Cache<Long, NBTCompound> readCache = Caffeine.newBuilder()
+            .maximumSize(READ_CACHE_SIZE)
+            .build();
 
     // thread local to avoid contention issues with locks
     private final ThreadLocal<Int2ObjectMap<BlockState>> blockStateId2ObjectCacheTLS = ThreadLocal.withInitial(Int2ObjectArrayMap::new);
@@ -56,6 +108,7 @@ public class AnvilLoader implements IChunkLoader {
         this.path = path;
         this.levelPath = path.resolve("level.dat");
         this.regionPath = path.resolve("region");
+        Arrays.setAll(openLocks, i -> new Object());
     }
 
     public AnvilLoader(@NotNull String path) {
@@ -83,25 +136,82 @@ public class AnvilLoader implements IChunkLoader {
             // No world folder
             return CompletableFuture.completedFuture(null);
         }
+        if (!supportsParallelLoading()) {
+            return CompletableFuture.completedFuture(loadMCA(instance, chunkX, chunkZ));
+        }
+        return CompletableFuture.supplyAsync(() -> loadMCA(instance, chunkX, chunkZ), EXECUTOR);
+    }
+
+    /**
+     * Reads the saved chunks around a position in the background, so that loading them later does not wait for I/O.
+     * <p>
+     * Chunks already loaded in the instance are skipped.
+     *
+     * @param instance the instance the chunks will be loaded in
+     * @param chunkX   the center chunk X
+     * @param chunkZ   the center chunk Z
+     * @param radius   the radius in chunks
+     */
+    public void prefetchChunks(@NotNull Instance instance, int chunkX, int chunkZ, int radius) {
+        if (!Files.exists(path)) return;
+        Long2ObjectMap<LongSet> chunksPerRegion = new Long2ObjectOpenHashMap<>();
+        for (int x = chunkX - radius; x <= chunkX + radius; x++) {
+            for (int z = chunkZ - radius; z <= chunkZ + radius; z++) {
+                final long index = getChunkIndex(x, z);
+                if (instance.getChunk(x, z) != null || readCache.getIfPresent(index) != null) continue;
+                final long regionIndex = getChunkIndex(CoordinatesKt.chunkToRegion(x), CoordinatesKt.chunkToRegion(z));
+                chunksPerRegion.computeIfAbsent(regionIndex, r -> new LongOpenHashSet()).add(index);
+            }
+        }
+        // Read each region sequentially
+        for (Long2ObjectMap.Entry<LongSet> entry : chunksPerRegion.long2ObjectEntrySet()) {
+            EXECUTOR.execute(() -> {
+                final Region region = acquireRegion(entry.getLongKey(), false);
+                if (region == null) return;
+                try {
+                    for (long index : entry.getValue()) {
+                        final int stamp = saveStamps.get(stampIndex(index));
+                        final NBTCompound chunkData = region.file.readChunk(
+                                ChunkUtils.getChunkCoordX(index), ChunkUtils.getChunkCoordZ(index));
+                        if (chunkData == null) continue;
+                        // Saves bump the stamp before invalidating the cache, data read before a save is never kept
+                        this.readCache.asMap().compute(index, (i, cached) ->
+                                saveStamps.get(stampIndex(index)) == stamp ? chunkData : cached);
+                    }
+                } catch (IOException | NBTException e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
+                } finally {
+                    releaseRegion(region, null);
+                }
+            });
+        }
+    }
+
+    private @Nullable Chunk loadMCA(Instance instance, int chunkX, int chunkZ) {
+        final long regionIndex = getChunkIndex(CoordinatesKt.chunkToRegion(chunkX), CoordinatesKt.chunkToRegion(chunkZ));
+        final Region region = acquireRegion(regionIndex, false);
+        if (region == null) return null;
+        Chunk chunk = null;
         try {
-            return loadMCA(instance, chunkX, chunkZ);
+            NBTCompound chunkData = readCache.asMap().remove(getChunkIndex(chunkX, chunkZ));
+            if (chunkData == null) chunkData = region.file.readChunk(chunkX, chunkZ);
+            if (chunkData == null) return null;
+            chunk = createChunk(instance, chunkX, chunkZ, chunkData);
         } catch (Exception e) {
             MinecraftServer.getExceptionManager().handleException(e);
+        } finally {
+            releaseRegion(region, chunk);
         }
-        return CompletableFuture.completedFuture(null);
+        if (chunk != null && PREFETCH_RADIUS > 0) prefetchChunks(instance, chunkX, chunkZ, PREFETCH_RADIUS);
+        return chunk;
     }
 
-    private @NotNull CompletableFuture<@Nullable Chunk> loadMCA(Instance instance, int chunkX, int chunkZ) throws IOException, AnvilException {
-        final RegionFile mcaFile = getMCAFile(instance, chunkX, chunkZ);
-        if (mcaFile == null)
-            return CompletableFuture.completedFuture(null);
-        final NBTCompound chunkData = mcaFile.getChunkData(chunkX, chunkZ);
-        if (chunkData == null)
-            return CompletableFuture.completedFuture(null);
-
+    private @NotNull Chunk createChunk(Instance instance, int chunkX, int chunkZ, NBTCompound chunkData) throws AnvilException {
         final ChunkReader chunkReader = new ChunkReader(chunkData);
 
-        Chunk chunk = new DynamicChunk(instance, chunkX, chunkZ);
+        Chunk chunk = instance instanceof InstanceContainer instanceContainer ?
+                instanceContainer.getChunkSupplier().createChunk(instance, chunkX, chunkZ) :
+                new DynamicChunk(instance, chunkX, chunkZ);
         synchronized (chunk) {
             var yRange = chunkReader.getYRange();
             if (yRange.getStart() < instance.getDimensionType().getMinY()) {
@@ -124,151 +234,194 @@ public class AnvilLoader implements IChunkLoader {
             // TODO: Parallelize block, block entities and biome loading
             // Blocks + Biomes
             loadSections(chunk, chunkReader);
+            chunk.refreshHeightmaps();
 
             // Block entities
             loadBlockEntities(chunk, chunkReader);
         }
-        synchronized (perRegionLoadedChunks) {
-            int regionX = CoordinatesKt.chunkToRegion(chunkX);
-            int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-            var chunks = perRegionLoadedChunks.computeIfAbsent(new IntIntImmutablePair(regionX, regionZ), r -> new HashSet<>()); // region cache may have been removed on another thread due to unloadChunk
-            chunks.add(new IntIntImmutablePair(chunkX, chunkZ));
-        }
-        return CompletableFuture.completedFuture(chunk);
+        return chunk;
     }
 
-    private @Nullable RegionFile getMCAFile(Instance instance, int chunkX, int chunkZ) {
-        final int regionX = CoordinatesKt.chunkToRegion(chunkX);
-        final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-        return alreadyLoaded.computeIfAbsent(RegionFile.Companion.createFileName(regionX, regionZ), n -> {
+    /**
+     * Opens a region file if needed, and prevents it from being closed until {@link #releaseRegion(Region, Chunk)}.
+     *
+     * @param regionIndex the region coordinates packed with {@link ChunkUtils#getChunkIndex(int, int)}
+     * @param create      true to create the region file if it does not exist
+     * @return the region, null if it does not exist or cannot be opened
+     */
+    private @Nullable Region acquireRegion(long regionIndex, boolean create) {
+        Region region = retainRegion(regionIndex);
+        if (region != null) return region;
+        synchronized (openLocks[(int) (HashCommon.mix(regionIndex) & (LOCK_COUNT - 1))]) {
+            // Regions are only added under this lock, check if it has been opened while waiting
+            region = retainRegion(regionIndex);
+            if (region != null) return region;
+            final int regionX = ChunkUtils.getChunkCoordX(regionIndex);
+            final int regionZ = ChunkUtils.getChunkCoordZ(regionIndex);
+            final Path file = regionPath.resolve(RegionFile.Companion.createFileName(regionX, regionZ));
+            if (!create && !Files.exists(file)) return null;
             try {
-                final Path regionPath = this.regionPath.resolve(n);
-                if (!Files.exists(regionPath)) {
-                    return null;
-                }
-                synchronized (perRegionLoadedChunks) {
-                    Set<IntIntImmutablePair> previousVersion = perRegionLoadedChunks.put(new IntIntImmutablePair(regionX, regionZ), new HashSet<>());
-                    assert previousVersion == null : "The AnvilLoader cache should not already have data for this region.";
-                }
-                return new RegionFile(new RandomAccessFile(regionPath.toFile(), "rw"), regionX, regionZ, instance.getDimensionType().getMinY(), instance.getDimensionType().getMaxY() - 1);
-            } catch (IOException | AnvilException e) {
+                Files.createDirectories(regionPath);
+                region = new Region(regionIndex, new AnvilRegion(file, regionX, regionZ));
+            } catch (IOException e) {
                 MinecraftServer.getExceptionManager().handleException(e);
                 return null;
             }
+            region.users++;
+            this.regions.put(regionIndex, region);
+            return region;
+        }
+    }
+
+    private @Nullable Region retainRegion(long regionIndex) {
+        return regions.computeIfPresent(regionIndex, (index, region) -> {
+            region.users++;
+            return region;
         });
     }
 
-    private void loadSections(Chunk chunk, ChunkReader chunkReader) {
-        final HashMap<String, Biome> biomeCache = new HashMap<>();
-        for (NBTCompound sectionNBT : chunkReader.getSections()) {
-            ChunkSectionReader sectionReader = new ChunkSectionReader(chunkReader.getMinecraftVersion(), sectionNBT);
+    private void releaseRegion(Region region, @Nullable Chunk loadedChunk) {
+        updateRegion(region.index, current -> {
+            if (loadedChunk != null) current.loadedChunks.add(getChunkIndex(loadedChunk));
+            current.users--;
+        });
+    }
 
-            if (sectionReader.isSectionEmpty()) continue;
-            final int sectionY = sectionReader.getY();
-            final int yOffset = Chunk.CHUNK_SECTION_SIZE * sectionY;
+    /**
+     * Updates an open region, and closes it once unused.
+     */
+    private void updateRegion(long regionIndex, Consumer<Region> update) {
+        final Region[] unused = new Region[1];
+        this.regions.computeIfPresent(regionIndex, (index, region) -> {
+            update.accept(region);
+            if (region.users > 0 || !region.loadedChunks.isEmpty()) return region;
+            unused[0] = region;
+            return null;
+        });
+        // Closed outside the map, no reads or writes are pending
+        if (unused[0] != null) {
+            try {
+                unused[0].file.close();
+            } catch (IOException e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }
+    }
 
-            Section section = chunk.getSection(sectionY);
+    private int stampIndex(long chunkIndex) {
+        return (int) (HashCommon.mix(chunkIndex) & (saveStamps.length() - 1));
+    }
 
-            if (sectionReader.getSkyLight() != null) {
-                section.setSkyLight(sectionReader.getSkyLight().copyArray());
-            }
-            if (sectionReader.getBlockLight() != null) {
-                section.setBlockLight(sectionReader.getBlockLight().copyArray());
+    private void loadSections(Chunk chunk, ChunkReader chunkReader) {
+        final Map<String, Biome> biomeCache = new ConcurrentHashMap<>();
+        final Map<NBTCompound, Block> blockCache = new ConcurrentHashMap<>();
+        final Queue<PlacedBlock> chunkEntries = new ConcurrentLinkedQueue<>();
+        // Sections are independent, decode them in parallel
+        chunkReader.getSections().asListView().parallelStream().forEach(sectionNBT ->
+                loadSection(chunk, chunkReader, sectionNBT, biomeCache, blockCache, chunkEntries));
+        // Let the chunk register handlers and block entities
+        for (PlacedBlock placedBlock : chunkEntries) {
+            try {
+                chunk.setBlock(placedBlock.x(), placedBlock.y(), placedBlock.z(), placedBlock.block());
+            } catch (Exception e) {
+                MinecraftServer.getExceptionManager().handleException(e);
             }
+        }
+    }
 
-            // Biomes
-            if (chunkReader.getGenerationStatus().compareTo(ChunkColumn.GenerationStatus.Biomes) > 0) {
-                SectionBiomeInformation sectionBiomeInformation = chunkReader.readSectionBiomes(sectionReader);
-
-                if (sectionBiomeInformation != null && sectionBiomeInformation.hasBiomeInformation()) {
-                    if (sectionBiomeInformation.isFilledWithSingleBiome()) {
-                        for (int y = 0; y < Chunk.CHUNK_SECTION_SIZE; y++) {
-                            for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
-                                for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
-                                    int finalX = chunk.chunkX * Chunk.CHUNK_SIZE_X + x;
-                                    int finalZ = chunk.chunkZ * Chunk.CHUNK_SIZE_Z + z;
-                                    int finalY = sectionY * Chunk.CHUNK_SECTION_SIZE + y;
-                                    String biomeName = sectionBiomeInformation.getBaseBiome();
-                                    Biome biome = biomeCache.computeIfAbsent(biomeName, n ->
-                                            Objects.requireNonNullElse(MinecraftServer.getBiomeManager().getByName(NamespaceID.from(n)), BIOME));
-                                    chunk.setBiome(finalX, finalY, finalZ, biome);
-                                }
-                            }
-                        }
-                    } else {
-                        for (int y = 0; y < Chunk.CHUNK_SECTION_SIZE; y++) {
-                            for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
-                                for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
-                                    int finalX = chunk.chunkX * Chunk.CHUNK_SIZE_X + x;
-                                    int finalZ = chunk.chunkZ * Chunk.CHUNK_SIZE_Z + z;
-                                    int finalY = sectionY * Chunk.CHUNK_SECTION_SIZE + y;
-
-                                    int index = x / 4 + (z / 4) * 4 + (y / 4) * 16;
-                                    String biomeName = sectionBiomeInformation.getBiomes()[index];
-                                    Biome biome = biomeCache.computeIfAbsent(biomeName, n ->
-                                            Objects.requireNonNullElse(MinecraftServer.getBiomeManager().getByName(NamespaceID.from(n)), BIOME));
-                                    chunk.setBiome(finalX, finalY, finalZ, biome);
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+    private void loadSection(Chunk chunk, ChunkReader chunkReader, NBTCompound sectionNBT,
+                             Map<String, Biome> biomeCache, Map<NBTCompound, Block> blockCache,
+                             Queue<PlacedBlock> chunkEntries) {
+        ChunkSectionReader sectionReader = new ChunkSectionReader(chunkReader.getMinecraftVersion(), sectionNBT);
 
-            // Blocks
-            final NBTList<NBTCompound> blockPalette = sectionReader.getBlockPalette();
-            if (blockPalette != null) {
-                final int[] blockStateIndices = sectionReader.getUncompressedBlockStateIDs();
-                Block[] convertedPalette = new Block[blockPalette.getSize()];
-                for (int i = 0; i < convertedPalette.length; i++) {
-                    final NBTCompound paletteEntry = blockPalette.get(i);
-                    final String blockName = Objects.requireNonNull(paletteEntry.getString("Name"));
-                    if (blockName.equals("minecraft:air")) {
-                        convertedPalette[i] = Block.AIR;
-                    } else {
-                        Block block = Objects.requireNonNull(Block.fromNamespaceId(blockName));
-                        // Properties
-                        final Map<String, String> properties = new HashMap<>();
-                        NBTCompound propertiesNBT = paletteEntry.getCompound("Properties");
-                        if (propertiesNBT != null) {
-                            for (var property : propertiesNBT) {
-                                if (property.getValue().getID() != NBTType.TAG_String) {
-                                    LOGGER.warn("Fail to parse block state properties {}, expected a TAG_String for {}, but contents were {}",
-                                            propertiesNBT,
-                                            property.getKey(),
-                                            property.getValue().toSNBT());
-                                } else {
-                                    properties.put(property.getKey(), ((NBTString) property.getValue()).getValue());
-                                }
-                            }
-                        }
+        if (sectionReader.isSectionEmpty()) return;
+        final int sectionY = sectionReader.getY();
+        final int yOffset = Chunk.CHUNK_SECTION_SIZE * sectionY;
 
-                        if (!properties.isEmpty()) block = block.withProperties(properties);
-                        // Handler
-                        final BlockHandler handler = MinecraftServer.getBlockManager().getHandler(block.name());
-                        if (handler != null) block = block.withHandler(handler);
+        Section section = chunk.getSection(sectionY);
 
-                        convertedPalette[i] = block;
-                    }
+        if (sectionReader.getSkyLight() != null) {
+            section.setSkyLight(sectionReader.getSkyLight().copyArray());
+        }
+        if (sectionReader.getBlockLight() != null) {
+            section.setBlockLight(sectionReader.getBlockLight().copyArray());
+        }
+
+        // Biomes
+        if (chunkReader.getGenerationStatus().compareTo(ChunkColumn.GenerationStatus.Biomes) > 0) {
+            SectionBiomeInformation sectionBiomeInformation = chunkReader.readSectionBiomes(sectionReader);
+
+            if (sectionBiomeInformation != null && sectionBiomeInformation.hasBiomeInformation()) {
+                if (sectionBiomeInformation.isFilledWithSingleBiome()) {
+                    section.biomePalette().fill(getBiome(biomeCache, sectionBiomeInformation.getBaseBiome()).id());
+                } else {
+                    final String[] biomes = sectionBiomeInformation.getBiomes();
+                    final int[] biomeIds = new int[biomes.length];
+                    for (int i = 0; i < biomes.length; i++) biomeIds[i] = getBiome(biomeCache, biomes[i]).id();
+                    section.biomePalette().setAll((x, y, z) -> biomeIds[x + z * 4 + y * 16]);
                 }
+            }
+        }
 
-                for (int y = 0; y < Chunk.CHUNK_SECTION_SIZE; y++) {
-                    for (int z = 0; z < Chunk.CHUNK_SECTION_SIZE; z++) {
-                        for (int x = 0; x < Chunk.CHUNK_SECTION_SIZE; x++) {
-                            try {
-                                final int blockIndex = y * Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SECTION_SIZE + z * Chunk.CHUNK_SECTION_SIZE + x;
-                                final int paletteIndex = blockStateIndices[blockIndex];
-                                final Block block = convertedPalette[paletteIndex];
-
-                                chunk.setBlock(x, y + yOffset, z, block);
-                            } catch (Exception e) {
-                                MinecraftServer.getExceptionManager().handleException(e);
-                            }
-                        }
-                    }
+        // Blocks
+        final NBTList<NBTCompound> blockPalette = sectionReader.getBlockPalette();
+        if (blockPalette == null) return;
+        final int[] blockStateIndices = sectionReader.getUncompressedBlockStateIDs();
+        final Block[] convertedPalette = new Block[blockPalette.getSize()];
+        final int[] stateIds = new int[convertedPalette.length];
+        boolean hasChunkEntries = false;
+        for (int i = 0; i < convertedPalette.length; i++) {
+            final Block block = blockCache.computeIfAbsent(blockPalette.get(i), AnvilLoader::convertBlock);
+            convertedPalette[i] = block;
+            stateIds[i] = block.stateId();
+            hasChunkEntries |= isChunkEntry(block);
+        }
+        // Anvil indices share the palette order, no need to go through each block
+        section.blockPalette().setAll(stateIds, blockStateIndices);
+        if (!hasChunkEntries) return;
+        for (int index = 0; index < blockStateIndices.length; index++) {
+            final Block block = convertedPalette[blockStateIndices[index]];
+            if (isChunkEntry(block)) {
+                chunkEntries.add(new PlacedBlock(index & 0xF, (index >> 8) + yOffset, index >> 4 & 0xF, block));
+            }
+        }
+    }
+
+    private static Block convertBlock(NBTCompound paletteEntry) {
+        final String blockName = Objects.requireNonNull(paletteEntry.getString("Name"));
+        if (blockName.equals("minecraft:air")) return Block.AIR;
+        Block block = Objects.requireNonNull(Block.fromNamespaceId(blockName));
+        // Properties
+        final Map<String, String> properties = new HashMap<>();
+        NBTCompound propertiesNBT = paletteEntry.getCompound("Properties");
+        if (propertiesNBT != null) {
+            for (var property : propertiesNBT) {
+                if (property.getValue().getID() != NBTType.TAG_String) {
+                    LOGGER.warn("Fail to parse block state properties {}, expected a TAG_String for {}, but contents were {}",
+                            propertiesNBT,
+                            property.getKey(),
+                            property.getValue().toSNBT());
+                } else {
+                    properties.put(property.getKey(), ((NBTString) property.getValue()).getValue());
                 }
             }
         }
+
+        if (!properties.isEmpty()) block = block.withProperties(properties);
+        // Handler
+        final BlockHandler handler = MinecraftServer.getBlockManager().getHandler(block.name());
+        if (handler != null) block = block.withHandler(handler);
+        return block;
+    }
+
+    private static Biome getBiome(Map<String, Biome> biomeCache, String name) {
+        return biomeCache.computeIfAbsent(name, n ->
+                Objects.requireNonNullElse(MinecraftServer.getBiomeManager().getByName(NamespaceID.from(n)), BIOME));
+    }
+
+    // Blocks stored by the chunk outside of the palette, see DynamicChunk#setBlock
+    private static boolean isChunkEntry(Block block) {
+        return block.handler() != null || block.hasNbt() || block.registry().isBlockEntity();
     }
 
     private void loadBlockEntities(Chunk loadedChunk, ChunkReader chunkReader) {
@@ -318,43 +471,69 @@ public class AnvilLoader implements IChunkLoader {
 
     @Override
     public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
-        final int chunkX = chunk.getChunkX();
-        final int chunkZ = chunk.getChunkZ();
-        RegionFile mcaFile;
-        synchronized (alreadyLoaded) {
-            mcaFile = getMCAFile(chunk.instance, chunkX, chunkZ);
-            if (mcaFile == null) {
-                final int regionX = CoordinatesKt.chunkToRegion(chunkX);
-                final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-                final String n = RegionFile.Companion.createFileName(regionX, regionZ);
-                File regionFile = new File(regionPath.toFile(), n);
+        return saveChunks(List.of(chunk));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+        // Serialized by the calling thread, chunks may be modified while the pool compresses them
+        Long2ObjectMap<Long2ObjectMap<NBTCompound>> chunksPerRegion = new Long2ObjectOpenHashMap<>();
+        for (Chunk chunk : chunks) {
+            LOGGER.debug("Attempt saving at {} {}", chunk.getChunkX(), chunk.getChunkZ());
+            final long regionIndex = getChunkIndex(CoordinatesKt.chunkToRegion(chunk.getChunkX()),
+                    CoordinatesKt.chunkToRegion(chunk.getChunkZ()));
+            final NBTCompound nbt;
+            synchronized (chunk) {
+                ChunkWriter writer = new ChunkWriter(SupportedVersion.Companion.getLatest());
+                save(chunk, writer);
+                nbt = writer.toNBT();
+            }
+            chunksPerRegion.computeIfAbsent(regionIndex, index -> new Long2ObjectOpenHashMap<>())
+                    .put(getChunkIndex(chunk), nbt);
+        }
+        if (!supportsParallelSaving()) {
+            for (Long2ObjectMap.Entry<Long2ObjectMap<NBTCompound>> entry : chunksPerRegion.long2ObjectEntrySet()) {
+                saveRegion(entry.getLongKey(), entry.getValue());
+            }
+            return AsyncUtils.VOID_FUTURE;
+        }
+        CompletableFuture<?>[] futures = new CompletableFuture[chunksPerRegion.size()];
+        int i = 0;
+        for (Long2ObjectMap.Entry<Long2ObjectMap<NBTCompound>> entry : chunksPerRegion.long2ObjectEntrySet()) {
+            futures[i++] = CompletableFuture.runAsync(() -> saveRegion(entry.getLongKey(), entry.getValue()), EXECUTOR);
+        }
+        final CompletableFuture<Void> future = CompletableFuture.allOf(futures);
+        PENDING_SAVES.add(future);
+        future.whenComplete((unused, throwable) -> PENDING_SAVES.remove(future));
+        return future;
+    }
+
+    private void saveRegion(long regionIndex, Long2ObjectMap<NBTCompound> chunks) {
+        final Region region = acquireRegion(regionIndex, true);
+        if (region == null) return;
+        try {
+            Int2ObjectMap<byte[]> data = new Int2ObjectOpenHashMap<>(chunks.size());
+            for (Long2ObjectMap.Entry<NBTCompound> entry : chunks.long2ObjectEntrySet()) {
+                final int chunkX = ChunkUtils.getChunkCoordX(entry.getLongKey());
+                final int chunkZ = ChunkUtils.getChunkCoordZ(entry.getLongKey());
                 try {
-                    if (!regionFile.exists()) {
-                        if (!regionFile.getParentFile().exists()) {
-                            regionFile.getParentFile().mkdirs();
-                        }
-                        regionFile.createNewFile();
-                    }
-                    mcaFile = new RegionFile(new RandomAccessFile(regionFile, "rw"), regionX, regionZ);
-                    alreadyLoaded.put(n, mcaFile);
-                } catch (AnvilException | IOException e) {
+                    data.put(AnvilRegion.index(chunkX, chunkZ), AnvilRegion.compress(entry.getValue()));
+                } catch (IOException e) {
                     LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
                     MinecraftServer.getExceptionManager().handleException(e);
-                    return AsyncUtils.VOID_FUTURE;
                 }
             }
-        }
-        ChunkWriter writer = new ChunkWriter(SupportedVersion.Companion.getLatest());
-        save(chunk, writer);
-        try {
-            LOGGER.debug("Attempt saving at {} {}", chunk.getChunkX(), chunk.getChunkZ());
-            mcaFile.writeColumnData(writer.toNBT(), chunk.getChunkX(), chunk.getChunkZ());
+            region.file.writeChunks(data);
+            for (long index : chunks.keySet()) {
+                this.saveStamps.incrementAndGet(stampIndex(index));
+                this.readCache.invalidate(index);
+            }
         } catch (IOException e) {
-            LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
+            LOGGER.error("Failed to save region " + ChunkUtils.getChunkCoordX(regionIndex) + ", " + ChunkUtils.getChunkCoordZ(regionIndex), e);
             MinecraftServer.getExceptionManager().handleException(e);
-            return AsyncUtils.VOID_FUTURE;
+        } finally {
+            releaseRegion(region, null);
         }
-        return AsyncUtils.VOID_FUTURE;
     }
 
     private BlockState getBlockState(final Block block) {
@@ -441,29 +620,10 @@ public class AnvilLoader implements IChunkLoader {
      */
     @Override
     public void unloadChunk(Chunk chunk) {
-        final int regionX = CoordinatesKt.chunkToRegion(chunk.chunkX);
-        final int regionZ = CoordinatesKt.chunkToRegion(chunk.chunkZ);
-
-        final IntIntImmutablePair regionKey = new IntIntImmutablePair(regionX, regionZ);
-        synchronized (perRegionLoadedChunks) {
-            Set<IntIntImmutablePair> chunks = perRegionLoadedChunks.get(regionKey);
-            if (chunks != null) { // if null, trying to unload a chunk from a region that was not created by the AnvilLoader
-                // don't check return value, trying to unload a chunk not created by the AnvilLoader is valid
-                chunks.remove(new IntIntImmutablePair(chunk.chunkX, chunk.chunkZ));
-
-                if (chunks.isEmpty()) {
-                    perRegionLoadedChunks.remove(regionKey);
-                    RegionFile regionFile = alreadyLoaded.remove(RegionFile.Companion.createFileName(regionX, regionZ));
-                    if (regionFile != null) {
-                        try {
-                            regionFile.close();
-                        } catch (IOException e) {
-                            MinecraftServer.getExceptionManager().handleException(e);
-                        }
-                    }
-                }
-            }
-        }
+        final long regionIndex = getChunkIndex(CoordinatesKt.chunkToRegion(chunk.chunkX), CoordinatesKt.chunkToRegion(chunk.chunkZ));
+        // if absent, trying to unload a chunk from a region that was not created by the AnvilLoader
+        // don't check the removal, trying to unload a chunk not created by the AnvilLoader is valid
+        updateRegion(regionIndex, region -> region.loadedChunks.remove(getChunkIndex(chunk)));
     }
 
     @Override
@@ -475,4 +635,20 @@ public class AnvilLoader implements IChunkLoader {
     public boolean supportsParallelSaving() {
         return true;
     }
+
+    private record PlacedBlock(int x, int y, int z, Block block) {
+    }
+
+    private static final class Region {
+        private final long index;
+        private final AnvilRegion file;
+        private final LongSet loadedChunks = new LongOpenHashSet();
+        // Number of pending reads and writes
+        private int users;
+
+        private Region(long index, AnvilRegion file) {
+            this.index = index;
+            this.file = file;
+        }
+    }
 }
@@ -0,0 +1,228 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jglrxavpok.hephaistos.nbt.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.*;
+
+/**
+ * Region file (.mca) read and written with positional {@link FileChannel} I/O.
+ * <p>
+ * Chunks of a region can be read concurrently, writes are batched so that a single header update
+ * and sync is needed for any number of chunks.
+ * Sectors freed by a batch are only reused by the next one, a partially written batch therefore never overwrites
+ * data still referenced by the header.
+ */
+final class AnvilRegion implements Closeable {
+    static final int CHUNKS = 1024;
+    private static final int SECTOR_SIZE = 4096;
+    private static final int HEADER_SECTORS = 2;
+    private static final int MAX_CHUNK_SECTORS = 255;
+
+    private static final byte GZIP = 1;
+    private static final byte ZLIB = 2;
+    private static final byte UNCOMPRESSED = 3;
+    private static final int EXTERNAL = 128;
+
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(Deflater::new);
+
+    private final Path path;
+    private final int regionX, regionZ;
+    private final FileChannel channel;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int[] locations = new int[CHUNKS];
+    private final int[] timestamps = new int[CHUNKS];
+    private final BitSet usedSectors = new BitSet();
+
+    AnvilRegion(@NotNull Path path, int regionX, int regionZ) throws IOException {
+        this.path = path;
+        this.regionX = regionX;
+        this.regionZ = regionZ;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.usedSectors.set(0, HEADER_SECTORS);
+        final long size = channel.size();
+        if (size < HEADER_SECTORS * SECTOR_SIZE) {
+            // New or truncated file
+            writeHeader();
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SECTORS * SECTOR_SIZE);
+        readFully(header, 0);
+        header.flip();
+        final long fileSectors = size / SECTOR_SIZE;
+        for (int i = 0; i < CHUNKS; i++) {
+            final int location = header.getInt();
+            final int offset = location >>> 8, count = location & 0xFF;
+            if (offset < HEADER_SECTORS || count == 0 || offset + count > fileSectors) continue; // Absent or invalid
+            this.locations[i] = location;
+            this.usedSectors.set(offset, offset + count);
+        }
+        for (int i = 0; i < CHUNKS; i++) timestamps[i] = header.getInt();
+    }
+
+    /**
+     * Reads and decompresses a chunk.
+     *
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return the chunk data, null if the chunk has never been saved
+     */
+    @Nullable NBTCompound readChunk(int chunkX, int chunkZ) throws IOException, NBTException {
+        final ByteBuffer buffer;
+        this.lock.readLock().lock();
+        try {
+            final int location = locations[index(chunkX, chunkZ)];
+            if (location == 0) return null;
+            buffer = ByteBuffer.allocate((location & 0xFF) * SECTOR_SIZE);
+            readFully(buffer, (long) (location >>> 8) * SECTOR_SIZE);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+        buffer.flip();
+        final int length = buffer.getInt() - 1;
+        final byte compression = buffer.get();
+        final byte[] data;
+        if ((compression & EXTERNAL) != 0) {
+            data = Files.readAllBytes(externalPath(chunkX, chunkZ));
+        } else {
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IOException("Invalid length " + length + " for chunk " + chunkX + ", " + chunkZ);
+            }
+            data = new byte[length];
+            buffer.get(data);
+        }
+        return read(data, (byte) (compression & ~EXTERNAL));
+    }
+
+    /**
+     * Writes compressed chunks and syncs the file once.
+     *
+     * @param chunks the data from {@link #compress(NBTCompound)} mapped by {@link #index(int, int)}
+     */
+    void writeChunks(@NotNull Int2ObjectMap<byte[]> chunks) throws IOException {
+        final int timestamp = (int) (System.currentTimeMillis() / 1000);
+        this.lock.writeLock().lock();
+        try {
+            BitSet freed = new BitSet();
+            for (Int2ObjectMap.Entry<byte[]> entry : chunks.int2ObjectEntrySet()) {
+                final int index = entry.getIntKey();
+                byte[] data = entry.getValue();
+                byte compression = ZLIB;
+                final Path external = externalPath(regionX * 32 + (index & 31), regionZ * 32 + (index >> 5));
+                if (data.length + 5 > MAX_CHUNK_SECTORS * SECTOR_SIZE) {
+                    // Too big for the region, stored next to it
+                    Files.write(external, data);
+                    data = new byte[0];
+                    compression |= EXTERNAL;
+                } else {
+                    Files.deleteIfExists(external);
+                }
+                final int count = (data.length + 5 + SECTOR_SIZE - 1) / SECTOR_SIZE;
+                final int offset = allocate(count);
+                ByteBuffer buffer = ByteBuffer.allocate(count * SECTOR_SIZE);
+                buffer.putInt(data.length + 1).put(compression).put(data);
+                buffer.clear();
+                writeFully(buffer, (long) offset * SECTOR_SIZE);
+
+                final int previous = locations[index];
+                if (previous != 0) freed.set(previous >>> 8, (previous >>> 8) + (previous & 0xFF));
+                this.locations[index] = offset << 8 | count;
+                this.timestamps[index] = timestamp;
+            }
+            writeHeader();
+            this.channel.force(true);
+            this.usedSectors.andNot(freed);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            this.channel.close();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    static int index(int chunkX, int chunkZ) {
+        return (chunkX & 31) | (chunkZ & 31) << 5;
+    }
+
+    static byte @NotNull [] compress(@NotNull NBTCompound nbt) throws IOException {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        ByteArrayOutputStream output = new ByteArrayOutputStream(SECTOR_SIZE * 2);
+        try (NBTWriter writer = new NBTWriter(new DeflaterOutputStream(output, deflater), CompressedProcesser.NONE)) {
+            writer.writeNamed("", nbt);
+        }
+        return output.toByteArray();
+    }
+
+    private static NBTCompound read(byte[] data, byte compression) throws IOException, NBTException {
+        InputStream input = new ByteArrayInputStream(data);
+        input = switch (compression) {
+            case GZIP -> new GZIPInputStream(input);
+            case ZLIB -> {
+                Inflater inflater = INFLATER.get();
+                inflater.reset();
+                yield new InflaterInputStream(input, inflater);
+            }
+            case UNCOMPRESSED -> input;
+            default -> throw new IOException("Unknown chunk compression: " + compression);
+        };
+        try (NBTReader reader = new NBTReader(new BufferedInputStream(input), CompressedProcesser.NONE)) {
+            if (!(reader.read() instanceof NBTCompound compound)) throw new NBTException("Chunk data must be a compound");
+            return compound;
+        }
+    }
+
+    private int allocate(int count) {
+        int offset = usedSectors.nextClearBit(HEADER_SECTORS);
+        while (true) {
+            final int end = usedSectors.nextSetBit(offset);
+            if (end == -1 || end - offset >= count) break;
+            offset = usedSectors.nextClearBit(end);
+        }
+        this.usedSectors.set(offset, offset + count);
+        return offset;
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SECTORS * SECTOR_SIZE);
+        header.asIntBuffer().put(locations).put(timestamps);
+        writeFully(header, 0);
+    }
+
+    private Path externalPath(int chunkX, int chunkZ) {
+        return path.resolveSibling("c." + chunkX + "." + chunkZ + ".mcc");
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position + buffer.position());
+            if (read == -1) throw new EOFException("Unexpected end of region file " + path);
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
@@ -95,6 +95,36 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
         return getSection(ChunkUtils.getChunkCoordinate(blockY));
     }
 
+    /**
+     * Gets the heightmap of the given type.
+     * <p>
+     * Heightmaps are updated on every {@link #setBlock(int, int, int, Block)},
+     * {@link #refreshHeightmaps()} has to be called when sections are modified directly.
+     *
+     * @param type the heightmap type
+     * @return the heightmap of this chunk
+     */
+    public abstract @NotNull Heightmap getHeightmap(@NotNull Heightmap.Type type);
+
+    /**
+     * Gets the Y coordinate right above the highest block of a column matching {@code type}.
+     *
+     * @param type the heightmap type
+     * @param x    the column X
+     * @param z    the column Z
+     * @return the Y coordinate above the highest matching block, the dimension min Y if none
+     */
+    public int getHeight(@NotNull Heightmap.Type type, int x, int z) {
+        return getHeightmap(type).getHeight(x, z);
+    }
+
+    /**
+     * Recomputes every heightmap from the blocks present in this chunk.
+     * <p>
+     * WARNING: this method is not thread-safe, the chunk must be synchronized.
+     */
+    public abstract void refreshHeightmaps();
+
     /**
      * Executes a chunk tick.
      * <p>
@@ -287,6 +317,12 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
         return tagHandler;
     }
 
+    /**
+     * Called when the chunk has been loaded and cached by its instance.
+     */
+    protected void onLoad() {
+    }
+
     /**
      * Sets the chunk as "unloaded".
      */
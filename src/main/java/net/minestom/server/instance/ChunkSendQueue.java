@@ -0,0 +1,204 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.longs.LongArrays;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Player;
+import net.minestom.server.event.EventDispatcher;
+import net.minestom.server.event.player.PlayerChunkLoadEvent;
+import net.minestom.server.network.player.PlayerConnection;
+import net.minestom.server.network.player.PlayerSocketConnection;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+import static net.minestom.server.utils.chunk.ChunkUtils.*;
+
+/**
+ * Chunks waiting to be sent to a player.
+ * <p>
+ * Chunks are sent closest first from the player position, limited to a number of bytes per tick
+ * and paused while the connection has too much data waiting to be written to the socket.
+ * Prevents a view change from delaying every other packet behind the whole view distance.
+ */
+public final class ChunkSendQueue {
+    private static final int BYTES_PER_TICK = Integer.getInteger("minestom.chunk-send-bytes-per-tick", 1_048_576);
+    private static final int MAX_BACKLOG = Integer.getInteger("minestom.chunk-send-max-backlog", 2_097_152);
+    // Used when the size of the chunk packet is unknown
+    private static final int ESTIMATED_CHUNK_SIZE = 16_384;
+
+    private final Player player;
+    private final int bytesPerTick;
+    private final int maxBacklog;
+
+    private final LongOpenHashSet pending = new LongOpenHashSet();
+    // Pending chunks sorted by distance to (sortedX, sortedZ), may contain already sent chunks
+    private long[] order = new long[0];
+    private boolean dirty;
+    private int sortedX, sortedZ;
+
+    private long sentChunks;
+    private long sentBytes;
+    private long lastTickBytes;
+
+    @ApiStatus.Internal
+    public ChunkSendQueue(@NotNull Player player) {
+        this(player, BYTES_PER_TICK, MAX_BACKLOG);
+    }
+
+    ChunkSendQueue(@NotNull Player player, int bytesPerTick, int maxBacklog) {
+        this.player = player;
+        this.bytesPerTick = bytesPerTick;
+        this.maxBacklog = maxBacklog;
+    }
+
+    /**
+     * Queues a chunk to be sent, and starts loading it if needed.
+     *
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     */
+    public synchronized void add(int chunkX, int chunkZ) {
+        if (pending.add(getChunkIndex(chunkX, chunkZ))) {
+            this.dirty = true;
+            final Instance instance = player.getInstance();
+            if (instance != null) instance.loadOptionalChunk(chunkX, chunkZ);
+        }
+    }
+
+    /**
+     * Removes a chunk from the queue.
+     *
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return true if the chunk was waiting to be sent
+     */
+    public synchronized boolean remove(int chunkX, int chunkZ) {
+        return pending.remove(getChunkIndex(chunkX, chunkZ));
+    }
+
+    public synchronized void clear() {
+        this.pending.clear();
+        this.order = new long[0];
+        this.dirty = false;
+    }
+
+    /**
+     * Sends the closest loaded chunks within this tick budget.
+     */
+    @ApiStatus.Internal
+    public synchronized void tick() {
+        this.lastTickBytes = 0;
+        if (pending.isEmpty()) return;
+        final Instance instance = player.getInstance();
+        if (instance == null) return;
+        final PlayerConnection connection = player.getPlayerConnection();
+        final long allowance = Math.min(bytesPerTick, maxBacklog(connection) - pendingBytes(connection));
+        if (allowance <= 0) return; // Wait for the client to catch up
+
+        final Pos position = player.getPosition();
+        final int centerX = position.chunkX();
+        final int centerZ = position.chunkZ();
+        if (dirty || centerX != sortedX || centerZ != sortedZ) sort(centerX, centerZ);
+
+        long bytes = 0;
+        for (long index : order) {
+            if (bytes >= allowance) break;
+            if (!pending.contains(index)) continue;
+            final int chunkX = getChunkCoordX(index);
+            final int chunkZ = getChunkCoordZ(index);
+            final CompletableFuture<Chunk> future = instance.loadOptionalChunk(chunkX, chunkZ);
+            if (!future.isDone()) continue; // Still loading
+            this.pending.remove(index);
+            final Chunk chunk = future.isCompletedExceptionally() ? null : future.join();
+            if (chunk == null || !chunk.isLoaded()) continue;
+            try {
+                chunk.sendChunk(player);
+                EventDispatcher.call(new PlayerChunkLoadEvent(player, chunkX, chunkZ));
+            } catch (Exception e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+            bytes += chunkSize(chunk);
+            this.sentChunks++;
+        }
+        this.sentBytes += bytes;
+        this.lastTickBytes = bytes;
+        // Compact once most of the sorted chunks have been sent
+        if (pending.size() < order.length / 2) this.dirty = true;
+    }
+
+    /**
+     * Gets the number of chunks waiting to be sent.
+     *
+     * @return the pending chunk count
+     */
+    public synchronized int getPendingChunks() {
+        return pending.size();
+    }
+
+    /**
+     * Gets the number of chunks sent since the player joined.
+     *
+     * @return the sent chunk count
+     */
+    public synchronized long getSentChunks() {
+        return sentChunks;
+    }
+
+    /**
+     * Gets the size of the chunk data sent since the player joined.
+     * <p>
+     * Estimated when the size of a packet cannot be known before it is written.
+     *
+     * @return the sent bytes
+     */
+    public synchronized long getSentBytes() {
+        return sentBytes;
+    }
+
+    /**
+     * Gets the size of the chunk data sent during the last tick.
+     *
+     * @return the bytes sent during the last tick
+     */
+    public synchronized long getLastTickBytes() {
+        return lastTickBytes;
+    }
+
+    private void sort(int centerX, int centerZ) {
+        long[] order = pending.toLongArray();
+        LongArrays.quickSort(order, (first, second) -> {
+            final int firstX = getChunkCoordX(first) - centerX, firstZ = getChunkCoordZ(first) - centerZ;
+            final int secondX = getChunkCoordX(second) - centerX, secondZ = getChunkCoordZ(second) - centerZ;
+            // Spiral from the center, ring by ring
+            final int ring = Integer.compare(Math.max(Math.abs(firstX), Math.abs(firstZ)),
+                    Math.max(Math.abs(secondX), Math.abs(secondZ)));
+            if (ring != 0) return ring;
+            return Integer.compare(firstX * firstX + firstZ * firstZ, secondX * secondX + secondZ * secondZ);
+        });
+        this.order = order;
+        this.dirty = false;
+        this.sortedX = centerX;
+        this.sortedZ = centerZ;
+    }
+
+    private static long pendingBytes(PlayerConnection connection) {
+        return connection instanceof PlayerSocketConnection socketConnection ? socketConnection.getPendingBytes() : 0;
+    }
+
+    private long maxBacklog(PlayerConnection connection) {
+        return connection instanceof PlayerSocketConnection socketConnection ?
+                Math.min(maxBacklog, socketConnection.getMaxPendingBytes()) : maxBacklog;
+    }
+
+    private static int chunkSize(Chunk chunk) {
+        if (chunk instanceof DynamicChunk dynamicChunk) {
+            final ByteBuffer body = dynamicChunk.chunkCache.body();
+            if (body != null) return body.remaining();
+        }
+        return ESTIMATED_CHUNK_SIZE;
+    }
+}
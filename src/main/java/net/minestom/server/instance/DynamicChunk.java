@@ -9,8 +9,10 @@ import net.minestom.server.entity.Player;
 import net.minestom.server.entity.pathfinding.PFBlock;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.palette.Palette;
 import net.minestom.server.network.NetworkBuffer;
 import net.minestom.server.network.packet.server.CachedPacket;
+import net.minestom.server.network.packet.server.PacketCache;
 import net.minestom.server.network.packet.server.play.ChunkDataPacket;
 import net.minestom.server.network.packet.server.play.UpdateLightPacket;
 import net.minestom.server.network.packet.server.play.data.ChunkData;
@@ -19,7 +21,6 @@ import net.minestom.server.snapshot.ChunkSnapshot;
 import net.minestom.server.snapshot.SnapshotImpl;
 import net.minestom.server.snapshot.SnapshotUpdater;
 import net.minestom.server.utils.ArrayUtils;
-import net.minestom.server.utils.MathUtils;
 import net.minestom.server.utils.ObjectPool;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
@@ -39,21 +40,29 @@ import static net.minestom.server.utils.chunk.ChunkUtils.toSectionRelativeCoordi
  */
 public class DynamicChunk extends Chunk {
 
-    private List<Section> sections;
+    protected List<Section> sections;
+    protected Heightmap[] heightmaps;
 
     // Key = ChunkUtils#getBlockIndex
     protected final Int2ObjectOpenHashMap<Block> entries = new Int2ObjectOpenHashMap<>(0);
     protected final Int2ObjectOpenHashMap<Block> tickableMap = new Int2ObjectOpenHashMap<>(0);
 
     private long lastChange;
-    final CachedPacket chunkCache = new CachedPacket(this::createChunkPacket);
-    final CachedPacket lightCache = new CachedPacket(this::createLightPacket);
+    final CachedPacket chunkCache = new CachedPacket(this::createChunkPacket, PacketCache.CHUNKS, this);
+    final CachedPacket lightCache = new CachedPacket(this::createLightPacket, PacketCache.CHUNKS, this);
 
     public DynamicChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
         super(instance, chunkX, chunkZ, true);
         var sectionsTemp = new Section[maxSection - minSection];
         Arrays.setAll(sectionsTemp, value -> new Section());
         this.sections = List.of(sectionsTemp);
+        final Heightmap.Type[] types = Heightmap.Type.all();
+        this.heightmaps = new Heightmap[types.length];
+        final int minY = minSection * CHUNK_SECTION_SIZE;
+        final int height = (maxSection - minSection) * CHUNK_SECTION_SIZE;
+        for (Heightmap.Type type : types) {
+            this.heightmaps[type.ordinal()] = new Heightmap(type, minY, height);
+        }
     }
 
     @Override
@@ -71,6 +80,7 @@ public class DynamicChunk extends Chunk {
         Section section = getSectionAt(y);
         section.blockPalette()
                 .set(toSectionRelativeCoordinate(x), toSectionRelativeCoordinate(y), toSectionRelativeCoordinate(z), block.stateId());
+        updateHeightmaps(x, y, z, block);
 
         final int index = ChunkUtils.getBlockIndex(x, y, z);
         // Handler
@@ -109,6 +119,24 @@ public class DynamicChunk extends Chunk {
         return sections.get(section - minSection);
     }
 
+    @Override
+    public @NotNull Heightmap getHeightmap(@NotNull Heightmap.Type type) {
+        return heightmaps[type.ordinal()];
+    }
+
+    @Override
+    public void refreshHeightmaps() {
+        final int maxY = maxSection * CHUNK_SECTION_SIZE - 1;
+        for (Heightmap heightmap : heightmaps) {
+            final Heightmap.Type type = heightmap.type();
+            for (int x = 0; x < CHUNK_SIZE_X; x++) {
+                for (int z = 0; z < CHUNK_SIZE_Z; z++) {
+                    heightmap.setHeight(x, z, findHeight(type, x, z, maxY));
+                }
+            }
+        }
+    }
+
     @Override
     public void tick(long time) {
         if (tickableMap.isEmpty()) return;
@@ -173,6 +201,7 @@ public class DynamicChunk extends Chunk {
     public @NotNull Chunk copy(@NotNull Instance instance, int chunkX, int chunkZ) {
         DynamicChunk dynamicChunk = new DynamicChunk(instance, chunkX, chunkZ);
         dynamicChunk.sections = sections.stream().map(Section::clone).toList();
+        dynamicChunk.heightmaps = Arrays.stream(heightmaps).map(Heightmap::clone).toArray(Heightmap[]::new);
         dynamicChunk.entries.putAll(entries);
         return dynamicChunk;
     }
@@ -180,28 +209,18 @@ public class DynamicChunk extends Chunk {
     @Override
     public void reset() {
         for (Section section : sections) section.clear();
+        for (Heightmap heightmap : heightmaps) heightmap.clear();
         this.entries.clear();
     }
 
     private synchronized @NotNull ChunkDataPacket createChunkPacket() {
-        final NBTCompound heightmapsNBT;
-        // TODO: don't hardcode heightmaps
-        // Heightmap
-        {
-            int dimensionHeight = getInstance().getDimensionType().getHeight();
-            int[] motionBlocking = new int[16 * 16];
-            int[] worldSurface = new int[16 * 16];
-            for (int x = 0; x < 16; x++) {
-                for (int z = 0; z < 16; z++) {
-                    motionBlocking[x + z * 16] = 0;
-                    worldSurface[x + z * 16] = dimensionHeight - 1;
-                }
-            }
-            final int bitsForHeight = MathUtils.bitsToRepresent(dimensionHeight);
-            heightmapsNBT = NBT.Compound(Map.of(
-                    "MOTION_BLOCKING", NBT.LongArray(encodeBlocks(motionBlocking, bitsForHeight)),
-                    "WORLD_SURFACE", NBT.LongArray(encodeBlocks(worldSurface, bitsForHeight))));
+        // Heightmaps
+        Map<String, NBT> heightmapsMap = new HashMap<>();
+        for (Heightmap heightmap : heightmaps) {
+            final Heightmap.Type type = heightmap.type();
+            if (type.sendToClient()) heightmapsMap.put(type.name(), NBT.LongArray(heightmap.toLongArray()));
         }
+        final NBTCompound heightmapsNBT = NBT.Compound(heightmapsMap);
         // Data
         final byte[] data = ObjectPool.PACKET_POOL.use(buffer ->
                 NetworkBuffer.makeArray(networkBuffer -> {
@@ -260,50 +279,39 @@ public class DynamicChunk extends Chunk {
                 tagHandler().readableCopy());
     }
 
-    private void assertLock() {
-        assert Thread.holdsLock(this) : "Chunk must be locked before access";
+    private void updateHeightmaps(int x, int y, int z, Block block) {
+        final int stateId = block.stateId();
+        for (Heightmap heightmap : heightmaps) {
+            final int height = heightmap.getHeight(x, z);
+            if (heightmap.type().test(stateId)) {
+                if (y >= height) heightmap.setHeight(x, z, y + 1);
+            } else if (y == height - 1) {
+                // Highest block has been removed, look for the next one below
+                heightmap.setHeight(x, z, findHeight(heightmap.type(), x, z, y - 1));
+            }
+        }
     }
 
-    private static final int[] MAGIC = {
-            -1, -1, 0, Integer.MIN_VALUE, 0, 0, 1431655765, 1431655765, 0, Integer.MIN_VALUE,
-            0, 1, 858993459, 858993459, 0, 715827882, 715827882, 0, 613566756, 613566756,
-            0, Integer.MIN_VALUE, 0, 2, 477218588, 477218588, 0, 429496729, 429496729, 0,
-            390451572, 390451572, 0, 357913941, 357913941, 0, 330382099, 330382099, 0, 306783378,
-            306783378, 0, 286331153, 286331153, 0, Integer.MIN_VALUE, 0, 3, 252645135, 252645135,
-            0, 238609294, 238609294, 0, 226050910, 226050910, 0, 214748364, 214748364, 0,
-            204522252, 204522252, 0, 195225786, 195225786, 0, 186737708, 186737708, 0, 178956970,
-            178956970, 0, 171798691, 171798691, 0, 165191049, 165191049, 0, 159072862, 159072862,
-            0, 153391689, 153391689, 0, 148102320, 148102320, 0, 143165576, 143165576, 0,
-            138547332, 138547332, 0, Integer.MIN_VALUE, 0, 4, 130150524, 130150524, 0, 126322567,
-            126322567, 0, 122713351, 122713351, 0, 119304647, 119304647, 0, 116080197, 116080197,
-            0, 113025455, 113025455, 0, 110127366, 110127366, 0, 107374182, 107374182, 0,
-            104755299, 104755299, 0, 102261126, 102261126, 0, 99882960, 99882960, 0, 97612893,
-            97612893, 0, 95443717, 95443717, 0, 93368854, 93368854, 0, 91382282, 91382282,
-            0, 89478485, 89478485, 0, 87652393, 87652393, 0, 85899345, 85899345, 0,
-            84215045, 84215045, 0, 82595524, 82595524, 0, 81037118, 81037118, 0, 79536431,
-            79536431, 0, 78090314, 78090314, 0, 76695844, 76695844, 0, 75350303, 75350303,
-            0, 74051160, 74051160, 0, 72796055, 72796055, 0, 71582788, 71582788, 0,
-            70409299, 70409299, 0, 69273666, 69273666, 0, 68174084, 68174084, 0, Integer.MIN_VALUE,
-            0, 5};
-
-    private static long[] encodeBlocks(int[] blocks, int bitsPerEntry) {
-        final long maxEntryValue = (1L << bitsPerEntry) - 1;
-        final char valuesPerLong = (char) (64 / bitsPerEntry);
-        final int magicIndex = 3 * (valuesPerLong - 1);
-        final long divideMul = Integer.toUnsignedLong(MAGIC[magicIndex]);
-        final long divideAdd = Integer.toUnsignedLong(MAGIC[magicIndex + 1]);
-        final int divideShift = MAGIC[magicIndex + 2];
-        final int size = (blocks.length + valuesPerLong - 1) / valuesPerLong;
-
-        long[] data = new long[size];
-
-        for (int i = 0; i < blocks.length; i++) {
-            final long value = blocks[i];
-            final int cellIndex = (int) (i * divideMul + divideAdd >> 32L >> divideShift);
-            final int bitIndex = (i - cellIndex * valuesPerLong) * bitsPerEntry;
-            data[cellIndex] = data[cellIndex] & ~(maxEntryValue << bitIndex) | (value & maxEntryValue) << bitIndex;
+    private int findHeight(Heightmap.Type type, int x, int z, int startY) {
+        final int minY = minSection * CHUNK_SECTION_SIZE;
+        final int relativeX = toSectionRelativeCoordinate(x);
+        final int relativeZ = toSectionRelativeCoordinate(z);
+        int y = startY;
+        while (y >= minY) {
+            final Palette palette = getSectionAt(y).blockPalette();
+            if (palette.count() == 0) {
+                // Empty section, skip to the one below
+                y = (ChunkUtils.getChunkCoordinate(y) * CHUNK_SECTION_SIZE) - 1;
+                continue;
+            }
+            final int stateId = palette.get(relativeX, toSectionRelativeCoordinate(y), relativeZ);
+            if (type.test(stateId)) return y + 1;
+            y--;
         }
+        return minY;
+    }
 
-        return data;
+    private void assertLock() {
+        assert Thread.holdsLock(this) : "Chunk must be locked before access";
     }
 }
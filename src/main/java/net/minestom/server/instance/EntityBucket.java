@@ -0,0 +1,203 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import space.vectrix.flare.fastutil.Long2ObjectSyncMap;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Entities of a chunk or section for a single {@link EntityTracker.Target}.
+ * <p>
+ * Entries are stored in a flat array and removed by swapping the last one in place, each entry
+ * remembers its slot so that adding and removing is O(1) without allocation (besides growing the array).
+ * <p>
+ * Writes are synchronized, iteration is lock-free and weakly consistent: an entity moved concurrently may be missed or seen twice.
+ * <p>
+ * Buckets stored in a map are discarded once empty, see {@link #add(Long2ObjectSyncMap, long, int, Tracked)}.
+ */
+final class EntityBucket {
+    private static final Tracked[] EMPTY = new Tracked[0];
+    private static final int MIN_CAPACITY = 4;
+
+    // Index in Tracked#slots holding the position of an entity in this bucket
+    private final int slotIndex;
+    private volatile Tracked[] elements = EMPTY;
+    private volatile int size;
+    // Removed from its map, a new bucket must be created
+    private boolean discarded;
+
+    EntityBucket(int slotIndex) {
+        this.slotIndex = slotIndex;
+    }
+
+    /**
+     * Adds an entity to the bucket of an index, creating the bucket if needed.
+     *
+     * @param buckets   the buckets by index
+     * @param index     the bucket index
+     * @param slotIndex the slot index of new buckets
+     * @param tracked   the entity to add
+     */
+    static void add(@NotNull Long2ObjectSyncMap<EntityBucket> buckets, long index, int slotIndex, @NotNull Tracked tracked) {
+        while (!buckets.computeIfAbsent(index, i -> new EntityBucket(slotIndex)).add(tracked)) {
+            // Discarded concurrently, a new bucket is created on the next try
+        }
+    }
+
+    /**
+     * Removes an entity from the bucket of an index, discarding the bucket once empty.
+     *
+     * @param buckets the buckets by index
+     * @param index   the bucket index
+     * @param tracked the entity to remove
+     */
+    static void remove(@NotNull Long2ObjectSyncMap<EntityBucket> buckets, long index, @NotNull Tracked tracked) {
+        final EntityBucket bucket = buckets.get(index);
+        if (bucket == null) return;
+        synchronized (bucket) {
+            bucket.remove(tracked);
+            if (bucket.size == 0 && !bucket.discarded) {
+                bucket.discarded = true;
+                buckets.remove(index, bucket);
+            }
+        }
+    }
+
+    synchronized boolean add(@NotNull Tracked tracked) {
+        if (discarded) return false;
+        Tracked[] elements = this.elements;
+        final int size = this.size;
+        if (size == elements.length) {
+            elements = this.elements = Arrays.copyOf(elements, Math.max(MIN_CAPACITY, size * 2));
+        }
+        elements[size] = tracked;
+        tracked.slots[slotIndex] = size;
+        this.size = size + 1;
+        return true;
+    }
+
+    synchronized void remove(@NotNull Tracked tracked) {
+        final Tracked[] elements = this.elements;
+        final int slot = tracked.slots[slotIndex];
+        final int last = size - 1;
+        if (slot < 0 || slot > last || elements[slot] != tracked) return;
+        if (slot != last) {
+            final Tracked moved = elements[last];
+            elements[slot] = moved;
+            moved.slots[slotIndex] = slot;
+        }
+        elements[last] = null;
+        tracked.slots[slotIndex] = -1;
+        this.size = last;
+        if (elements.length > MIN_CAPACITY * 4 && last < elements.length / 4) {
+            this.elements = Arrays.copyOf(elements, elements.length / 2);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Iteration goes backward, removing the current entity only moves an already visited one into its slot
+
+    void forEach(@NotNull Consumer<@NotNull Tracked> consumer) {
+        final Tracked[] elements = this.elements;
+        for (int i = Math.min(size, elements.length) - 1; i >= 0; i--) {
+            final Tracked tracked = elements[i];
+            if (tracked != null) consumer.accept(tracked);
+        }
+    }
+
+    <T extends Entity> void forEachEntity(@NotNull Consumer<T> consumer) {
+        final Tracked[] elements = this.elements;
+        for (int i = Math.min(size, elements.length) - 1; i >= 0; i--) {
+            final Tracked tracked = elements[i];
+            //noinspection unchecked
+            if (tracked != null) consumer.accept((T) tracked.entity);
+        }
+    }
+
+    /**
+     * An entity registered in a tracker.
+     */
+    static final class Tracked {
+        final Entity entity;
+        // Bitmask of the targets the entity belongs to, by ordinal
+        final int targets;
+        // Slot of the entity in its chunk and section buckets, by target
+        final int[] slots;
+        volatile Point position;
+
+        Tracked(Entity entity, int targets, int slotCount, Point position) {
+            this.entity = entity;
+            this.targets = targets;
+            this.slots = new int[slotCount];
+            this.position = position;
+        }
+    }
+
+    /**
+     * Unmodifiable view of the entities of a bucket, the bucket being resolved on each access.
+     */
+    static final class View<T extends Entity> extends AbstractCollection<T> {
+        private final Supplier<@Nullable EntityBucket> supplier;
+
+        View(Supplier<@Nullable EntityBucket> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public @NotNull Iterator<T> iterator() {
+            final EntityBucket bucket = supplier.get();
+            if (bucket == null) return Collections.emptyIterator();
+            final Tracked[] elements = bucket.elements;
+            return new Iterator<>() {
+                private int index = Math.min(bucket.size, elements.length);
+                private Tracked next = advance();
+
+                private Tracked advance() {
+                    while (index > 0) {
+                        final Tracked tracked = elements[--index];
+                        if (tracked != null) return tracked;
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public T next() {
+                    final Tracked tracked = this.next;
+                    if (tracked == null) throw new NoSuchElementException();
+                    this.next = advance();
+                    //noinspection unchecked
+                    return (T) tracked.entity;
+                }
+            };
+        }
+
+        @Override
+        public void forEach(Consumer<? super T> action) {
+            final EntityBucket bucket = supplier.get();
+            if (bucket != null) bucket.forEachEntity(action::accept);
+        }
+
+        @Override
+        public int size() {
+            final EntityBucket bucket = supplier.get();
+            return bucket != null ? bucket.size : 0;
+        }
+    }
+}
@@ -64,6 +64,25 @@ public sealed interface EntityTracker permits EntityTrackerImpl {
     <T extends Entity> void nearbyEntities(@NotNull Point point, double range,
                                            @NotNull Target<T> target, @NotNull Consumer<T> query);
 
+    /**
+     * Gets the entities whose position is within a box.
+     *
+     * @param min the minimum corner of the box, inclusive
+     * @param max the maximum corner of the box, inclusive
+     */
+    <T extends Entity> void boxEntities(@NotNull Point min, @NotNull Point max,
+                                        @NotNull Target<T> target, @NotNull Consumer<T> query);
+
+    /**
+     * Gets the entities whose bounding box is crossed by a ray, in no particular order.
+     *
+     * @param origin      the start of the ray
+     * @param direction   the direction of the ray, does not need to be normalized
+     * @param maxDistance the length of the ray
+     */
+    <T extends Entity> void raycastEntities(@NotNull Point origin, @NotNull Point direction, double maxDistance,
+                                            @NotNull Target<T> target, @NotNull Consumer<T> query);
+
     /**
      * Gets all the entities tracked by this class.
      */
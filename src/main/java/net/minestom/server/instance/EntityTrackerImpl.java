@@ -3,10 +3,12 @@ package net.minestom.server.instance;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.Viewable;
+import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.Player;
+import net.minestom.server.utils.PropertyUtils;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -17,7 +19,6 @@ import space.vectrix.flare.fastutil.Long2ObjectSyncMap;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -28,23 +29,44 @@ import static net.minestom.server.utils.chunk.ChunkUtils.*;
 
 final class EntityTrackerImpl implements EntityTracker {
     static final AtomicInteger TARGET_COUNTER = new AtomicInteger();
+    // Index entities per section in addition to chunks, used by queries covering few sections
+    static final boolean SECTION_INDEX = PropertyUtils.getBoolean("minestom.entity-section-index", true);
+    // Queries covering more sections walk the chunks instead
+    private static final int MAX_QUERIED_SECTIONS = 64;
+    // Entity class -> bitmask of the targets it belongs to, by ordinal
+    private static final ClassValue<Integer> TARGET_MASKS = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(@NotNull Class<?> type) {
+            int mask = 0;
+            for (Target<?> target : Target.TARGETS) {
+                if (target.type().isAssignableFrom(type)) mask |= 1 << target.ordinal();
+            }
+            return mask;
+        }
+    };
 
     // Store all data associated to a Target
     // The array index is the Target enum ordinal
     final TargetEntry<Entity>[] entries = EntityTracker.Target.TARGETS.stream().map((Function<Target<?>, TargetEntry>) TargetEntry::new).toArray(TargetEntry[]::new);
-    private final Int2ObjectSyncMap<Point> entityPositions = Int2ObjectSyncMap.hashmap();
+    // Entity id -> tracked state
+    private final Int2ObjectSyncMap<EntityBucket.Tracked> tracked = Int2ObjectSyncMap.hashmap();
+    // Largest distance from its position reached by the bounding box of a tracked entity, pads ray queries
+    private volatile double maxBoxExtent;
 
     @Override
     public <T extends Entity> void register(@NotNull Entity entity, @NotNull Point point,
                                             @NotNull Target<T> target, @Nullable Update<T> update) {
-        var prevPoint = entityPositions.putIfAbsent(entity.getEntityId(), point);
-        if (prevPoint != null) return;
+        final int targets = TARGET_MASKS.get(entity.getClass());
+        final EntityBucket.Tracked tracked = new EntityBucket.Tracked(entity, targets, entries.length * 2, point);
+        if (this.tracked.putIfAbsent(entity.getEntityId(), tracked) != null) return;
+        updateBoxExtent(entity);
         final long index = getChunkIndex(point);
-        for (TargetEntry<Entity> entry : entries) {
-            if (entry.target.type().isInstance(entity)) {
-                entry.entities.add(entity);
-                entry.addToChunk(index, entity);
-            }
+        final long sectionIndex = getSectionIndex(point);
+        for (int mask = targets; mask != 0; mask &= mask - 1) {
+            final TargetEntry<Entity> entry = entries[Integer.numberOfTrailingZeros(mask)];
+            entry.entities.add(entity);
+            entry.addToChunk(index, tracked);
+            if (SECTION_INDEX) entry.addToSection(sectionIndex, tracked);
         }
         if (update != null) {
             update.referenceUpdate(point, this);
@@ -58,14 +80,16 @@ final class EntityTrackerImpl implements EntityTracker {
     @Override
     public <T extends Entity> void unregister(@NotNull Entity entity,
                                               @NotNull Target<T> target, @Nullable Update<T> update) {
-        final Point point = entityPositions.remove(entity.getEntityId());
-        if (point == null) return;
+        final EntityBucket.Tracked tracked = this.tracked.remove(entity.getEntityId());
+        if (tracked == null) return;
+        final Point point = tracked.position;
         final long index = getChunkIndex(point);
-        for (TargetEntry<Entity> entry : entries) {
-            if (entry.target.type().isInstance(entity)) {
-                entry.entities.remove(entity);
-                entry.removeFromChunk(index, entity);
-            }
+        final long sectionIndex = getSectionIndex(point);
+        for (int mask = tracked.targets; mask != 0; mask &= mask - 1) {
+            final TargetEntry<Entity> entry = entries[Integer.numberOfTrailingZeros(mask)];
+            entry.entities.remove(entity);
+            entry.removeFromChunk(index, tracked);
+            if (SECTION_INDEX) entry.removeFromSection(sectionIndex, tracked);
         }
         if (update != null) {
             update.referenceUpdate(point, null);
@@ -79,15 +103,30 @@ final class EntityTrackerImpl implements EntityTracker {
     @Override
     public <T extends Entity> void move(@NotNull Entity entity, @NotNull Point newPoint,
                                         @NotNull Target<T> target, @Nullable Update<T> update) {
-        Point oldPoint = entityPositions.put(entity.getEntityId(), newPoint);
-        if (oldPoint == null || oldPoint.sameChunk(newPoint)) return;
+        final EntityBucket.Tracked tracked = this.tracked.get(entity.getEntityId());
+        if (tracked == null) return;
+        final Point oldPoint = tracked.position;
+        tracked.position = newPoint;
+        // The bounding box may have changed since the registration
+        updateBoxExtent(entity);
+        final boolean sameChunk = oldPoint.sameChunk(newPoint);
+        if (SECTION_INDEX && (!sameChunk || oldPoint.section() != newPoint.section())) {
+            final long oldSectionIndex = getSectionIndex(oldPoint);
+            final long newSectionIndex = getSectionIndex(newPoint);
+            for (int mask = tracked.targets; mask != 0; mask &= mask - 1) {
+                final TargetEntry<Entity> entry = entries[Integer.numberOfTrailingZeros(mask)];
+                entry.removeFromSection(oldSectionIndex, tracked);
+                entry.addToSection(newSectionIndex, tracked);
+            }
+        }
+        if (sameChunk) return;
         final long oldIndex = getChunkIndex(oldPoint);
         final long newIndex = getChunkIndex(newPoint);
-        for (TargetEntry<Entity> entry : entries) {
-            if (entry.target.type().isInstance(entity)) {
-                entry.addToChunk(newIndex, entity);
-                entry.removeFromChunk(oldIndex, entity);
-            }
+        for (int mask = tracked.targets; mask != 0; mask &= mask - 1) {
+            final TargetEntry<Entity> entry = entries[Integer.numberOfTrailingZeros(mask)];
+            // Remove first, both buckets share the slot of the entity
+            entry.removeFromChunk(oldIndex, tracked);
+            entry.addToChunk(newIndex, tracked);
         }
         if (update != null) {
             difference(oldPoint, newPoint, target, new Update<>() {
@@ -108,61 +147,70 @@ final class EntityTrackerImpl implements EntityTracker {
     @Override
     public @Unmodifiable <T extends Entity> Collection<T> chunkEntities(int chunkX, int chunkZ, @NotNull Target<T> target) {
         final TargetEntry<Entity> entry = entries[target.ordinal()];
-        //noinspection unchecked
-        var chunkEntities = (List<T>) entry.chunkEntities(getChunkIndex(chunkX, chunkZ));
-        return Collections.unmodifiableList(chunkEntities);
+        final long index = getChunkIndex(chunkX, chunkZ);
+        return new EntityBucket.View<>(() -> entry.chunkEntities.get(index));
     }
 
     @Override
     public <T extends Entity> void nearbyEntitiesByChunkRange(@NotNull Point point, int chunkRange, @NotNull Target<T> target, @NotNull Consumer<T> query) {
-        final Long2ObjectSyncMap<List<Entity>> entities = entries[target.ordinal()].chunkEntities;
+        final Long2ObjectSyncMap<EntityBucket> entities = entries[target.ordinal()].chunkEntities;
         if (chunkRange == 0) {
             // Single chunk
-            final var chunkEntities = (List<T>) entities.get(getChunkIndex(point));
-            if (chunkEntities != null && !chunkEntities.isEmpty()) {
-                chunkEntities.forEach(query);
-            }
+            final EntityBucket bucket = entities.get(getChunkIndex(point));
+            if (bucket != null) bucket.forEachEntity(query);
         } else {
             // Multiple chunks
             forChunksInRange(point, chunkRange, (chunkX, chunkZ) -> {
-                final var chunkEntities = (List<T>) entities.get(getChunkIndex(chunkX, chunkZ));
-                if (chunkEntities == null || chunkEntities.isEmpty()) return;
-                chunkEntities.forEach(query);
+                final EntityBucket bucket = entities.get(getChunkIndex(chunkX, chunkZ));
+                if (bucket != null) bucket.forEachEntity(query);
             });
         }
     }
 
     @Override
     public <T extends Entity> void nearbyEntities(@NotNull Point point, double range, @NotNull Target<T> target, @NotNull Consumer<T> query) {
-        final Long2ObjectSyncMap<List<Entity>> entities = entries[target.ordinal()].chunkEntities;
-        final int minChunkX = ChunkUtils.getChunkCoordinate(point.x() - range);
-        final int minChunkZ = ChunkUtils.getChunkCoordinate(point.z() - range);
-        final int maxChunkX = ChunkUtils.getChunkCoordinate(point.x() + range);
-        final int maxChunkZ = ChunkUtils.getChunkCoordinate(point.z() + range);
         final double squaredRange = range * range;
-        if (minChunkX == maxChunkX && minChunkZ == maxChunkZ) {
-            // Single chunk
-            final var chunkEntities = (List<T>) entities.get(getChunkIndex(point));
-            if (chunkEntities != null && !chunkEntities.isEmpty()) {
-                chunkEntities.forEach(entity -> {
-                    final Point position = entityPositions.get(entity.getEntityId());
-                    if (point.distanceSquared(position) <= squaredRange) query.accept(entity);
+        forEachInBox(target, point.x() - range, point.y() - range, point.z() - range,
+                point.x() + range, point.y() + range, point.z() + range, tracked -> {
+                    if (point.distanceSquared(tracked.position) <= squaredRange) query.accept((T) tracked.entity);
                 });
+    }
+
+    @Override
+    public <T extends Entity> void boxEntities(@NotNull Point min, @NotNull Point max, @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        forEachInBox(target, min.x(), min.y(), min.z(), max.x(), max.y(), max.z(), tracked -> {
+            final Point position = tracked.position;
+            if (position.x() >= min.x() && position.x() <= max.x() &&
+                    position.y() >= min.y() && position.y() <= max.y() &&
+                    position.z() >= min.z() && position.z() <= max.z()) {
+                query.accept((T) tracked.entity);
             }
-        } else {
-            // Multiple chunks
-            final int chunkRange = (int) (range / Chunk.CHUNK_SECTION_SIZE) + 1;
-            forChunksInRange(point, chunkRange, (chunkX, chunkZ) -> {
-                final var chunkEntities = (List<T>) entities.get(getChunkIndex(chunkX, chunkZ));
-                if (chunkEntities == null || chunkEntities.isEmpty()) return;
-                chunkEntities.forEach(entity -> {
-                    final Point position = entityPositions.get(entity.getEntityId());
-                    if (point.distanceSquared(position) <= squaredRange) {
-                        query.accept(entity);
+        });
+    }
+
+    @Override
+    public <T extends Entity> void raycastEntities(@NotNull Point origin, @NotNull Point direction, double maxDistance,
+                                                   @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        final double length = Math.sqrt(direction.x() * direction.x() + direction.y() * direction.y() + direction.z() * direction.z());
+        if (length == 0) return;
+        final double dirX = direction.x() / length, dirY = direction.y() / length, dirZ = direction.z() / length;
+        final double endX = origin.x() + dirX * maxDistance;
+        final double endY = origin.y() + dirY * maxDistance;
+        final double endZ = origin.z() + dirZ * maxDistance;
+        // Entities are indexed by position, include the ones whose box reaches the ray from a neighbour section
+        final double margin = maxBoxExtent;
+        forEachInBox(target,
+                Math.min(origin.x(), endX) - margin, Math.min(origin.y(), endY) - margin, Math.min(origin.z(), endZ) - margin,
+                Math.max(origin.x(), endX) + margin, Math.max(origin.y(), endY) + margin, Math.max(origin.z(), endZ) + margin,
+                tracked -> {
+                    final Point position = tracked.position;
+                    final BoundingBox box = tracked.entity.getBoundingBox();
+                    if (rayIntersects(origin, dirX, dirY, dirZ, maxDistance,
+                            position.x() + box.minX(), position.y() + box.minY(), position.z() + box.minZ(),
+                            position.x() + box.maxX(), position.y() + box.maxY(), position.z() + box.maxZ())) {
+                        query.accept((T) tracked.entity);
                     }
                 });
-            });
-        }
     }
 
     @Override
@@ -177,20 +225,103 @@ final class EntityTrackerImpl implements EntityTracker {
         return entry.viewers.computeIfAbsent(new ChunkViewKey(sharedInstances, chunkX, chunkZ), ChunkView::new);
     }
 
+    /**
+     * Gives every entity in the chunks or sections overlapping a box, to be filtered by the caller.
+     */
+    private void forEachInBox(@NotNull Target<?> target,
+                              double minX, double minY, double minZ,
+                              double maxX, double maxY, double maxZ,
+                              @NotNull Consumer<EntityBucket.@NotNull Tracked> consumer) {
+        final TargetEntry<Entity> entry = entries[target.ordinal()];
+        final int minSectionX = ChunkUtils.getChunkCoordinate(minX), maxSectionX = ChunkUtils.getChunkCoordinate(maxX);
+        final int minSectionY = ChunkUtils.getChunkCoordinate(minY), maxSectionY = ChunkUtils.getChunkCoordinate(maxY);
+        final int minSectionZ = ChunkUtils.getChunkCoordinate(minZ), maxSectionZ = ChunkUtils.getChunkCoordinate(maxZ);
+        final long sectionCount = (long) (maxSectionX - minSectionX + 1) * (maxSectionY - minSectionY + 1) * (maxSectionZ - minSectionZ + 1);
+        if (SECTION_INDEX && sectionCount <= MAX_QUERIED_SECTIONS) {
+            for (int x = minSectionX; x <= maxSectionX; x++) {
+                for (int z = minSectionZ; z <= maxSectionZ; z++) {
+                    for (int y = minSectionY; y <= maxSectionY; y++) {
+                        final EntityBucket bucket = entry.sectionEntities.get(getSectionIndex(x, y, z));
+                        if (bucket != null) bucket.forEach(consumer);
+                    }
+                }
+            }
+        } else {
+            for (int x = minSectionX; x <= maxSectionX; x++) {
+                for (int z = minSectionZ; z <= maxSectionZ; z++) {
+                    final EntityBucket bucket = entry.chunkEntities.get(getChunkIndex(x, z));
+                    if (bucket != null) bucket.forEach(consumer);
+                }
+            }
+        }
+    }
+
+    private void updateBoxExtent(Entity entity) {
+        final BoundingBox box = entity.getBoundingBox();
+        final double extent = Math.max(Math.max(Math.max(-box.minX(), box.maxX()), Math.max(-box.minY(), box.maxY())),
+                Math.max(-box.minZ(), box.maxZ()));
+        if (extent <= maxBoxExtent) return;
+        synchronized (this) {
+            if (extent > maxBoxExtent) this.maxBoxExtent = extent;
+        }
+    }
+
+    static long getSectionIndex(int sectionX, int sectionY, int sectionZ) {
+        // 26 bits for x and z, 12 bits for y
+        return ((long) sectionX & 0x3FFFFFF) << 38 | ((long) sectionZ & 0x3FFFFFF) << 12 | sectionY & 0xFFF;
+    }
+
+    private static long getSectionIndex(Point point) {
+        return getSectionIndex(point.chunkX(), point.section(), point.chunkZ());
+    }
+
+    /**
+     * Slab test between a segment starting at {@code origin} and a box.
+     */
+    static boolean rayIntersects(Point origin, double dirX, double dirY, double dirZ, double maxDistance,
+                                 double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        double near = 0, far = maxDistance;
+        // X
+        if (dirX == 0) {
+            if (origin.x() < minX || origin.x() > maxX) return false;
+        } else {
+            final double t1 = (minX - origin.x()) / dirX, t2 = (maxX - origin.x()) / dirX;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+            if (near > far) return false;
+        }
+        // Y
+        if (dirY == 0) {
+            if (origin.y() < minY || origin.y() > maxY) return false;
+        } else {
+            final double t1 = (minY - origin.y()) / dirY, t2 = (maxY - origin.y()) / dirY;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+            if (near > far) return false;
+        }
+        // Z
+        if (dirZ == 0) {
+            return origin.z() >= minZ && origin.z() <= maxZ;
+        } else {
+            final double t1 = (minZ - origin.z()) / dirZ, t2 = (maxZ - origin.z()) / dirZ;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+            return near <= far;
+        }
+    }
+
     private <T extends Entity> void difference(Point oldPoint, Point newPoint,
                                                @NotNull Target<T> target, @NotNull Update<T> update) {
         final TargetEntry<Entity> entry = entries[target.ordinal()];
         forDifferingChunksInRange(newPoint.chunkX(), newPoint.chunkZ(), oldPoint.chunkX(), oldPoint.chunkZ(),
                 MinecraftServer.getEntityViewDistance(), (chunkX, chunkZ) -> {
                     // Add
-                    final List<Entity> entities = entry.chunkEntities.get(getChunkIndex(chunkX, chunkZ));
-                    if (entities == null || entities.isEmpty()) return;
-                    for (Entity entity : entities) update.add((T) entity);
+                    final EntityBucket bucket = entry.chunkEntities.get(getChunkIndex(chunkX, chunkZ));
+                    if (bucket != null) bucket.forEachEntity(update::add);
                 }, (chunkX, chunkZ) -> {
                     // Remove
-                    final List<Entity> entities = entry.chunkEntities.get(getChunkIndex(chunkX, chunkZ));
-                    if (entities == null || entities.isEmpty()) return;
-                    for (Entity entity : entities) update.remove((T) entity);
+                    final EntityBucket bucket = entry.chunkEntities.get(getChunkIndex(chunkX, chunkZ));
+                    if (bucket != null) bucket.forEachEntity(update::remove);
                 });
     }
 
@@ -210,24 +341,33 @@ final class EntityTrackerImpl implements EntityTracker {
         private final Set<T> entities = ConcurrentHashMap.newKeySet(); // Thread-safe since exposed
         private final Set<T> entitiesView = Collections.unmodifiableSet(entities);
         // Chunk index -> entities inside it
-        final Long2ObjectSyncMap<List<T>> chunkEntities = Long2ObjectSyncMap.hashmap();
+        final Long2ObjectSyncMap<EntityBucket> chunkEntities = Long2ObjectSyncMap.hashmap();
+        // Section index -> entities inside it, see #getSectionIndex(int, int, int)
+        final Long2ObjectSyncMap<EntityBucket> sectionEntities = Long2ObjectSyncMap.hashmap();
         final Map<ChunkViewKey, ChunkView> viewers = new ConcurrentHashMap<>();
+        // Slots of the entity in its buckets, see EntityBucket.Tracked#slots
+        private final int chunkSlot, sectionSlot;
 
         TargetEntry(Target<T> target) {
             this.target = target;
+            this.chunkSlot = target.ordinal() * 2;
+            this.sectionSlot = chunkSlot + 1;
+        }
+
+        void addToChunk(long index, EntityBucket.Tracked tracked) {
+            EntityBucket.add(chunkEntities, index, chunkSlot, tracked);
         }
 
-        List<T> chunkEntities(long index) {
-            return chunkEntities.computeIfAbsent(index, i -> (List<T>) new CopyOnWriteArrayList());
+        void addToSection(long index, EntityBucket.Tracked tracked) {
+            EntityBucket.add(sectionEntities, index, sectionSlot, tracked);
         }
 
-        void addToChunk(long index, T entity) {
-            chunkEntities(index).add(entity);
+        void removeFromChunk(long index, EntityBucket.Tracked tracked) {
+            EntityBucket.remove(chunkEntities, index, tracked);
         }
 
-        void removeFromChunk(long index, T entity) {
-            List<T> entities = chunkEntities.get(index);
-            if (entities != null) entities.remove(entity);
+        void removeFromSection(long index, EntityBucket.Tracked tracked) {
+            EntityBucket.remove(sectionEntities, index, tracked);
         }
     }
 
@@ -0,0 +1,199 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.utils.MathUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Represents the highest block of each column of a chunk matching a {@link Type}.
+ * <p>
+ * Heights are stored relative to the dimension min Y in the packed long array format
+ * used by the protocol and the anvil format, meaning that no conversion is required when sending it.
+ * <p>
+ * WARNING: not thread-safe, guarded by the owning chunk.
+ */
+public final class Heightmap {
+    private static final int COLUMNS = Chunk.CHUNK_SIZE_X * Chunk.CHUNK_SIZE_Z;
+
+    private final Type type;
+    private final int minY;
+    private final int bitsPerEntry;
+    private final int valuesPerLong;
+    private final long entryMask;
+    private final long[] data;
+
+    private Heightmap(Type type, int minY, int bitsPerEntry, long[] data) {
+        this.type = type;
+        this.minY = minY;
+        this.bitsPerEntry = bitsPerEntry;
+        this.valuesPerLong = Long.SIZE / bitsPerEntry;
+        this.entryMask = (1L << bitsPerEntry) - 1;
+        this.data = data;
+    }
+
+    /**
+     * Creates an empty heightmap.
+     *
+     * @param type   the heightmap type
+     * @param minY   the dimension min Y
+     * @param height the dimension height
+     */
+    public Heightmap(@NotNull Type type, int minY, int height) {
+        this(type, minY, MathUtils.bitsToRepresent(height), new long[dataLength(MathUtils.bitsToRepresent(height))]);
+    }
+
+    public @NotNull Type type() {
+        return type;
+    }
+
+    /**
+     * Gets the Y coordinate right above the highest block matching {@link #type()}.
+     *
+     * @param x the column X, can be absolute or chunk-relative
+     * @param z the column Z, can be absolute or chunk-relative
+     * @return the Y coordinate above the highest matching block, the dimension min Y if the column is empty
+     */
+    public int getHeight(int x, int z) {
+        final int index = index(x, z);
+        final int cellIndex = index / valuesPerLong;
+        final int bitIndex = (index - cellIndex * valuesPerLong) * bitsPerEntry;
+        return (int) (data[cellIndex] >> bitIndex & entryMask) + minY;
+    }
+
+    /**
+     * Changes the height of a column.
+     *
+     * @param x      the column X, can be absolute or chunk-relative
+     * @param z      the column Z, can be absolute or chunk-relative
+     * @param height the Y coordinate right above the highest matching block
+     */
+    public void setHeight(int x, int z, int height) {
+        final int index = index(x, z);
+        final int cellIndex = index / valuesPerLong;
+        final int bitIndex = (index - cellIndex * valuesPerLong) * bitsPerEntry;
+        final long value = (height - minY) & entryMask;
+        data[cellIndex] = data[cellIndex] & ~(entryMask << bitIndex) | value << bitIndex;
+    }
+
+    /**
+     * Resets every column to the dimension min Y.
+     */
+    public void clear() {
+        Arrays.fill(data, 0);
+    }
+
+    /**
+     * Gets a copy of the packed heights, as expected by the protocol.
+     *
+     * @return the packed heights
+     */
+    public long @NotNull [] toLongArray() {
+        return data.clone();
+    }
+
+    /**
+     * Replaces the packed heights, typically with data coming from the anvil format.
+     *
+     * @param data the packed heights
+     * @throws IllegalArgumentException if the array length does not match this heightmap
+     */
+    public void fromLongArray(long @NotNull [] data) {
+        if (data.length != this.data.length)
+            throw new IllegalArgumentException("Invalid heightmap length " + data.length + ", expected " + this.data.length);
+        System.arraycopy(data, 0, this.data, 0, data.length);
+    }
+
+    @Override
+    public @NotNull Heightmap clone() {
+        return new Heightmap(type, minY, bitsPerEntry, data.clone());
+    }
+
+    private static int dataLength(int bitsPerEntry) {
+        final int valuesPerLong = Long.SIZE / bitsPerEntry;
+        return (COLUMNS + valuesPerLong - 1) / valuesPerLong;
+    }
+
+    private static int index(int x, int z) {
+        return (x & 0xF) + ((z & 0xF) << 4);
+    }
+
+    /**
+     * The vanilla heightmap types.
+     */
+    public enum Type {
+        /**
+         * Highest non-air block.
+         */
+        WORLD_SURFACE(true),
+        /**
+         * Highest solid block.
+         */
+        OCEAN_FLOOR(false),
+        /**
+         * Highest solid or fluid block.
+         */
+        MOTION_BLOCKING(true),
+        /**
+         * Highest solid or fluid block, ignoring leaves.
+         */
+        MOTION_BLOCKING_NO_LEAVES(false);
+
+        private static final Type[] VALUES = values();
+
+        private final boolean sendToClient;
+        private final byte flag = (byte) (1 << ordinal());
+
+        Type(boolean sendToClient) {
+            this.sendToClient = sendToClient;
+        }
+
+        /**
+         * Gets if this heightmap is part of the chunk data sent to the client.
+         *
+         * @return true if the client uses this heightmap
+         */
+        public boolean sendToClient() {
+            return sendToClient;
+        }
+
+        /**
+         * Gets if a block should be counted by this heightmap.
+         *
+         * @param block the block to test
+         * @return true if the block is considered by this heightmap
+         */
+        public boolean test(@NotNull Block block) {
+            return (computeFlags(block) & flag) != 0;
+        }
+
+        /**
+         * Same as {@link #test(Block)} but uses a precomputed table.
+         *
+         * @param stateId the block state id to test
+         * @return true if the block is considered by this heightmap
+         */
+        public boolean test(int stateId) {
+            return (StateFlags.heightmaps(stateId) & flag) != 0;
+        }
+
+        static @NotNull Type[] all() {
+            return VALUES;
+        }
+
+        static byte computeFlags(Block block) {
+            if (block.isAir()) return 0;
+            final boolean fluid = block.isLiquid() || "true".equals(block.getProperty("waterlogged"));
+            final boolean solid = block.isSolid();
+            final boolean leaves = block.namespace().path().endsWith("_leaves");
+            byte flags = WORLD_SURFACE.flag;
+            if (solid) flags |= OCEAN_FLOOR.flag;
+            if (solid || fluid) {
+                flags |= MOTION_BLOCKING.flag;
+                if (!leaves) flags |= MOTION_BLOCKING_NO_LEAVES.flag;
+            }
+            return flags;
+        }
+    }
+}
@@ -82,6 +82,10 @@ public abstract class Instance implements Block.Getter, Block.Setter,
     // Field for tick events
     private long lastTickAge = System.currentTimeMillis();
 
+    // Number of server ticks between two ticks of the instance
+    private volatile int tickInterval = 1;
+    private long tickCounter;
+
     private final EntityTracker entityTracker = new EntityTrackerImpl();
 
     private final ChunkCache blockRetriever = new ChunkCache(this, null, null);
@@ -153,6 +157,18 @@ public abstract class Instance implements Block.Getter, Block.Setter,
     @ApiStatus.Internal
     public abstract boolean breakBlock(@NotNull Player player, @NotNull Point blockPosition, @NotNull BlockFace blockFace);
 
+    /**
+     * Sends the block changes of a chunk without waiting for the next tick.
+     * <p>
+     * Used before acknowledging a player block change, the client would otherwise
+     * roll back its prediction before receiving the new block.
+     *
+     * @param point a position in the chunk
+     */
+    @ApiStatus.Internal
+    public void sendBlockChanges(@NotNull Point point) {
+    }
+
     /**
      * Forces the generation of a {@link Chunk}, even if no file and {@link ChunkGenerator} are defined.
      *
@@ -353,6 +369,45 @@ public abstract class Instance implements Block.Getter, Block.Setter,
         return dimensionType;
     }
 
+    /**
+     * Gets the number of server ticks between two ticks of this instance.
+     *
+     * @return the tick interval, 1 when ticking every server tick
+     */
+    @ApiStatus.Experimental
+    public int getTickInterval() {
+        return tickInterval;
+    }
+
+    /**
+     * Changes the number of server ticks between two ticks of this instance.
+     * <p>
+     * Skipped ticks apply to the instance itself, its chunks and its entities, except players.
+     * Changes such as block updates are still sent every server tick, see {@link #serverTick(long)}.
+     *
+     * @param tickInterval the new tick interval, 1 to tick every server tick
+     * @see net.minestom.server.thread.TickPacing#adaptive(int, java.util.function.Predicate)
+     */
+    @ApiStatus.Experimental
+    public void setTickInterval(int tickInterval) {
+        Check.argCondition(tickInterval < 1, "Tick interval must be at least 1: {0}", tickInterval);
+        this.tickInterval = tickInterval;
+    }
+
+    /**
+     * Decides if the next server tick is skipped by this instance.
+     * <p>
+     * Called once per server tick by the ticker, before ticking the instance and starting the tick threads.
+     *
+     * @return true if the instance, its chunks and non-player entities do not tick
+     * @see #setTickInterval(int)
+     */
+    @ApiStatus.Internal
+    public boolean nextTickSkipped() {
+        final int tickInterval = this.tickInterval;
+        return tickInterval > 1 && tickCounter++ % tickInterval != 0;
+    }
+
     /**
      * Gets the age of this instance in tick.
      *
@@ -619,6 +674,19 @@ public abstract class Instance implements Block.Getter, Block.Setter,
         this.worldBorder.update();
     }
 
+    /**
+     * Performs the work required every server tick, even when the instance tick is skipped,
+     * such as sending the changes made by players and other instances.
+     * <p>
+     * Called after {@link #tick(long)} when the instance ticks.
+     *
+     * @param time the tick time in milliseconds
+     * @see #nextTickSkipped()
+     */
+    @ApiStatus.Internal
+    public void serverTick(long time) {
+    }
+
     @Override
     public @NotNull TagHandler tagHandler() {
         return tagHandler;
@@ -1,6 +1,13 @@
 package net.minestom.server.instance;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2IntMap;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
@@ -15,10 +22,12 @@ import net.minestom.server.instance.block.BlockFace;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.instance.block.rule.BlockPlacementRule;
 import net.minestom.server.instance.generator.Generator;
+import net.minestom.server.instance.light.LightEngine;
 import net.minestom.server.instance.palette.Palette;
 import net.minestom.server.network.packet.server.play.BlockChangePacket;
 import net.minestom.server.network.packet.server.play.BlockEntityDataPacket;
 import net.minestom.server.network.packet.server.play.EffectPacket;
+import net.minestom.server.network.packet.server.play.MultiBlockChangePacket;
 import net.minestom.server.network.packet.server.play.UnloadChunkPacket;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.async.AsyncUtils;
@@ -50,6 +59,8 @@ import static net.minestom.server.utils.chunk.ChunkUtils.*;
  */
 public class InstanceContainer extends Instance {
     private static final AnvilLoader DEFAULT_LOADER = new AnvilLoader("world");
+    // Number of block changes in a single tick after which the whole chunk is sent instead
+    private static final int CHUNK_RESEND_THRESHOLD = Integer.getInteger("minestom.block-change-resend-threshold", 2048);
 
     // the shared instances assigned to this instance
     private final List<SharedInstance> sharedInstances = new CopyOnWriteArrayList<>();
@@ -64,6 +75,10 @@ public class InstanceContainer extends Instance {
     private final Lock changingBlockLock = new ReentrantLock();
     private final Map<Point, Block> currentlyChangingBlocks = new HashMap<>();
 
+    // (chunk index -> block changes) map, sent to the chunk viewers at the next tick
+    // guarded by the instance monitor
+    private Long2ObjectMap<BlockChanges> pendingBlockChanges = new Long2ObjectOpenHashMap<>();
+
     // the chunk loader, used when trying to load/save a chunk from another source
     private IChunkLoader chunkLoader;
 
@@ -73,6 +88,9 @@ public class InstanceContainer extends Instance {
     // used to supply a new chunk object at a position when requested
     private ChunkSupplier chunkSupplier;
 
+    // relights the LightingChunk of this instance
+    private final LightEngine lightEngine = new LightEngine(this);
+
     // Fields for instance copy
     protected InstanceContainer srcInstance; // only present if this instance has been created using a copy
     private long lastBlockChangeTime; // Time at which the last block change happened (#setBlock)
@@ -142,12 +160,14 @@ public class InstanceContainer extends Instance {
 
             // Refresh player chunk block
             {
-                chunk.sendPacketToViewers(new BlockChangePacket(blockPosition, block.stateId()));
+                final BlockChanges changes = pendingBlockChanges.computeIfAbsent(getChunkIndex(chunk), index -> new BlockChanges(chunk));
                 var registry = block.registry();
+                BlockEntityDataPacket blockEntity = null;
                 if (registry.isBlockEntity()) {
                     final NBTCompound data = BlockUtils.extractClientNbt(block);
-                    chunk.sendPacketToViewers(new BlockEntityDataPacket(blockPosition, registry.blockEntityId(), data));
+                    blockEntity = new BlockEntityDataPacket(blockPosition, registry.blockEntityId(), data);
                 }
+                changes.add(x, y, z, block.stateId(), blockEntity);
             }
 
             if (previousHandler != null) {
@@ -326,7 +346,10 @@ public class InstanceContainer extends Instance {
                                 final Point start = section.absoluteStart();
                                 final Chunk forkChunk = start.chunkX() == chunkX && start.chunkZ() == chunkZ ? chunk : getChunkAt(start);
                                 if (forkChunk != null) {
-                                    applyFork(forkChunk, sectionModifier);
+                                    synchronized (forkChunk) {
+                                        applyFork(forkChunk, sectionModifier);
+                                        forkChunk.refreshHeightmaps();
+                                    }
                                     // Update players
                                     if (forkChunk instanceof DynamicChunk dynamicChunk) {
                                         dynamicChunk.chunkCache.invalidate();
@@ -346,6 +369,10 @@ public class InstanceContainer extends Instance {
                     }
                     // Apply awaiting forks
                     processFork(chunk);
+                    // Palettes have been modified directly
+                    synchronized (chunk) {
+                        chunk.refreshHeightmaps();
+                    }
                 } catch (Throwable e) {
                     MinecraftServer.getExceptionManager().handleException(e);
                 } finally {
@@ -358,6 +385,9 @@ public class InstanceContainer extends Instance {
         } else {
             // No chunk generator, execute the callback with the empty chunk
             processFork(chunk);
+            synchronized (chunk) {
+                chunk.refreshHeightmaps();
+            }
             return CompletableFuture.completedFuture(chunk);
         }
     }
@@ -562,14 +592,72 @@ public class InstanceContainer extends Instance {
     }
 
     @Override
-    public void tick(long time) {
-        // Time/world border
-        super.tick(time);
+    public void serverTick(long time) {
         // Clear block change map
         Lock wrlock = this.changingBlockLock;
         wrlock.lock();
         this.currentlyChangingBlocks.clear();
         wrlock.unlock();
+        // Send the blocks changed since the last tick
+        sendBlockChanges();
+        // Send computed light
+        this.lightEngine.tick();
+    }
+
+    @Override
+    public void sendBlockChanges(@NotNull Point point) {
+        final BlockChanges changes;
+        synchronized (this) {
+            changes = pendingBlockChanges.remove(getChunkIndex(point));
+        }
+        if (changes != null) sendBlockChanges(changes);
+    }
+
+    private void sendBlockChanges() {
+        final Long2ObjectMap<BlockChanges> changes;
+        synchronized (this) {
+            if (pendingBlockChanges.isEmpty()) return;
+            changes = pendingBlockChanges;
+            this.pendingBlockChanges = new Long2ObjectOpenHashMap<>();
+        }
+        for (BlockChanges chunkChanges : changes.values()) {
+            sendBlockChanges(chunkChanges);
+        }
+    }
+
+    private static void sendBlockChanges(BlockChanges changes) {
+        final Chunk chunk = changes.chunk;
+        if (!chunk.isLoaded()) return;
+        if (changes.count > CHUNK_RESEND_THRESHOLD) {
+            // Cheaper to send the whole chunk, including its block entities
+            chunk.sendChunk();
+            return;
+        }
+        for (Int2ObjectMap.Entry<Short2IntLinkedOpenHashMap> entry : changes.sections.int2ObjectEntrySet()) {
+            final Short2IntLinkedOpenHashMap blocks = entry.getValue();
+            if (blocks.size() == 1) {
+                final short block = blocks.firstShortKey();
+                final Vec position = new Vec(chunk.getChunkX() * 16 + (block >> 8 & 0xF),
+                        entry.getIntKey() * 16 + (block & 0xF),
+                        chunk.getChunkZ() * 16 + (block >> 4 & 0xF));
+                chunk.sendPacketToViewers(new BlockChangePacket(position, blocks.get(block)));
+            } else {
+                long[] packed = new long[blocks.size()];
+                int i = 0;
+                for (Short2IntMap.Entry block : blocks.short2IntEntrySet()) {
+                    packed[i++] = (long) block.getIntValue() << 12 | block.getShortKey();
+                }
+                chunk.sendPacketToViewers(new MultiBlockChangePacket(chunk.getChunkX(), entry.getIntKey(),
+                        chunk.getChunkZ(), false, packed));
+            }
+        }
+        for (BlockEntityDataPacket packet : changes.blockEntities.values()) {
+            chunk.sendPacketToViewers(packet);
+        }
+    }
+
+    @NotNull LightEngine lightEngine() {
+        return lightEngine;
     }
 
     /**
@@ -632,7 +720,44 @@ public class InstanceContainer extends Instance {
 
     private void cacheChunk(@NotNull Chunk chunk) {
         this.chunks.put(getChunkIndex(chunk), chunk);
+        chunk.onLoad();
         var dispatcher = MinecraftServer.process().dispatcher();
         dispatcher.createPartition(chunk);
     }
+
+    /**
+     * Blocks changed in a chunk during the current tick, grouped by section.
+     * <p>
+     * Entries are encoded as {@code stateId << 12 | x << 8 | z << 4 | y} using section relative coordinates,
+     * the format of {@link MultiBlockChangePacket}.
+     */
+    private static final class BlockChanges {
+        private final Chunk chunk;
+        // Section Y -> last state of each changed position (x << 8 | z << 4 | y)
+        private final Int2ObjectMap<Short2IntLinkedOpenHashMap> sections = new Int2ObjectOpenHashMap<>();
+        // Block position (y << 8 | x << 4 | z) -> last block entity data
+        private final Long2ObjectMap<BlockEntityDataPacket> blockEntities = new Long2ObjectLinkedOpenHashMap<>();
+        // Number of distinct changed positions
+        private int count;
+
+        private BlockChanges(Chunk chunk) {
+            this.chunk = chunk;
+        }
+
+        private void add(int x, int y, int z, int stateId, @Nullable BlockEntityDataPacket blockEntity) {
+            final int sectionX = toSectionRelativeCoordinate(x), sectionZ = toSectionRelativeCoordinate(z);
+            final Short2IntLinkedOpenHashMap blocks = sections.computeIfAbsent(getChunkCoordinate(y),
+                    section -> new Short2IntLinkedOpenHashMap());
+            final short position = (short) (sectionX << 8 | sectionZ << 4 | toSectionRelativeCoordinate(y));
+            if (!blocks.containsKey(position)) this.count++;
+            blocks.put(position, stateId);
+            // Data of a replaced block entity is outdated
+            final long blockPosition = (long) y << 8 | sectionX << 4 | sectionZ;
+            if (blockEntity != null) {
+                this.blockEntities.put(blockPosition, blockEntity);
+            } else {
+                this.blockEntities.remove(blockPosition);
+            }
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+import static net.minestom.server.utils.chunk.ChunkUtils.toSectionRelativeCoordinate;
+
+/**
+ * A {@link DynamicChunk} whose block and sky light are computed by the server.
+ * <p>
+ * Light is updated asynchronously around every block change affecting it (light emission or opacity),
+ * and sent to the viewers at most once per tick.
+ * Enable it using {@code instanceContainer.setChunkSupplier(LightingChunk::new)}.
+ */
+public class LightingChunk extends DynamicChunk {
+
+    public LightingChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        super(instance, chunkX, chunkZ);
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, @NotNull Block block) {
+        final int previousState = getSectionAt(y).blockPalette()
+                .get(toSectionRelativeCoordinate(x), toSectionRelativeCoordinate(y), toSectionRelativeCoordinate(z));
+        super.setBlock(x, y, z, block);
+        final int state = block.stateId();
+        if (StateFlags.lightEmission(previousState) != StateFlags.lightEmission(state) ||
+                StateFlags.lightOpacity(previousState) != StateFlags.lightOpacity(state)) {
+            if (instance instanceof InstanceContainer instanceContainer) {
+                instanceContainer.lightEngine().update(this, x, y, z);
+            }
+        }
+    }
+
+    @Override
+    public void refreshHeightmaps() {
+        super.refreshHeightmaps();
+        // Sections have been modified directly
+        invalidateLighting();
+    }
+
+    @Override
+    public @NotNull Chunk copy(@NotNull Instance instance, int chunkX, int chunkZ) {
+        LightingChunk lightingChunk = new LightingChunk(instance, chunkX, chunkZ);
+        lightingChunk.sections = sections.stream().map(Section::clone).toList();
+        lightingChunk.heightmaps = Arrays.stream(heightmaps).map(Heightmap::clone).toArray(Heightmap[]::new);
+        lightingChunk.entries.putAll(entries);
+        return lightingChunk;
+    }
+
+    /**
+     * Invalidates the cached light and sends it to the chunk viewers.
+     */
+    public void sendLighting() {
+        this.chunkCache.invalidate();
+        this.lightCache.invalidate();
+        if (!isLoaded()) return;
+        sendPacketToViewers(lightCache);
+    }
+
+    @Override
+    protected void onLoad() {
+        invalidateLighting();
+    }
+
+    private void invalidateLighting() {
+        if (instance instanceof InstanceContainer instanceContainer) {
+            instanceContainer.lightEngine().invalidate(this);
+        }
+    }
+}
@@ -40,6 +40,11 @@ public class SharedInstance extends Instance {
         return instanceContainer.breakBlock(player, blockPosition, blockFace);
     }
 
+    @Override
+    public void sendBlockChanges(@NotNull Point point) {
+        instanceContainer.sendBlockChanges(point);
+    }
+
     @Override
     public @NotNull CompletableFuture<Chunk> loadChunk(int chunkX, int chunkZ) {
         return instanceContainer.loadChunk(chunkX, chunkZ);
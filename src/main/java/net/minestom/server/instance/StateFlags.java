@@ -0,0 +1,81 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.registry.Registry;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Per block state properties used by heightmaps and lighting,
+ * computed once to avoid registry and property lookups in hot paths.
+ */
+@ApiStatus.Internal
+public final class StateFlags {
+    private static final int MAX_LIGHT = 15;
+    // Block state -> heightmap types mask (4 bits), light emission (4 bits) and light opacity (4 bits)
+    private static final short[] FLAGS;
+
+    static {
+        int maxStateId = 0;
+        for (Block block : Block.values()) {
+            for (Block state : block.possibleStates()) {
+                maxStateId = Math.max(maxStateId, state.stateId());
+            }
+        }
+        short[] flags = new short[maxStateId + 1];
+        for (Block block : Block.values()) {
+            for (Block state : block.possibleStates()) {
+                flags[state.stateId()] = compute(state);
+            }
+        }
+        FLAGS = flags;
+    }
+
+    private StateFlags() {
+    }
+
+    /**
+     * Gets the mask of the {@link Heightmap.Type heightmap types} considering a block state.
+     *
+     * @param stateId the block state id
+     * @return the mask of the heightmap types, indexed by ordinal
+     */
+    public static int heightmaps(int stateId) {
+        return get(stateId) & 0xF;
+    }
+
+    /**
+     * Gets the light emitted by a block state.
+     *
+     * @param stateId the block state id
+     * @return the light emission, from 0 to 15
+     * @see Registry.BlockEntry#lightEmission()
+     */
+    public static int lightEmission(int stateId) {
+        return get(stateId) >> 4 & 0xF;
+    }
+
+    /**
+     * Gets the light absorbed by a block state.
+     *
+     * @param stateId the block state id
+     * @return the light opacity, from 0 to 15
+     * @see Registry.BlockEntry#lightBlocked()
+     */
+    public static int lightOpacity(int stateId) {
+        return get(stateId) >> 8 & 0xF;
+    }
+
+    private static int get(int stateId) {
+        final short[] flags = FLAGS;
+        if (stateId >= 0 && stateId < flags.length) return flags[stateId];
+        final Block block = Block.fromStateId((short) stateId);
+        return block != null ? compute(block) : 0;
+    }
+
+    private static short compute(Block block) {
+        final Registry.BlockEntry registry = block.registry();
+        final int emission = Math.min(MAX_LIGHT, Math.max(0, registry.lightEmission()));
+        final int opacity = Math.min(MAX_LIGHT, Math.max(0, registry.lightBlocked()));
+        return (short) (Heightmap.Type.computeFlags(block) | emission << 4 | opacity << 8);
+    }
+}
@@ -0,0 +1,540 @@
+package net.minestom.server.instance.light;
+
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Section;
+import net.minestom.server.instance.StateFlags;
+import net.minestom.server.instance.palette.Palette;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static net.minestom.server.utils.chunk.ChunkUtils.*;
+
+/**
+ * Flood-fill light propagation working on immutable chunk snapshots.
+ * <p>
+ * Light loses one level per block, or the light opacity of the block it enters if higher.
+ * The light of a chunk only depends on the blocks within 15 blocks of it,
+ * meaning that it can be computed exactly from a 3x3 chunks window without any border information.
+ * Chunks can therefore be relit independently and in parallel.
+ * <p>
+ * Block changes are applied with {@link #update(Long2ObjectMap, long[], int, boolean)},
+ * only relighting the blocks they can reach.
+ */
+final class LightCompute {
+    static final byte[] EMPTY = new byte[0];
+
+    private static final int SECTION_VOLUME = Chunk.CHUNK_SIZE_X * Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SIZE_Z;
+    private static final int LIGHT_ARRAY_SIZE = SECTION_VOLUME / 2;
+    private static final int MAX_LEVEL = 15;
+
+    private static final int WINDOW = Chunk.CHUNK_SIZE_X * 3;
+    private static final int LAYER = WINDOW * WINDOW;
+    // Window coordinate -> distance to the center chunk
+    private static final int[] DISTANCES = new int[WINDOW];
+
+    static {
+        for (int i = 0; i < WINDOW; i++) {
+            DISTANCES[i] = Math.max(0, Math.max(Chunk.CHUNK_SIZE_X - i, i - (Chunk.CHUNK_SIZE_X * 2 - 1)));
+        }
+    }
+
+    /**
+     * The data required to light a chunk and its neighbours.
+     *
+     * @param properties per section light properties of each block ({@code opacity << 4 | emission}),
+     *                   null if the section has none
+     * @param emitters   packed light sources, see {@link #packEmitter(int, int, int, int)}
+     * @param skyHeights per column Y (relative to the chunk bottom) above the highest block with a light opacity
+     */
+    record ChunkInput(byte[][] properties, int[] emitters, int[] skyHeights) {
+    }
+
+    /**
+     * Computed light nibble arrays for each section of a chunk, {@link #EMPTY} when a section is completely dark.
+     *
+     * @param skyLight   the sky light per section, null if the dimension has no sky light
+     * @param blockLight the block light per section
+     */
+    record Result(byte[][] skyLight, byte[][] blockLight) {
+    }
+
+    /**
+     * A loaded chunk being updated by {@link #update(Long2ObjectMap, long[], int, boolean)}.
+     *
+     * @param input the chunk data, including the changed blocks
+     * @param light the light nibble arrays per section, modified in place ({@link #EMPTY} arrays are replaced)
+     */
+    record ChunkLight(ChunkInput input, byte[][] light) {
+    }
+
+    /**
+     * Extracts the light-related data of a chunk.
+     * <p>
+     * WARNING: the chunk must be locked.
+     *
+     * @param chunk the chunk to snapshot
+     * @return the chunk light input
+     */
+    static @NotNull ChunkInput snapshot(@NotNull Chunk chunk) {
+        final List<Section> sections = chunk.getSections();
+        final int sectionCount = sections.size();
+        byte[][] properties = new byte[sectionCount][];
+        IntArrayList emitters = new IntArrayList();
+        for (int i = 0; i < sectionCount; i++) {
+            final Palette palette = sections.get(i).blockPalette();
+            if (palette.count() == 0) continue;
+            final int section = i;
+            final int offsetY = i * Chunk.CHUNK_SECTION_SIZE;
+            palette.getAll((x, y, z, value) -> {
+                if (value == 0) return;
+                final int emission = StateFlags.lightEmission(value);
+                final int opacity = StateFlags.lightOpacity(value);
+                if ((emission | opacity) == 0) return;
+                byte[] cells = properties[section];
+                if (cells == null) cells = properties[section] = new byte[SECTION_VOLUME];
+                cells[sectionIndex(x, y, z)] = (byte) (opacity << 4 | emission);
+                if (emission > 0) emitters.add(packEmitter(x, offsetY + y, z, emission));
+            });
+        }
+        // Sky heights
+        int[] skyHeights = new int[Chunk.CHUNK_SIZE_X * Chunk.CHUNK_SIZE_Z];
+        final int height = sectionCount * Chunk.CHUNK_SECTION_SIZE;
+        for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+            for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                skyHeights[z << 4 | x] = findSkyHeight(properties, x, height, z);
+            }
+        }
+        return new ChunkInput(properties, emitters.toIntArray(), skyHeights);
+    }
+
+    /**
+     * Computes the light of the center chunk of a 3x3 window.
+     *
+     * @param window       the chunks inputs indexed by {@code (dz + 1) * 3 + (dx + 1)}, null for unloaded chunks
+     * @param sectionCount the number of sections per chunk
+     * @param skyLight     true to compute sky light
+     * @return the light of the center chunk
+     */
+    static @NotNull Result compute(@Nullable ChunkInput @NotNull [] window, int sectionCount, boolean skyLight) {
+        assert window.length == 9 && window[4] != null;
+        final byte[][] sky = skyLight ? computeSkyLight(window, sectionCount) : null;
+        final byte[][] block = computeBlockLight(window, sectionCount);
+        return new Result(sky, block);
+    }
+
+
+    /**
+     * Relights the blocks which can be reached by block changes.
+     * <p>
+     * Every block within 15 blocks of a change (and for sky light, of the part of its column exposed or covered)
+     * is reset to its own light and flooded again from the unchanged blocks around,
+     * giving the same result as a complete computation as long as the previous light was up-to-date.
+     *
+     * @param chunks       the loaded chunks around the changes, by chunk index
+     * @param changes      the changed blocks, see {@link #packPosition(int, int, int)}
+     * @param sectionCount the number of sections per chunk
+     * @param skyLight     true if the updated light is sky light, false for block light
+     */
+    static void update(@NotNull Long2ObjectMap<ChunkLight> chunks, long @NotNull [] changes,
+                       int sectionCount, boolean skyLight) {
+        final int height = sectionCount * Chunk.CHUNK_SECTION_SIZE;
+        // Light is gone after 15 blocks
+        final int range = MAX_LEVEL - 1;
+        // Chunk index -> bitset of the blocks to relight
+        Long2ObjectMap<long[]> marks = new Long2ObjectOpenHashMap<>();
+        for (long change : changes) {
+            final int x = positionX(change), y = positionY(change), z = positionZ(change);
+            int lowY = y;
+            if (skyLight) {
+                // Blocks down to the next light-absorbing block may have been exposed or covered
+                final ChunkLight chunk = chunks.get(getChunkIndex(x >> 4, z >> 4));
+                if (chunk != null) lowY = findSkyHeight(chunk.input().properties(), x & 0xF, y, z & 0xF);
+            }
+            final int minY = Math.max(0, lowY - range), maxY = Math.min(height - 1, y + range);
+            for (int chunkX = (x - range) >> 4; chunkX <= (x + range) >> 4; chunkX++) {
+                for (int chunkZ = (z - range) >> 4; chunkZ <= (z + range) >> 4; chunkZ++) {
+                    final long chunkIndex = getChunkIndex(chunkX, chunkZ);
+                    if (!chunks.containsKey(chunkIndex)) continue;
+                    long[] mask = marks.get(chunkIndex);
+                    if (mask == null) {
+                        mask = new long[sectionCount * SECTION_VOLUME / Long.SIZE];
+                        marks.put(chunkIndex, mask);
+                    }
+                    final int baseX = chunkX << 4, baseZ = chunkZ << 4;
+                    final int startX = Math.max(x - range, baseX) - baseX, endX = Math.min(x + range, baseX + 15) - baseX;
+                    final int startZ = Math.max(z - range, baseZ) - baseZ, endZ = Math.min(z + range, baseZ + 15) - baseZ;
+                    for (int cellY = minY; cellY <= maxY; cellY++) {
+                        for (int cellZ = startZ; cellZ <= endZ; cellZ++) {
+                            for (int cellX = startX; cellX <= endX; cellX++) {
+                                final int cell = blockIndex(cellX, cellY, cellZ);
+                                mask[cell >>> 6] |= 1L << cell;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        for (Long2ObjectMap.Entry<long[]> entry : marks.long2ObjectEntrySet()) {
+            final long chunkIndex = entry.getLongKey();
+            final ChunkLight chunk = chunks.get(chunkIndex);
+            final long[] mask = entry.getValue();
+            final int baseX = getChunkCoordX(chunkIndex) << 4, baseZ = getChunkCoordZ(chunkIndex) << 4;
+            for (int word = 0; word < mask.length; word++) {
+                long value = mask[word];
+                while (value != 0) {
+                    final int cell = word << 6 | Long.numberOfTrailingZeros(value);
+                    value &= value - 1;
+                    final int x = cell & 0xF, y = cell >> 8, z = cell >> 4 & 0xF;
+                    final int level = skyLight ?
+                            (y >= chunk.input().skyHeights()[z << 4 | x] ? MAX_LEVEL : 0) :
+                            properties(chunk.input(), cell) & 0xF;
+                    setLevel(chunk.light(), cell, level);
+                    if (level > 1) queue.enqueue(packPosition(baseX + x, y, baseZ + z));
+                    // Light coming from the unchanged blocks around
+                    seed(chunks, marks, queue, baseX + x - 1, y, baseZ + z, height);
+                    seed(chunks, marks, queue, baseX + x + 1, y, baseZ + z, height);
+                    seed(chunks, marks, queue, baseX + x, y, baseZ + z - 1, height);
+                    seed(chunks, marks, queue, baseX + x, y, baseZ + z + 1, height);
+                    seed(chunks, marks, queue, baseX + x, y - 1, baseZ + z, height);
+                    seed(chunks, marks, queue, baseX + x, y + 1, baseZ + z, height);
+                }
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            final long position = queue.dequeueLong();
+            final int x = positionX(position), y = positionY(position), z = positionZ(position);
+            final ChunkLight chunk = chunks.get(getChunkIndex(x >> 4, z >> 4));
+            final int level = getLevel(chunk.light(), blockIndex(x & 0xF, y, z & 0xF));
+            if (level <= 1) continue;
+            spreadMarked(chunks, marks, queue, x - 1, y, z, level);
+            spreadMarked(chunks, marks, queue, x + 1, y, z, level);
+            spreadMarked(chunks, marks, queue, x, y, z - 1, level);
+            spreadMarked(chunks, marks, queue, x, y, z + 1, level);
+            if (y > 0) spreadMarked(chunks, marks, queue, x, y - 1, z, level);
+            if (y < height - 1) spreadMarked(chunks, marks, queue, x, y + 1, z, level);
+        }
+
+        for (long chunkIndex : marks.keySet()) {
+            final byte[][] light = chunks.get(chunkIndex).light();
+            for (int i = 0; i < light.length; i++) {
+                if (isDark(light[i])) light[i] = EMPTY;
+            }
+        }
+    }
+
+    /**
+     * Packs a block position for {@link #update(Long2ObjectMap, long[], int, boolean)}.
+     *
+     * @param x the block X
+     * @param y the block Y, relative to the chunk bottom
+     * @param z the block Z
+     * @return the packed position
+     */
+    static long packPosition(int x, int y, int z) {
+        return (long) x << 38 | ((long) z & 0x3FFFFFF) << 12 | y;
+    }
+
+    static int positionX(long position) {
+        return (int) (position >> 38);
+    }
+
+    static int positionY(long position) {
+        return (int) (position & 0xFFF);
+    }
+
+    static int positionZ(long position) {
+        return (int) (position << 26 >> 38);
+    }
+
+    private static byte[][] computeBlockLight(ChunkInput[] window, int sectionCount) {
+        final int height = sectionCount * Chunk.CHUNK_SECTION_SIZE;
+        // Find the sources able to reach the center chunk
+        IntArrayList sources = new IntArrayList();
+        int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < window.length; i++) {
+            final ChunkInput input = window[i];
+            if (input == null) continue;
+            final int offsetX = (i % 3) * Chunk.CHUNK_SIZE_X;
+            final int offsetZ = (i / 3) * Chunk.CHUNK_SIZE_Z;
+            for (int emitter : input.emitters()) {
+                final int level = emitter & 0xF;
+                final int x = offsetX + (emitter >> 4 & 0xF);
+                final int z = offsetZ + (emitter >> 8 & 0xF);
+                final int y = emitter >>> 12;
+                if (DISTANCES[x] + DISTANCES[z] >= level) continue;
+                sources.add(y << 16 | z << 10 | x << 4 | level);
+                minY = Math.min(minY, y);
+                maxY = Math.max(maxY, y);
+            }
+        }
+        if (sources.isEmpty()) return emptyArrays(sectionCount);
+
+        final int startY = Math.max(0, minY - (MAX_LEVEL - 1));
+        final int endY = Math.min(height, maxY + MAX_LEVEL);
+        final byte[] opacity = prepareOpacity(window, startY, endY);
+        byte[] levels = new byte[opacity.length];
+        IntArrayFIFOQueue queue = new IntArrayFIFOQueue();
+        for (int i = 0; i < sources.size(); i++) {
+            final int source = sources.getInt(i);
+            final int index = windowIndex(source >> 4 & 0x3F, (source >>> 16) - startY, source >> 10 & 0x3F);
+            final int level = source & 0xF;
+            if (levels[index] < level) levels[index] = (byte) level;
+            queue.enqueue(index);
+        }
+        propagate(levels, opacity, queue, endY - startY);
+        return extract(levels, sectionCount, startY, endY, 0);
+    }
+
+    private static byte[][] computeSkyLight(ChunkInput[] window, int sectionCount) {
+        // Every column is exposed to the sky above the highest light-absorbing block of the window
+        int maxHeight = 0;
+        for (ChunkInput input : window) {
+            if (input == null) continue;
+            for (int skyHeight : input.skyHeights()) maxHeight = Math.max(maxHeight, skyHeight);
+        }
+        if (maxHeight == 0) return fullArrays(sectionCount);
+        // Include the layer above to let the light go through the highest blocks
+        final int endY = Math.min(sectionCount * Chunk.CHUNK_SECTION_SIZE, maxHeight + 1);
+
+        final byte[] opacity = prepareOpacity(window, 0, endY);
+        byte[] levels = new byte[opacity.length];
+        IntArrayFIFOQueue queue = new IntArrayFIFOQueue();
+        for (int i = 0; i < window.length; i++) {
+            final ChunkInput input = window[i];
+            if (input == null) continue;
+            final int offsetX = (i % 3) * Chunk.CHUNK_SIZE_X;
+            final int offsetZ = (i / 3) * Chunk.CHUNK_SIZE_Z;
+            for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+                for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                    final int windowX = offsetX + x;
+                    final int windowZ = offsetZ + z;
+                    final int skyHeight = input.skyHeights()[z << 4 | x];
+                    for (int y = skyHeight; y < endY; y++) {
+                        levels[windowIndex(windowX, y, windowZ)] = MAX_LEVEL;
+                    }
+                    // Only the lowest exposed cell and the cells next to a darker column can spread light
+                    final int neighbourHeight = Math.max(
+                            Math.max(skyHeight(window, windowX - 1, windowZ), skyHeight(window, windowX + 1, windowZ)),
+                            Math.max(skyHeight(window, windowX, windowZ - 1), skyHeight(window, windowX, windowZ + 1)));
+                    final int seedEnd = DISTANCES[windowX] + DISTANCES[windowZ] < MAX_LEVEL ?
+                            Math.min(endY, Math.max(skyHeight + 1, neighbourHeight)) : skyHeight;
+                    for (int y = skyHeight; y < seedEnd; y++) {
+                        queue.enqueue(windowIndex(windowX, y, windowZ));
+                    }
+                }
+            }
+        }
+        propagate(levels, opacity, queue, endY);
+        return extract(levels, sectionCount, 0, endY, MAX_LEVEL);
+    }
+
+    private static byte[] prepareOpacity(ChunkInput[] window, int startY, int endY) {
+        final int layers = endY - startY;
+        byte[] opacity = new byte[LAYER * layers];
+        for (int i = 0; i < window.length; i++) {
+            final int offsetX = (i % 3) * Chunk.CHUNK_SIZE_X;
+            final int offsetZ = (i / 3) * Chunk.CHUNK_SIZE_Z;
+            final ChunkInput input = window[i];
+            if (input == null) {
+                // Light does not go through unloaded chunks
+                for (int y = 0; y < layers; y++) {
+                    for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+                        final int index = windowIndex(offsetX, y, offsetZ + z);
+                        Arrays.fill(opacity, index, index + Chunk.CHUNK_SIZE_X, (byte) MAX_LEVEL);
+                    }
+                }
+                continue;
+            }
+            final byte[][] properties = input.properties();
+            final int firstSection = startY / Chunk.CHUNK_SECTION_SIZE;
+            final int lastSection = (endY - 1) / Chunk.CHUNK_SECTION_SIZE;
+            for (int section = firstSection; section <= lastSection; section++) {
+                final byte[] cells = properties[section];
+                if (cells == null) continue;
+                final int sectionY = section * Chunk.CHUNK_SECTION_SIZE;
+                final int fromY = Math.max(startY, sectionY), toY = Math.min(endY, sectionY + Chunk.CHUNK_SECTION_SIZE);
+                for (int y = fromY; y < toY; y++) {
+                    for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+                        for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                            final int value = cells[sectionIndex(x, y - sectionY, z)] >> 4 & 0xF;
+                            if (value != 0) opacity[windowIndex(offsetX + x, y - startY, offsetZ + z)] = (byte) value;
+                        }
+                    }
+                }
+            }
+        }
+        return opacity;
+    }
+
+    private static void propagate(byte[] levels, byte[] opacity, IntArrayFIFOQueue queue, int layers) {
+        while (!queue.isEmpty()) {
+            final int index = queue.dequeueInt();
+            final int level = levels[index];
+            if (level <= 1) continue;
+            final int x = index % WINDOW;
+            final int z = (index / WINDOW) % WINDOW;
+            final int y = index / LAYER;
+            // Light unable to reach the center chunk does not need to be propagated
+            final int distance = DISTANCES[x] + DISTANCES[z];
+            if (x > 0) spread(levels, opacity, queue, index - 1, level, DISTANCES[x - 1] + DISTANCES[z]);
+            if (x < WINDOW - 1) spread(levels, opacity, queue, index + 1, level, DISTANCES[x + 1] + DISTANCES[z]);
+            if (z > 0) spread(levels, opacity, queue, index - WINDOW, level, DISTANCES[x] + DISTANCES[z - 1]);
+            if (z < WINDOW - 1) spread(levels, opacity, queue, index + WINDOW, level, DISTANCES[x] + DISTANCES[z + 1]);
+            if (y > 0) spread(levels, opacity, queue, index - LAYER, level, distance);
+            if (y < layers - 1) spread(levels, opacity, queue, index + LAYER, level, distance);
+        }
+    }
+
+    private static void spread(byte[] levels, byte[] opacity, IntArrayFIFOQueue queue,
+                               int index, int level, int distance) {
+        final int next = level - Math.max(1, opacity[index]);
+        if (next > distance && levels[index] < next) {
+            levels[index] = (byte) next;
+            queue.enqueue(index);
+        }
+    }
+
+    private static void spreadMarked(Long2ObjectMap<ChunkLight> chunks, Long2ObjectMap<long[]> marks,
+                                     LongArrayFIFOQueue queue, int x, int y, int z, int level) {
+        final long chunkIndex = getChunkIndex(x >> 4, z >> 4);
+        final long[] mask = marks.get(chunkIndex);
+        final int cell = blockIndex(x & 0xF, y, z & 0xF);
+        // Only the relit blocks can change
+        if (mask == null || (mask[cell >>> 6] & 1L << cell) == 0) return;
+        final ChunkLight chunk = chunks.get(chunkIndex);
+        final int next = level - Math.max(1, properties(chunk.input(), cell) >> 4);
+        if (getLevel(chunk.light(), cell) < next) {
+            setLevel(chunk.light(), cell, next);
+            queue.enqueue(packPosition(x, y, z));
+        }
+    }
+
+    private static void seed(Long2ObjectMap<ChunkLight> chunks, Long2ObjectMap<long[]> marks,
+                             LongArrayFIFOQueue queue, int x, int y, int z, int height) {
+        if (y < 0 || y >= height) return;
+        final long chunkIndex = getChunkIndex(x >> 4, z >> 4);
+        final ChunkLight chunk = chunks.get(chunkIndex);
+        if (chunk == null) return;
+        final long[] mask = marks.get(chunkIndex);
+        final int cell = blockIndex(x & 0xF, y, z & 0xF);
+        if (mask != null && (mask[cell >>> 6] & 1L << cell) != 0) return;
+        if (getLevel(chunk.light(), cell) > 1) queue.enqueue(packPosition(x, y, z));
+    }
+
+    private static byte[][] extract(byte[] levels, int sectionCount, int startY, int endY, int outsideLevel) {
+        byte[][] result = new byte[sectionCount][];
+        for (int section = 0; section < sectionCount; section++) {
+            final int sectionY = section * Chunk.CHUNK_SECTION_SIZE;
+            byte[] array = new byte[LIGHT_ARRAY_SIZE];
+            boolean empty = true;
+            for (int y = 0; y < Chunk.CHUNK_SECTION_SIZE; y++) {
+                final int levelY = sectionY + y;
+                final boolean inside = levelY >= startY && levelY < endY;
+                for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+                    for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                        final int level = inside ?
+                                levels[windowIndex(Chunk.CHUNK_SIZE_X + x, levelY - startY, Chunk.CHUNK_SIZE_Z + z)] :
+                                outsideLevel;
+                        if (level == 0) continue;
+                        final int index = sectionIndex(x, y, z);
+                        array[index >> 1] |= (byte) (level << ((index & 1) << 2));
+                        empty = false;
+                    }
+                }
+            }
+            result[section] = empty ? EMPTY : array;
+        }
+        return result;
+    }
+
+    private static int skyHeight(ChunkInput[] window, int windowX, int windowZ) {
+        if (windowX < 0 || windowX >= WINDOW || windowZ < 0 || windowZ >= WINDOW) return 0;
+        final ChunkInput input = window[(windowZ >> 4) * 3 + (windowX >> 4)];
+        if (input == null) return 0;
+        return input.skyHeights()[(windowZ & 0xF) << 4 | (windowX & 0xF)];
+    }
+
+    /**
+     * Finds the Y above the highest light-absorbing block of a column under {@code startY}.
+     */
+    private static int findSkyHeight(byte[][] properties, int x, int startY, int z) {
+        for (int y = startY - 1; y >= 0; y--) {
+            final byte[] cells = properties[y >> 4];
+            if (cells == null) {
+                // Skip the section
+                y &= ~0xF;
+                continue;
+            }
+            if ((cells[sectionIndex(x, y & 0xF, z)] & 0xF0) != 0) return y + 1;
+        }
+        return 0;
+    }
+
+    private static int properties(ChunkInput input, int blockIndex) {
+        final byte[] cells = input.properties()[blockIndex >> 12];
+        return cells != null ? cells[blockIndex & 0xFFF] & 0xFF : 0;
+    }
+
+    private static int getLevel(byte[][] light, int blockIndex) {
+        final byte[] array = light[blockIndex >> 12];
+        if (array.length == 0) return 0;
+        final int index = blockIndex & 0xFFF;
+        return array[index >> 1] >> ((index & 1) << 2) & 0xF;
+    }
+
+    private static void setLevel(byte[][] light, int blockIndex, int level) {
+        byte[] array = light[blockIndex >> 12];
+        if (array.length == 0) {
+            if (level == 0) return;
+            array = light[blockIndex >> 12] = new byte[LIGHT_ARRAY_SIZE];
+        }
+        final int index = blockIndex & 0xFFF;
+        final int shift = (index & 1) << 2;
+        array[index >> 1] = (byte) (array[index >> 1] & ~(0xF << shift) | level << shift);
+    }
+
+    private static boolean isDark(byte[] light) {
+        for (byte value : light) {
+            if (value != 0) return false;
+        }
+        return true;
+    }
+
+    private static byte[][] emptyArrays(int sectionCount) {
+        byte[][] result = new byte[sectionCount][];
+        for (int i = 0; i < sectionCount; i++) result[i] = EMPTY;
+        return result;
+    }
+
+    private static byte[][] fullArrays(int sectionCount) {
+        return extract(new byte[0], sectionCount, 0, 0, MAX_LEVEL);
+    }
+
+    private static int windowIndex(int x, int y, int z) {
+        return (y * WINDOW + z) * WINDOW + x;
+    }
+
+    private static int sectionIndex(int x, int y, int z) {
+        return y << 8 | z << 4 | x;
+    }
+
+    private static int blockIndex(int x, int y, int z) {
+        // Same layout as the sections, y being relative to the chunk bottom
+        return y << 8 | z << 4 | x;
+    }
+
+    private static int packEmitter(int x, int y, int z, int level) {
+        return y << 12 | z << 8 | x << 4 | level;
+    }
+}
@@ -0,0 +1,235 @@
+package net.minestom.server.instance.light;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.LightingChunk;
+import net.minestom.server.instance.Section;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Computes the block and sky light of the {@link LightingChunk lighting chunks} of an instance.
+ * <p>
+ * Changes are collected and relit in batches off the tick thread.
+ * Invalidated chunks are computed entirely and in parallel from a snapshot of their neighbours,
+ * block changes then only relight the blocks around them.
+ * Results are applied once per tick, sending at most one light update per chunk.
+ */
+@ApiStatus.Internal
+public final class LightEngine {
+    private final Instance instance;
+
+    private final Set<Chunk> invalidated = ConcurrentHashMap.newKeySet();
+    // Changed blocks, see LightCompute#packPosition
+    private final Set<Long> changes = ConcurrentHashMap.newKeySet();
+    private final Queue<ChunkResult> results = new ConcurrentLinkedQueue<>();
+    private volatile CompletableFuture<Void> pending;
+
+    public LightEngine(@NotNull Instance instance) {
+        this.instance = instance;
+    }
+
+    /**
+     * Marks the light of a chunk and its direct neighbours as outdated.
+     *
+     * @param chunk the modified chunk
+     */
+    public void invalidate(@NotNull Chunk chunk) {
+        this.invalidated.add(chunk);
+    }
+
+    /**
+     * Marks the light around a block as outdated, after a change of its light emission or opacity.
+     *
+     * @param chunk the chunk of the block
+     * @param x     the block X, can be absolute or chunk-relative
+     * @param y     the block Y
+     * @param z     the block Z, can be absolute or chunk-relative
+     */
+    public void update(@NotNull Chunk chunk, int x, int y, int z) {
+        final int bottom = chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE;
+        this.changes.add(LightCompute.packPosition(chunk.getChunkX() << 4 | (x & 0xF), y - bottom,
+                chunk.getChunkZ() << 4 | (z & 0xF)));
+    }
+
+    /**
+     * Applies the computed light and starts a new batch if the previous one has completed.
+     * <p>
+     * Should be called once per instance tick.
+     */
+    public void tick() {
+        // Checked first, a batch completing after the results are applied would wait for the next tick
+        final CompletableFuture<Void> pending = this.pending;
+        final boolean done = pending == null || pending.isDone();
+
+        ChunkResult result;
+        while ((result = results.poll()) != null) apply(result);
+
+        if (done) this.pending = relight();
+    }
+
+    /**
+     * Starts relighting every invalidated chunk and changed block.
+     *
+     * @return a future completed once the light has been computed, null if there is nothing to relight
+     */
+    private CompletableFuture<Void> relight() {
+        if (invalidated.isEmpty() && changes.isEmpty()) return null;
+        // Light changes can reach neighbour chunks
+        Set<Chunk> chunks = new HashSet<>();
+        LongSet invalidatedIndexes = new LongOpenHashSet();
+        for (Iterator<Chunk> iterator = invalidated.iterator(); iterator.hasNext(); ) {
+            final Chunk chunk = iterator.next();
+            iterator.remove();
+            if (!chunk.isLoaded()) continue;
+            invalidatedIndexes.add(ChunkUtils.getChunkIndex(chunk));
+            for (int x = -1; x <= 1; x++) {
+                for (int z = -1; z <= 1; z++) {
+                    final Chunk neighbour = instance.getChunk(chunk.getChunkX() + x, chunk.getChunkZ() + z);
+                    if (neighbour instanceof LightingChunk && neighbour.isLoaded()) chunks.add(neighbour);
+                }
+            }
+        }
+        // Blocks of the recomputed chunks are already covered
+        LongArrayList blockChanges = new LongArrayList();
+        for (Iterator<Long> iterator = changes.iterator(); iterator.hasNext(); ) {
+            final long change = iterator.next();
+            iterator.remove();
+            final long index = ChunkUtils.getChunkIndex(ChunkUtils.getChunkCoordinate(LightCompute.positionX(change)),
+                    ChunkUtils.getChunkCoordinate(LightCompute.positionZ(change)));
+            if (!invalidatedIndexes.contains(index)) blockChanges.add(change);
+        }
+        if (chunks.isEmpty() && blockChanges.isEmpty()) return null;
+
+        final boolean skyLight = instance.getDimensionType().isSkylightEnabled();
+        final int sectionCount = instance.getDimensionType().getHeight() / Chunk.CHUNK_SECTION_SIZE;
+        // Snapshots shared by every chunk of the batch
+        Map<Long, LightCompute.ChunkInput> inputs = new ConcurrentHashMap<>();
+        Map<Chunk, LightCompute.Result> computed = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] futures = new CompletableFuture[chunks.size()];
+        int i = 0;
+        for (Chunk chunk : chunks) {
+            futures[i++] = CompletableFuture.runAsync(() -> {
+                LightCompute.ChunkInput[] window = new LightCompute.ChunkInput[9];
+                for (int x = -1; x <= 1; x++) {
+                    for (int z = -1; z <= 1; z++) {
+                        final Chunk neighbour = instance.getChunk(chunk.getChunkX() + x, chunk.getChunkZ() + z);
+                        if (neighbour == null || !neighbour.isLoaded()) continue;
+                        window[(z + 1) * 3 + (x + 1)] = input(inputs, neighbour);
+                    }
+                }
+                computed.put(chunk, LightCompute.compute(window, sectionCount, skyLight));
+            }, ForkJoinPool.commonPool()).exceptionally(this::handleException);
+        }
+        // Block changes are applied on top of the recomputed chunks
+        return CompletableFuture.allOf(futures).thenRunAsync(() -> {
+            if (!blockChanges.isEmpty()) {
+                update(blockChanges.toLongArray(), inputs, computed, sectionCount, skyLight);
+            }
+            computed.forEach((chunk, light) -> results.add(new ChunkResult(chunk, light)));
+        }, ForkJoinPool.commonPool()).exceptionally(this::handleException);
+    }
+
+    private void update(long[] changes, Map<Long, LightCompute.ChunkInput> inputs,
+                        Map<Chunk, LightCompute.Result> computed, int sectionCount, boolean skyLight) {
+        // Light changes can reach neighbour chunks
+        Long2ObjectMap<Chunk> chunks = new Long2ObjectOpenHashMap<>();
+        for (long change : changes) {
+            final int chunkX = ChunkUtils.getChunkCoordinate(LightCompute.positionX(change));
+            final int chunkZ = ChunkUtils.getChunkCoordinate(LightCompute.positionZ(change));
+            for (int x = -1; x <= 1; x++) {
+                for (int z = -1; z <= 1; z++) {
+                    final Chunk neighbour = instance.getChunk(chunkX + x, chunkZ + z);
+                    if (neighbour instanceof LightingChunk && neighbour.isLoaded()) {
+                        chunks.put(ChunkUtils.getChunkIndex(neighbour), neighbour);
+                    }
+                }
+            }
+        }
+        if (chunks.isEmpty()) return;
+
+        Long2ObjectMap<LightCompute.ChunkLight> sky = new Long2ObjectOpenHashMap<>(chunks.size());
+        Long2ObjectMap<LightCompute.ChunkLight> block = new Long2ObjectOpenHashMap<>(chunks.size());
+        for (Long2ObjectMap.Entry<Chunk> entry : chunks.long2ObjectEntrySet()) {
+            final Chunk chunk = entry.getValue();
+            final LightCompute.ChunkInput input = input(inputs, chunk);
+            LightCompute.Result light = computed.get(chunk);
+            if (light == null) {
+                // Copy the current light, updated in place
+                byte[][] skyLightArrays = skyLight ? new byte[sectionCount][] : null;
+                byte[][] blockLightArrays = new byte[sectionCount][];
+                synchronized (chunk) {
+                    final List<Section> sections = chunk.getSections();
+                    for (int i = 0; i < sectionCount; i++) {
+                        final Section section = sections.get(i);
+                        if (skyLight) skyLightArrays[i] = section.getSkyLight().clone();
+                        blockLightArrays[i] = section.getBlockLight().clone();
+                    }
+                }
+                light = new LightCompute.Result(skyLightArrays, blockLightArrays);
+                computed.put(chunk, light);
+            }
+            if (skyLight) sky.put(entry.getLongKey(), new LightCompute.ChunkLight(input, light.skyLight()));
+            block.put(entry.getLongKey(), new LightCompute.ChunkLight(input, light.blockLight()));
+        }
+        if (skyLight) LightCompute.update(sky, changes, sectionCount, true);
+        LightCompute.update(block, changes, sectionCount, false);
+    }
+
+    private LightCompute.ChunkInput input(Map<Long, LightCompute.ChunkInput> inputs, Chunk chunk) {
+        return inputs.computeIfAbsent(ChunkUtils.getChunkIndex(chunk), index -> {
+            synchronized (chunk) {
+                return LightCompute.snapshot(chunk);
+            }
+        });
+    }
+
+    private Void handleException(Throwable throwable) {
+        MinecraftServer.getExceptionManager().handleException(throwable);
+        return null;
+    }
+
+    private void apply(ChunkResult result) {
+        final Chunk chunk = result.chunk();
+        if (!chunk.isLoaded()) return;
+        final LightCompute.Result light = result.light();
+        boolean changed = false;
+        synchronized (chunk) {
+            final List<Section> sections = chunk.getSections();
+            for (int i = 0; i < sections.size(); i++) {
+                final Section section = sections.get(i);
+                if (light.skyLight() != null) {
+                    final byte[] skyLight = light.skyLight()[i];
+                    if (!Arrays.equals(section.getSkyLight(), skyLight)) {
+                        section.setSkyLight(skyLight);
+                        changed = true;
+                    }
+                }
+                final byte[] blockLight = light.blockLight()[i];
+                if (!Arrays.equals(section.getBlockLight(), blockLight)) {
+                    section.setBlockLight(blockLight);
+                    changed = true;
+                }
+            }
+        }
+        if (changed && chunk instanceof LightingChunk lightingChunk) {
+            lightingChunk.sendLighting();
+        }
+    }
+
+    private record ChunkResult(Chunk chunk, LightCompute.Result light) {
+    }
+}
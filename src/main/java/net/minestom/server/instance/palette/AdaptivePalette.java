@@ -61,6 +61,22 @@ final class AdaptivePalette implements Palette, Cloneable {
         this.palette = newPalette;
     }
 
+    @Override
+    public void setAll(int @NotNull [] palette, int @NotNull [] indices) {
+        if (indices.length != maxSize()) {
+            throw new IllegalArgumentException("Expected " + maxSize() + " indices, got " + indices.length);
+        }
+        if (palette.length == 1) {
+            fill(palette[0]);
+            return;
+        }
+        // Large enough to never resize while loading, including the empty value
+        final int bitsPerEntry = Math.max(defaultBitsPerEntry, MathUtils.bitsToRepresent(palette.length));
+        SpecializedPalette newPalette = new FlexiblePalette(this, (byte) (bitsPerEntry > maxBitsPerEntry ? 15 : bitsPerEntry));
+        newPalette.setAll(palette, indices);
+        this.palette = newPalette;
+    }
+
     @Override
     public void replace(int x, int y, int z, @NotNull IntUnaryOperator operator) {
         if (x < 0 || y < 0 || z < 0) {
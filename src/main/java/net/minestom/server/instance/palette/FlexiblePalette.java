@@ -148,6 +148,22 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         }
     }
 
+    @Override
+    public void setAll(int @NotNull [] palette, int @NotNull [] indices) {
+        int[] remap = new int[palette.length];
+        for (int i = 0; i < palette.length; i++) remap[i] = getPaletteIndex(palette[i]);
+        int[] cache = WRITE_CACHE.get();
+        final int size = maxSize();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final int value = remap[indices[i]];
+            if (value != 0) count++;
+            cache[i] = value;
+        }
+        updateAll(cache);
+        this.count = count;
+    }
+
     @Override
     public void replace(int x, int y, int z, @NotNull IntUnaryOperator operator) {
         final int oldValue = get(x, y, z);
@@ -35,6 +35,15 @@ public interface Palette extends NetworkBuffer.Writer {
 
     void setAll(@NotNull EntrySupplier supplier);
 
+    /**
+     * Replaces every entry from a list of values and the index of each entry in that list,
+     * as stored by the Anvil format.
+     *
+     * @param palette the values, may contain duplicates
+     * @param indices the index in {@code palette} of each entry, ordered by y, z, then x
+     */
+    void setAll(int @NotNull [] palette, int @NotNull [] indices);
+
     void replace(int x, int y, int z, @NotNull IntUnaryOperator operator);
 
     void replaceAll(@NotNull EntryFunction function);
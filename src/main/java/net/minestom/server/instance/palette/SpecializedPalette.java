@@ -34,6 +34,11 @@ interface SpecializedPalette extends Palette {
             throw new UnsupportedOperationException();
         }
 
+        @Override
+        default void setAll(int @NotNull [] palette, int @NotNull [] indices) {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         default void replace(int x, int y, int z, @NotNull IntUnaryOperator operator) {
             throw new UnsupportedOperationException();
@@ -142,10 +142,11 @@ public class BlockPlacementListener {
             refresh(player, chunk);
             return;
         }
-        // Place the block
-        player.sendPacket(new AcknowledgeBlockChangePacket(packet.sequence()));
+        // Place the block, the client must receive it before the acknowledgement
         instance.placeBlock(new BlockHandler.PlayerPlacement(resultBlock, instance, placementPosition, player, hand, blockFace,
                 packet.cursorPositionX(), packet.cursorPositionY(), packet.cursorPositionZ()));
+        instance.sendBlockChanges(placementPosition);
+        player.sendPacket(new AcknowledgeBlockChangePacket(packet.sequence()));
         // Block consuming
         if (playerBlockPlaceEvent.doesConsumeBlock()) {
             // Consume the block in the player's hand
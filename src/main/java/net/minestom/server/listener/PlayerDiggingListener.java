@@ -48,6 +48,7 @@ public final class PlayerDiggingListener {
         }
         // Acknowledge start/cancel/finish digging status
         if (diggingResult != null) {
+            instance.sendBlockChanges(blockPosition);
             player.sendPacket(new AcknowledgeBlockChangePacket(packet.sequence()));
         }
     }
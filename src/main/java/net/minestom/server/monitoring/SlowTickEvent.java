@@ -0,0 +1,24 @@
+package net.minestom.server.monitoring;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event committed by the {@link TickProfiler} when a tick goes over budget.
+ */
+@Name("minestom.SlowTick")
+@Label("Slow Tick")
+@Category("Minestom")
+@Description("Tick over budget, with its most expensive elements")
+@StackTrace(false)
+final class SlowTickEvent extends Event {
+    @Label("Tick Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long tickTime;
+
+    @Label("Acquisition Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long acquisitionTime;
+
+    @Label("Report")
+    String report;
+}
@@ -0,0 +1,18 @@
+package net.minestom.server.monitoring;
+
+import jdk.jfr.*;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * JFR event spanning a whole server tick, only recorded when a JFR recording is running.
+ */
+@ApiStatus.Internal
+@Name("minestom.Tick")
+@Label("Server Tick")
+@Category("Minestom")
+@StackTrace(false)
+public final class TickEvent extends Event {
+    @Label("Acquisition Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long acquisitionTime;
+}
@@ -0,0 +1,18 @@
+package net.minestom.server.monitoring;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Difference between the planned and actual start of the ticks, over the last second.
+ *
+ * @param ticks         the number of ticks
+ * @param lateTicks     the number of ticks starting more than a millisecond late
+ * @param skippedTicks  the number of ticks skipped, being too late to catch up
+ * @param averageJitter the average delay in milliseconds
+ * @param maxJitter     the maximum delay in milliseconds
+ * @see net.minestom.server.MinecraftServer#getTickJitter()
+ */
+@ApiStatus.Experimental
+public record TickJitter(int ticks, int lateTicks, long skippedTicks, double averageJitter, double maxJitter) {
+    public static final TickJitter EMPTY = new TickJitter(0, 0, 0, 0, 0);
+}
@@ -0,0 +1,263 @@
+package net.minestom.server.monitoring;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.Tickable;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.thread.ThreadDispatcher;
+import net.minestom.server.utils.PropertyUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the time spent on each tick thread, partition, entity type and scheduled task.
+ * <p>
+ * The last ticks are kept in a ring buffer ({@link #history()}), ticks over budget are logged
+ * with their most expensive elements and reported as a {@code minestom.SlowTick} JFR event.
+ * <p>
+ * Disabled by default as every element gets timed, enabled with the {@code minestom.tick-profiler} property.
+ * The budget is configured in milliseconds with {@code minestom.tick-profiler.budget}
+ * and the number of recorded ticks with {@code minestom.tick-profiler.history}.
+ */
+@ApiStatus.Experimental
+public final class TickProfiler {
+    public static final boolean ENABLED = PropertyUtils.getBoolean("minestom.tick-profiler", false);
+    private static final long BUDGET = TimeUnit.MILLISECONDS.toNanos(Integer.getInteger("minestom.tick-profiler.budget", MinecraftServer.TICK_MS));
+    private static final int HISTORY = Integer.getInteger("minestom.tick-profiler.history", 100);
+    private static final int SLOWEST_COUNT = 10;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TickProfiler.class);
+    private static final String TASK_CATEGORY = "scheduled task";
+
+    private static final List<Sampler> SAMPLERS = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<Sampler> SAMPLER = ThreadLocal.withInitial(() -> {
+        Sampler sampler = new Sampler(Thread.currentThread().getName());
+        SAMPLERS.add(sampler);
+        return sampler;
+    });
+
+    private static final TickRecord[] RECORDS = new TickRecord[HISTORY];
+    private static long tickCount;
+
+    private TickProfiler() {
+    }
+
+    /**
+     * Gets the last recorded ticks.
+     *
+     * @return the recorded ticks, from oldest
+     */
+    public static synchronized @NotNull List<@NotNull TickRecord> history() {
+        List<TickRecord> result = new ArrayList<>(RECORDS.length);
+        for (int i = 0; i < RECORDS.length; i++) {
+            final TickRecord record = RECORDS[(int) ((tickCount + i) % RECORDS.length)];
+            if (record != null) result.add(record);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the sampler of the current thread.
+     *
+     * @return the current thread sampler
+     */
+    @ApiStatus.Internal
+    public static @NotNull Sampler sampler() {
+        return SAMPLER.get();
+    }
+
+    /**
+     * Collects the samples of every thread into a new {@link TickRecord}, resetting them.
+     * <p>
+     * Must be called once the tick threads are done.
+     *
+     * @param tickTime        the total tick time in nanoseconds
+     * @param acquisitionTime the acquisition time in nanoseconds
+     */
+    @ApiStatus.Internal
+    public static void endTick(long tickTime, long acquisitionTime) {
+        Map<String, Long> threadTimes = new HashMap<>();
+        Object2LongOpenHashMap<Object> categories = new Object2LongOpenHashMap<>();
+        List<Slowest> partitions = new ArrayList<>(), elements = new ArrayList<>();
+        for (Sampler sampler : SAMPLERS) {
+            if (sampler.busyTime != 0) threadTimes.put(sampler.threadName, sampler.busyTime);
+            for (Object2LongMap.Entry<Object> entry : sampler.categories.object2LongEntrySet()) {
+                categories.addTo(entry.getKey(), entry.getLongValue());
+            }
+            sampler.partitions.drainTo(partitions);
+            sampler.elements.drainTo(elements);
+            sampler.busyTime = 0;
+            sampler.categories.clear();
+        }
+        Map<String, Long> categoryTimes = new HashMap<>(categories.size());
+        for (Object2LongMap.Entry<Object> entry : categories.object2LongEntrySet()) {
+            categoryTimes.merge(categoryName(entry.getKey()), entry.getLongValue(), Long::sum);
+        }
+
+        final TickRecord record;
+        synchronized (TickProfiler.class) {
+            record = new TickRecord(tickCount, tickTime, acquisitionTime, threadTimes, categoryTimes,
+                    samples(partitions), samples(elements));
+            RECORDS[(int) (tickCount++ % RECORDS.length)] = record;
+        }
+        if (tickTime > BUDGET) reportSlowTick(record);
+    }
+
+    private static void reportSlowTick(TickRecord record) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("Tick ").append(record.tick()).append(" took ").append(millis(record.tickTime()))
+                .append(" (acquisition ").append(millis(record.acquisitionTime())).append(')');
+        builder.append("\n  Threads:");
+        record.threadTimes().entrySet().stream().sorted(Map.Entry.comparingByValue(Comparator.reverseOrder()))
+                .forEach(entry -> builder.append(' ').append(entry.getKey()).append('=').append(millis(entry.getValue())));
+        builder.append("\n  Categories:");
+        record.categoryTimes().entrySet().stream().sorted(Map.Entry.comparingByValue(Comparator.reverseOrder()))
+                .limit(SLOWEST_COUNT)
+                .forEach(entry -> builder.append(' ').append(entry.getKey()).append('=').append(millis(entry.getValue())));
+        builder.append("\n  Slowest partitions:");
+        for (TickRecord.Sample sample : record.slowestPartitions()) {
+            builder.append("\n    ").append(millis(sample.time())).append(' ').append(sample.name());
+        }
+        builder.append("\n  Slowest elements:");
+        for (TickRecord.Sample sample : record.slowestElements()) {
+            builder.append("\n    ").append(millis(sample.time())).append(' ').append(sample.name());
+        }
+        final String report = builder.toString();
+        LOGGER.warn(report);
+
+        SlowTickEvent event = new SlowTickEvent();
+        if (event.shouldCommit()) {
+            event.tickTime = record.tickTime();
+            event.acquisitionTime = record.acquisitionTime();
+            event.report = report;
+            event.commit();
+        }
+    }
+
+    private static List<TickRecord.Sample> samples(List<Slowest> slowest) {
+        slowest.sort(Comparator.comparingLong(Slowest::time).reversed());
+        final int count = Math.min(SLOWEST_COUNT, slowest.size());
+        List<TickRecord.Sample> samples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final Slowest entry = slowest.get(i);
+            samples.add(new TickRecord.Sample(describe(entry.element()), entry.time()));
+        }
+        return samples;
+    }
+
+    private static String categoryName(Object category) {
+        if (category instanceof EntityType entityType) return entityType.name();
+        if (category instanceof Class<?> type) return type.getSimpleName();
+        return category.toString();
+    }
+
+    private static String describe(Object element) {
+        if (element instanceof ThreadDispatcher.Partition partition) {
+            final List<Tickable> elements = partition.elements();
+            final String owner = elements.isEmpty() ? "empty" : describe(elements.get(0));
+            return "partition of " + owner + " (" + elements.size() + " elements)";
+        } else if (element instanceof Entity entity) {
+            return entity.getEntityType().name() + " #" + entity.getEntityId() + " at " + entity.getPosition();
+        } else if (element instanceof Chunk chunk) {
+            return "chunk " + chunk.getChunkX() + "," + chunk.getChunkZ() + " of " + chunk.getInstance().getUniqueId();
+        } else if (element instanceof Instance instance) {
+            return "instance " + instance.getUniqueId();
+        } else if (element instanceof TaskSample task) {
+            return "task " + task.id() + " " + taskName(task.task());
+        }
+        return element.getClass().getName();
+    }
+
+    private static String taskName(Object task) {
+        // Lambdas are named after their declaring class
+        final String name = task.getClass().getName();
+        final int lambdaIndex = name.indexOf("$$Lambda");
+        return lambdaIndex != -1 ? name.substring(0, lambdaIndex) : name;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2fms", nanos / 1e6);
+    }
+
+    private record Slowest(Object element, long time) {
+    }
+
+    private record TaskSample(int id, Object task) {
+    }
+
+    /**
+     * Collects the samples of a single thread.
+     */
+    @ApiStatus.Internal
+    public static final class Sampler {
+        private final String threadName;
+        // Category -> time, entity types, element classes or TASK_CATEGORY
+        private final Object2LongOpenHashMap<Object> categories = new Object2LongOpenHashMap<>();
+        private final SlowestSet partitions = new SlowestSet();
+        private final SlowestSet elements = new SlowestSet();
+        private long busyTime;
+
+        private Sampler(String threadName) {
+            this.threadName = threadName;
+        }
+
+        public void partition(@NotNull ThreadDispatcher.Partition partition, long time) {
+            this.busyTime += time;
+            this.partitions.add(partition, time);
+        }
+
+        public void element(@NotNull Tickable element, long time) {
+            final Object category = element instanceof Entity entity ? entity.getEntityType() : element.getClass();
+            this.categories.addTo(category, time);
+            this.elements.add(element, time);
+        }
+
+        public void task(int id, @NotNull Object task, long time) {
+            this.categories.addTo(TASK_CATEGORY, time);
+            this.elements.add(new TaskSample(id, task), time);
+        }
+    }
+
+    /**
+     * Keeps the most expensive samples without sorting.
+     */
+    private static final class SlowestSet {
+        private final Object[] elements = new Object[SLOWEST_COUNT];
+        private final long[] times = new long[SLOWEST_COUNT];
+        private int size;
+
+        void add(Object element, long time) {
+            if (size < SLOWEST_COUNT) {
+                elements[size] = element;
+                times[size++] = time;
+                return;
+            }
+            int fastest = 0;
+            for (int i = 1; i < SLOWEST_COUNT; i++) {
+                if (times[i] < times[fastest]) fastest = i;
+            }
+            if (time > times[fastest]) {
+                elements[fastest] = element;
+                times[fastest] = time;
+            }
+        }
+
+        void drainTo(List<Slowest> result) {
+            for (int i = 0; i < size; i++) {
+                result.add(new Slowest(elements[i], times[i]));
+                elements[i] = null;
+            }
+            this.size = 0;
+        }
+    }
+}
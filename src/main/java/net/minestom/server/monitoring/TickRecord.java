@@ -0,0 +1,41 @@
+package net.minestom.server.monitoring;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Breakdown of a server tick, recorded by the {@link TickProfiler}.
+ * <p>
+ * All times are in nanoseconds.
+ *
+ * @param tick              the tick number, since the start of the profiler
+ * @param tickTime          the total tick time
+ * @param acquisitionTime   the time spent waiting on {@link net.minestom.server.thread.Acquirable acquisitions}
+ * @param threadTimes       thread name -> time spent ticking elements
+ * @param categoryTimes     element category (entity type, chunk, scheduled task...) -> time spent ticking
+ * @param slowestPartitions the most expensive partitions, from slowest
+ * @param slowestElements   the most expensive elements, from slowest
+ */
+@ApiStatus.Experimental
+public record TickRecord(long tick, long tickTime, long acquisitionTime,
+                         @NotNull Map<String, Long> threadTimes,
+                         @NotNull Map<String, Long> categoryTimes,
+                         @NotNull List<Sample> slowestPartitions,
+                         @NotNull List<Sample> slowestElements) {
+    public TickRecord {
+        threadTimes = Map.copyOf(threadTimes);
+        categoryTimes = Map.copyOf(categoryTimes);
+        slowestPartitions = List.copyOf(slowestPartitions);
+        slowestElements = List.copyOf(slowestElements);
+    }
+
+    /**
+     * @param name the element description
+     * @param time the time spent ticking the element
+     */
+    public record Sample(@NotNull String name, long time) {
+    }
+}
@@ -0,0 +1,50 @@
+package net.minestom.server.network;
+
+import net.minestom.server.network.packet.server.play.ChunkDataPacket;
+import net.minestom.server.network.packet.server.play.UpdateLightPacket;
+import net.minestom.server.network.player.PlayerConnection;
+import net.minestom.server.network.player.PlayerSocketConnection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.zip.Deflater;
+
+final class AdaptiveCompressionPolicy implements CompressionPolicy {
+    // Ids above share the last slot
+    private static final int PACKET_IDS = 256;
+    // Compressed size in thousandths of the original size, above which compression is not worth it
+    private static final int MAX_RATIO = 950;
+    // Packets sent uncompressed before sampling a poorly compressible id again
+    private static final int SKIPPED_SAMPLES = 64;
+
+    // Moving average of the compression ratio per id, in thousandths
+    private final AtomicIntegerArray ratios = new AtomicIntegerArray(PACKET_IDS);
+    // Remaining packets to send uncompressed per id
+    private final AtomicIntegerArray skipped = new AtomicIntegerArray(PACKET_IDS);
+
+    @Override
+    public int level(@Nullable PlayerConnection connection, @NotNull NetworkBuffer.Writer packet, int packetId, int size) {
+        if (connection instanceof PlayerSocketConnection socketConnection && socketConnection.isLocalLink()) {
+            return SKIP;
+        }
+        final int slot = Math.min(packetId, PACKET_IDS - 1);
+        if (skipped.get(slot) > 0 && skipped.getAndDecrement(slot) > 0) return SKIP;
+        if (connection == null && (packet instanceof ChunkDataPacket || packet instanceof UpdateLightPacket)) {
+            // Cached and written once for every viewer
+            return Deflater.BEST_COMPRESSION;
+        }
+        return Deflater.DEFAULT_COMPRESSION;
+    }
+
+    @Override
+    public void sample(int packetId, int size, int compressedSize) {
+        final int slot = Math.min(packetId, PACKET_IDS - 1);
+        final int ratio = (int) (compressedSize * 1000L / size);
+        final int previous = ratios.get(slot);
+        // Races only lose samples
+        final int average = previous == 0 ? ratio : (previous * 7 + ratio) / 8;
+        this.ratios.lazySet(slot, average);
+        if (average > MAX_RATIO) this.skipped.set(slot, SKIPPED_SAMPLES);
+    }
+}
@@ -0,0 +1,56 @@
+package net.minestom.server.network;
+
+import net.minestom.server.network.player.PlayerConnection;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Decides how packets above the compression threshold are compressed.
+ * <p>
+ * Only the level can change, the packet format of a connection is decided once compression is enabled.
+ * Packets sent uncompressed still use the compressed format with an empty data length, which every client accepts.
+ *
+ * @see net.minestom.server.MinecraftServer#setCompressionPolicy(CompressionPolicy)
+ */
+@ApiStatus.Experimental
+public interface CompressionPolicy {
+    /**
+     * Level sending the packet uncompressed.
+     */
+    int SKIP = 0;
+
+    /**
+     * Creates the default policy.
+     * <p>
+     * Chunk data shared between connections uses the best level,
+     * and nothing is compressed for clients on the same host (such as a local proxy).
+     * Packet ids whose compression ratio is poor are sent uncompressed, and periodically sampled again.
+     *
+     * @return a new adaptive policy
+     */
+    static @NotNull CompressionPolicy adaptive() {
+        return new AdaptiveCompressionPolicy();
+    }
+
+    /**
+     * Gets the level used to compress a packet.
+     *
+     * @param connection the connection the packet is written to, null if it is shared between connections
+     * @param packet     the packet
+     * @param packetId   the packet id
+     * @param size       the size of the packet id and payload
+     * @return {@link #SKIP}, or a {@link java.util.zip.Deflater} level
+     */
+    int level(@Nullable PlayerConnection connection, @NotNull NetworkBuffer.Writer packet, int packetId, int size);
+
+    /**
+     * Called after a packet has been compressed.
+     *
+     * @param packetId       the packet id
+     * @param size           the size before compression
+     * @param compressedSize the size after compression
+     */
+    default void sample(int packetId, int size, int compressedSize) {
+    }
+}
@@ -0,0 +1,35 @@
+package net.minestom.server.network;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+final class DeflaterCompressor implements PacketCompressor {
+    static final DeflaterCompressor INSTANCE = new DeflaterCompressor();
+
+    private static final ThreadLocal<Deflater> LOCAL_DEFLATER = ThreadLocal.withInitial(Deflater::new);
+
+    private DeflaterCompressor() {
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "deflater";
+    }
+
+    @Override
+    public boolean compress(@NotNull ByteBuffer input, @NotNull ByteBuffer output, int level) {
+        Deflater deflater = LOCAL_DEFLATER.get();
+        try {
+            deflater.setLevel(level);
+            deflater.setInput(input);
+            deflater.finish();
+            // A level change is only applied by the next call, which may not write anything
+            while (!deflater.finished() && output.hasRemaining()) deflater.deflate(output);
+            return deflater.finished();
+        } finally {
+            deflater.reset();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package net.minestom.server.network;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ServiceLoader;
+
+/**
+ * Compresses outbound packets in the zlib format expected by clients.
+ * <p>
+ * The default implementation uses {@link java.util.zip.Deflater}. Faster implementations, such as libdeflate bindings,
+ * can be shipped as optional modules registered with {@link ServiceLoader}. The first available one is used unless
+ * the {@code minestom.packet-compressor} property names another compressor.
+ */
+@ApiStatus.Experimental
+public interface PacketCompressor {
+    /**
+     * Finds the compressor to use, see the class documentation.
+     *
+     * @return the first available compressor
+     */
+    static @NotNull PacketCompressor load() {
+        final String name = System.getProperty("minestom.packet-compressor");
+        if (deflater().name().equals(name)) return deflater();
+        for (PacketCompressor compressor : ServiceLoader.load(PacketCompressor.class)) {
+            if (name != null && !name.equals(compressor.name())) continue;
+            if (compressor.isAvailable()) return compressor;
+            LoggerFactory.getLogger(PacketCompressor.class).warn("Packet compressor {} is not available on this platform", compressor.name());
+        }
+        if (name != null) {
+            LoggerFactory.getLogger(PacketCompressor.class).warn("Packet compressor {} could not be loaded, using {}", name, deflater().name());
+        }
+        return deflater();
+    }
+
+    /**
+     * Gets the compressor based on {@link java.util.zip.Deflater}.
+     *
+     * @return the JDK compressor
+     */
+    static @NotNull PacketCompressor deflater() {
+        return DeflaterCompressor.INSTANCE;
+    }
+
+    /**
+     * Gets the name of this compressor, as used by the {@code minestom.packet-compressor} property.
+     *
+     * @return the compressor name
+     */
+    @NotNull String name();
+
+    /**
+     * Gets if this compressor can be used on this platform, for example if its native library has been loaded.
+     *
+     * @return true if the compressor can be used
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Compresses data, may be called from any thread.
+     *
+     * @param input  the data to compress, from its position to its limit
+     * @param output the buffer to write to from its position, moved after the compressed data
+     * @param level  the compression level, from 1 to 9 or -1 for the default level
+     * @return false if {@code output} is too small
+     */
+    boolean compress(@NotNull ByteBuffer input, @NotNull ByteBuffer output, int level);
+}
@@ -0,0 +1,176 @@
+package net.minestom.server.network;
+
+import net.minestom.server.utils.PropertyUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Packet counters and timings, per packet id, meant to be pulled by a metrics exporter.
+ * <p>
+ * Disabled unless the {@code minestom.packet-metrics} property is set to true,
+ * in which case the instrumentation is removed by the JIT.
+ * <p>
+ * Outbound packets are counted once per encoding, cached and broadcast packets are therefore counted once
+ * no matter how many connections receive them, see {@link net.minestom.server.network.player.PlayerSocketConnection#getTraffic()}
+ * for per connection numbers.
+ */
+@ApiStatus.Experimental
+public final class PacketMetrics {
+    public static final boolean ENABLED = PropertyUtils.getBoolean("minestom.packet-metrics", false);
+
+    // Ids above are counted in the last slot
+    private static final int PACKET_IDS = 256;
+    private static final ConnectionState[] STATES = ConnectionState.values();
+
+    private static final Counter[] OUTBOUND = counters();
+    private static final Counter[][] INBOUND = new Counter[STATES.length][];
+    private static final Histogram ENCODE_TIME = new Histogram();
+    private static final Histogram HANDLE_TIME = new Histogram();
+
+    static {
+        for (int i = 0; i < STATES.length; i++) INBOUND[i] = counters();
+    }
+
+    private PacketMetrics() {
+    }
+
+    /**
+     * Gets the counters of every packet seen since startup.
+     *
+     * @return the current metrics
+     */
+    public static @NotNull Snapshot snapshot() {
+        List<PacketStatistics> outbound = new ArrayList<>();
+        for (int id = 0; id < PACKET_IDS; id++) OUTBOUND[id].collect(null, id, outbound);
+        List<PacketStatistics> inbound = new ArrayList<>();
+        for (ConnectionState state : STATES) {
+            for (int id = 0; id < PACKET_IDS; id++) INBOUND[state.ordinal()][id].collect(state, id, inbound);
+        }
+        return new Snapshot(List.copyOf(outbound), List.copyOf(inbound), ENCODE_TIME.snapshot(), HANDLE_TIME.snapshot());
+    }
+
+    @ApiStatus.Internal
+    public static void recordEncode(int id, int size, int encodedSize, long nanos) {
+        OUTBOUND[slot(id)].record(size, encodedSize, nanos);
+        ENCODE_TIME.record(nanos);
+    }
+
+    @ApiStatus.Internal
+    public static void recordHandle(@NotNull ConnectionState state, int id, int size, long nanos) {
+        INBOUND[state.ordinal()][slot(id)].record(size, size, nanos);
+        HANDLE_TIME.record(nanos);
+    }
+
+    private static int slot(int id) {
+        return Math.min(id, PACKET_IDS - 1);
+    }
+
+    private static Counter[] counters() {
+        Counter[] counters = new Counter[PACKET_IDS];
+        for (int i = 0; i < PACKET_IDS; i++) counters[i] = new Counter();
+        return counters;
+    }
+
+    /**
+     * @param outbound   the encoded packets, by id
+     * @param inbound    the received packets, by state and id
+     * @param encodeTime the time spent encoding (and compressing) packets
+     * @param handleTime the time spent decoding and processing received packets on the network threads
+     */
+    public record Snapshot(@NotNull List<PacketStatistics> outbound, @NotNull List<PacketStatistics> inbound,
+                           @NotNull HistogramSnapshot encodeTime, @NotNull HistogramSnapshot handleTime) {
+    }
+
+    /**
+     * @param state     the connection state for inbound packets, null for outbound packets
+     * @param id        the packet id
+     * @param count     the number of packets
+     * @param bytes     the size of the packets before compression
+     * @param wireBytes the size of outbound packets once framed and compressed, equal to {@code bytes} for inbound packets
+     * @param nanos     the time spent encoding or handling the packets
+     */
+    public record PacketStatistics(ConnectionState state, int id, long count, long bytes, long wireBytes, long nanos) {
+        public double compressionRatio() {
+            return wireBytes == 0 ? 1 : (double) bytes / wireBytes;
+        }
+    }
+
+    /**
+     * Exponential histogram in nanoseconds.
+     *
+     * @param upperBounds the inclusive upper bound of each bucket, the last one being {@link Long#MAX_VALUE}
+     * @param counts      the number of samples in each bucket, not cumulative
+     * @param sum         the sum of every sample
+     */
+    public record HistogramSnapshot(long @NotNull [] upperBounds, long @NotNull [] counts, long sum) {
+        public long count() {
+            long count = 0;
+            for (long bucket : counts) count += bucket;
+            return count;
+        }
+    }
+
+    /**
+     * Per connection counters, see {@link net.minestom.server.network.player.PlayerSocketConnection#getTraffic()}.
+     *
+     * @param sentPackets     the number of packets sent, excluding raw buffers such as viewer broadcasts
+     * @param sentBytes       the number of bytes sent, including raw buffers
+     * @param receivedPackets the number of packets received
+     * @param receivedBytes   the size of the received packets, once decompressed
+     */
+    public record Traffic(long sentPackets, long sentBytes, long receivedPackets, long receivedBytes) {
+    }
+
+    private static final class Counter {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder wireBytes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        void record(int size, int wireSize, long nanos) {
+            this.count.increment();
+            this.bytes.add(size);
+            this.wireBytes.add(wireSize);
+            this.nanos.add(nanos);
+        }
+
+        void collect(ConnectionState state, int id, List<PacketStatistics> result) {
+            final long count = this.count.sum();
+            if (count == 0) return;
+            result.add(new PacketStatistics(state, id, count, bytes.sum(), wireBytes.sum(), nanos.sum()));
+        }
+    }
+
+    private static final class Histogram {
+        // 128ns to ~1s, then everything above
+        private static final int MIN_SHIFT = 7;
+        private static final int BUCKETS = 25;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder sum = new LongAdder();
+
+        Histogram() {
+            for (int i = 0; i < BUCKETS; i++) buckets[i] = new LongAdder();
+        }
+
+        void record(long nanos) {
+            final int bucket = Math.min(Math.max(64 - Long.numberOfLeadingZeros(Math.max(nanos, 1) - 1) - MIN_SHIFT, 0), BUCKETS - 1);
+            this.buckets[bucket].increment();
+            this.sum.add(nanos);
+        }
+
+        HistogramSnapshot snapshot() {
+            long[] upperBounds = new long[BUCKETS];
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                upperBounds[i] = i == BUCKETS - 1 ? Long.MAX_VALUE : 1L << (MIN_SHIFT + i);
+                counts[i] = buckets[i].sum();
+            }
+            return new HistogramSnapshot(upperBounds, counts, sum.sum());
+        }
+    }
+}
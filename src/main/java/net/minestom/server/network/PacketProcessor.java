@@ -42,6 +42,18 @@ public record PacketProcessor(@NotNull ClientPacketsHandler statusHandler,
     }
 
     public ClientPacket process(@NotNull PlayerConnection connection, int packetId, ByteBuffer body) {
+        if (!PacketMetrics.ENABLED) return process0(connection, packetId, body);
+        final ConnectionState state = connection.getConnectionState();
+        final int size = body.remaining();
+        final long start = System.nanoTime();
+        try {
+            return process0(connection, packetId, body);
+        } finally {
+            PacketMetrics.recordHandle(state, packetId, size, System.nanoTime() - start);
+        }
+    }
+
+    private ClientPacket process0(PlayerConnection connection, int packetId, ByteBuffer body) {
         final ClientPacket packet = create(connection.getConnectionState(), packetId, body);
         if (packet instanceof ClientPreplayPacket prePlayPacket) {
             prePlayPacket.process(connection);
@@ -1,5 +1,7 @@
 package net.minestom.server.network.packet.client;
 
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minestom.server.network.NetworkBuffer;
 import net.minestom.server.network.packet.client.login.EncryptionResponsePacket;
 import net.minestom.server.network.packet.client.login.LoginPluginResponsePacket;
@@ -16,18 +18,36 @@ import java.util.function.Function;
 /**
  * Contains registered packets and a way to instantiate them.
  * <p>
- * Packets are registered using {@link #register(int, Function)} and created using {@link #create(int, NetworkBuffer)}.
+ * Packets are registered using {@link #register(int, Class, Function)} and created using {@link #create(int, NetworkBuffer)}.
  */
 public sealed class ClientPacketsHandler permits ClientPacketsHandler.Status, ClientPacketsHandler.Login, ClientPacketsHandler.Play {
     private final ObjectArray<Function<NetworkBuffer, ClientPacket>> suppliers = ObjectArray.singleThread(0x10);
+    private final Object2IntMap<Class<? extends ClientPacket>> packetIds = new Object2IntOpenHashMap<>();
 
     private ClientPacketsHandler() {
+        this.packetIds.defaultReturnValue(-1);
     }
 
     public void register(int id, @NotNull Function<@NotNull NetworkBuffer, @NotNull ClientPacket> packetSupplier) {
         this.suppliers.set(id, packetSupplier);
     }
 
+    public <T extends ClientPacket> void register(int id, @NotNull Class<T> packetType,
+                                                  @NotNull Function<@NotNull NetworkBuffer, @NotNull T> packetSupplier) {
+        register(id, packetSupplier::apply);
+        this.packetIds.put(packetType, id);
+    }
+
+    /**
+     * Gets the id of a packet registered with {@link #register(int, Class, Function)}.
+     *
+     * @param packetType the packet class
+     * @return the packet id, -1 if not registered
+     */
+    public int packetId(@NotNull Class<? extends ClientPacket> packetType) {
+        return packetIds.getInt(packetType);
+    }
+
     public @UnknownNullability ClientPacket create(int packetId, @NotNull NetworkBuffer reader) {
         final Function<NetworkBuffer, ClientPacket> supplier = suppliers.get(packetId);
         if (supplier == null)
@@ -37,72 +57,72 @@ public sealed class ClientPacketsHandler permits ClientPacketsHandler.Status, Cl
 
     public static final class Status extends ClientPacketsHandler {
         public Status() {
-            register(0x00, StatusRequestPacket::new);
-            register(0x01, PingPacket::new);
+            register(0x00, StatusRequestPacket.class, StatusRequestPacket::new);
+            register(0x01, PingPacket.class, PingPacket::new);
         }
     }
 
     public static final class Login extends ClientPacketsHandler {
         public Login() {
-            register(0x00, LoginStartPacket::new);
-            register(0x01, EncryptionResponsePacket::new);
-            register(0x02, LoginPluginResponsePacket::new);
+            register(0x00, LoginStartPacket.class, LoginStartPacket::new);
+            register(0x01, EncryptionResponsePacket.class, EncryptionResponsePacket::new);
+            register(0x02, LoginPluginResponsePacket.class, LoginPluginResponsePacket::new);
         }
     }
 
     public static final class Play extends ClientPacketsHandler {
         public Play() {
-            register(0x00, ClientTeleportConfirmPacket::new);
-            register(0x01, ClientQueryBlockNbtPacket::new);
+            register(0x00, ClientTeleportConfirmPacket.class, ClientTeleportConfirmPacket::new);
+            register(0x01, ClientQueryBlockNbtPacket.class, ClientQueryBlockNbtPacket::new);
             // 0x02 difficulty packet
-            register(0x03, ClientChatAckPacket::new);
-            register(0x04, ClientCommandChatPacket::new);
-            register(0x05, ClientChatMessagePacket::new);
-            register(0x06, ClientChatPreviewPacket::new);
-            register(0x07, ClientStatusPacket::new);
-            register(0x08, ClientSettingsPacket::new);
-            register(0x09, ClientTabCompletePacket::new);
-            register(0x0A, ClientClickWindowButtonPacket::new);
-            register(0x0B, ClientClickWindowPacket::new);
-            register(0x0C, ClientCloseWindowPacket::new);
-            register(0x0D, ClientPluginMessagePacket::new);
-            register(0x0E, ClientEditBookPacket::new);
-            register(0x0F, ClientQueryEntityNbtPacket::new);
-            register(0x10, ClientInteractEntityPacket::new);
-            register(0x11, ClientGenerateStructurePacket::new);
-            register(0x12, ClientKeepAlivePacket::new);
+            register(0x03, ClientChatAckPacket.class, ClientChatAckPacket::new);
+            register(0x04, ClientCommandChatPacket.class, ClientCommandChatPacket::new);
+            register(0x05, ClientChatMessagePacket.class, ClientChatMessagePacket::new);
+            register(0x06, ClientChatPreviewPacket.class, ClientChatPreviewPacket::new);
+            register(0x07, ClientStatusPacket.class, ClientStatusPacket::new);
+            register(0x08, ClientSettingsPacket.class, ClientSettingsPacket::new);
+            register(0x09, ClientTabCompletePacket.class, ClientTabCompletePacket::new);
+            register(0x0A, ClientClickWindowButtonPacket.class, ClientClickWindowButtonPacket::new);
+            register(0x0B, ClientClickWindowPacket.class, ClientClickWindowPacket::new);
+            register(0x0C, ClientCloseWindowPacket.class, ClientCloseWindowPacket::new);
+            register(0x0D, ClientPluginMessagePacket.class, ClientPluginMessagePacket::new);
+            register(0x0E, ClientEditBookPacket.class, ClientEditBookPacket::new);
+            register(0x0F, ClientQueryEntityNbtPacket.class, ClientQueryEntityNbtPacket::new);
+            register(0x10, ClientInteractEntityPacket.class, ClientInteractEntityPacket::new);
+            register(0x11, ClientGenerateStructurePacket.class, ClientGenerateStructurePacket::new);
+            register(0x12, ClientKeepAlivePacket.class, ClientKeepAlivePacket::new);
             // 0x12 packet not used server-side
-            register(0x14, ClientPlayerPositionPacket::new);
-            register(0x15, ClientPlayerPositionAndRotationPacket::new);
-            register(0x16, ClientPlayerRotationPacket::new);
-            register(0x17, ClientPlayerPacket::new);
-            register(0x18, ClientVehicleMovePacket::new);
-            register(0x19, ClientSteerBoatPacket::new);
-            register(0x1A, ClientPickItemPacket::new);
-            register(0x1B, ClientCraftRecipeRequest::new);
-            register(0x1C, ClientPlayerAbilitiesPacket::new);
-            register(0x1D, ClientPlayerDiggingPacket::new);
-            register(0x1E, ClientEntityActionPacket::new);
-            register(0x1F, ClientSteerVehiclePacket::new);
-            register(0x20, ClientPongPacket::new);
-            register(0x21, ClientSetRecipeBookStatePacket::new);
-            register(0x22, ClientSetDisplayedRecipePacket::new);
-            register(0x23, ClientNameItemPacket::new);
-            register(0x24, ClientResourcePackStatusPacket::new);
-            register(0x25, ClientAdvancementTabPacket::new);
-            register(0x26, ClientSelectTradePacket::new);
-            register(0x27, ClientSetBeaconEffectPacket::new);
-            register(0x28, ClientHeldItemChangePacket::new);
-            register(0x29, ClientUpdateCommandBlockPacket::new);
-            register(0x2A, ClientUpdateCommandBlockMinecartPacket::new);
-            register(0x2B, ClientCreativeInventoryActionPacket::new);
+            register(0x14, ClientPlayerPositionPacket.class, ClientPlayerPositionPacket::new);
+            register(0x15, ClientPlayerPositionAndRotationPacket.class, ClientPlayerPositionAndRotationPacket::new);
+            register(0x16, ClientPlayerRotationPacket.class, ClientPlayerRotationPacket::new);
+            register(0x17, ClientPlayerPacket.class, ClientPlayerPacket::new);
+            register(0x18, ClientVehicleMovePacket.class, ClientVehicleMovePacket::new);
+            register(0x19, ClientSteerBoatPacket.class, ClientSteerBoatPacket::new);
+            register(0x1A, ClientPickItemPacket.class, ClientPickItemPacket::new);
+            register(0x1B, ClientCraftRecipeRequest.class, ClientCraftRecipeRequest::new);
+            register(0x1C, ClientPlayerAbilitiesPacket.class, ClientPlayerAbilitiesPacket::new);
+            register(0x1D, ClientPlayerDiggingPacket.class, ClientPlayerDiggingPacket::new);
+            register(0x1E, ClientEntityActionPacket.class, ClientEntityActionPacket::new);
+            register(0x1F, ClientSteerVehiclePacket.class, ClientSteerVehiclePacket::new);
+            register(0x20, ClientPongPacket.class, ClientPongPacket::new);
+            register(0x21, ClientSetRecipeBookStatePacket.class, ClientSetRecipeBookStatePacket::new);
+            register(0x22, ClientSetDisplayedRecipePacket.class, ClientSetDisplayedRecipePacket::new);
+            register(0x23, ClientNameItemPacket.class, ClientNameItemPacket::new);
+            register(0x24, ClientResourcePackStatusPacket.class, ClientResourcePackStatusPacket::new);
+            register(0x25, ClientAdvancementTabPacket.class, ClientAdvancementTabPacket::new);
+            register(0x26, ClientSelectTradePacket.class, ClientSelectTradePacket::new);
+            register(0x27, ClientSetBeaconEffectPacket.class, ClientSetBeaconEffectPacket::new);
+            register(0x28, ClientHeldItemChangePacket.class, ClientHeldItemChangePacket::new);
+            register(0x29, ClientUpdateCommandBlockPacket.class, ClientUpdateCommandBlockPacket::new);
+            register(0x2A, ClientUpdateCommandBlockMinecartPacket.class, ClientUpdateCommandBlockMinecartPacket::new);
+            register(0x2B, ClientCreativeInventoryActionPacket.class, ClientCreativeInventoryActionPacket::new);
             // 0x2B Update Jigsaw Block
-            register(0x2D, ClientUpdateStructureBlockPacket::new);
-            register(0x2E, ClientUpdateSignPacket::new);
-            register(0x2F, ClientAnimationPacket::new);
-            register(0x30, ClientSpectatePacket::new);
-            register(0x31, ClientPlayerBlockPlacementPacket::new);
-            register(0x32, ClientUseItemPacket::new);
+            register(0x2D, ClientUpdateStructureBlockPacket.class, ClientUpdateStructureBlockPacket::new);
+            register(0x2E, ClientUpdateSignPacket.class, ClientUpdateSignPacket::new);
+            register(0x2F, ClientAnimationPacket.class, ClientAnimationPacket::new);
+            register(0x30, ClientSpectatePacket.class, ClientSpectatePacket::new);
+            register(0x31, ClientPlayerBlockPlacementPacket.class, ClientPlayerBlockPlacementPacket::new);
+            register(0x32, ClientUseItemPacket.class, ClientUseItemPacket::new);
         }
     }
 }
@@ -5,6 +5,8 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
 import java.util.function.Supplier;
@@ -12,25 +14,64 @@ import java.util.function.Supplier;
 /**
  * Represents a packet that is only computed when required (either due to memory demand or invalidated data)
  * <p>
- * The cache is stored in a {@link SoftReference} and is invalidated when {@link #invalidate()} is called.
+ * The cache is stored in a {@link SoftReference}, or in a shared {@link PacketCache},
+ * and is invalidated when {@link #invalidate()} is called.
  * <p>
  * Packet supplier must be thread-safe.
  */
 @ApiStatus.Internal
 public final class CachedPacket implements SendablePacket {
+    private static final VarHandle STAMP;
+
+    static {
+        try {
+            STAMP = MethodHandles.lookup().findVarHandle(CachedPacket.class, "stamp", int.class);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private final Supplier<ServerPacket> packetSupplier;
+    private final PacketCache cache;
+    private final Object lock;
     private volatile SoftReference<FramedPacket> packet;
+    @SuppressWarnings("unused")
+    private volatile int stamp;
 
     public CachedPacket(@NotNull Supplier<@NotNull ServerPacket> packetSupplier) {
         this.packetSupplier = packetSupplier;
+        this.cache = null;
+        this.lock = null;
     }
 
     public CachedPacket(@NotNull ServerPacket packet) {
         this(() -> packet);
     }
 
+    /**
+     * Creates a packet stored in a shared cache.
+     * <p>
+     * The packet is built once while holding {@code lock}, which must be the lock already acquired
+     * by the supplier (if any) to prevent deadlocks.
+     *
+     * @param packetSupplier the packet supplier
+     * @param cache          the cache storing the framed packet
+     * @param lock           the lock held while building the packet
+     */
+    public CachedPacket(@NotNull Supplier<@NotNull ServerPacket> packetSupplier,
+                        @NotNull PacketCache cache, @NotNull Object lock) {
+        this.packetSupplier = packetSupplier;
+        this.cache = cache;
+        this.lock = lock;
+    }
+
     public void invalidate() {
-        this.packet = null;
+        if (cache != null) {
+            STAMP.getAndAdd(this, 1);
+            this.cache.invalidate(this);
+        } else {
+            this.packet = null;
+        }
     }
 
     public @NotNull ServerPacket packet() {
@@ -46,6 +87,7 @@ public final class CachedPacket implements SendablePacket {
     private @Nullable FramedPacket updatedCache() {
         if (!PacketUtils.CACHED_PACKET)
             return null;
+        if (cache != null) return sharedCache();
         SoftReference<FramedPacket> ref = packet;
         FramedPacket cache;
         if (ref == null || (cache = ref.get()) == null) {
@@ -54,4 +96,23 @@ public final class CachedPacket implements SendablePacket {
         }
         return cache;
     }
+
+    private @NotNull FramedPacket sharedCache() {
+        FramedPacket framedPacket = cache.get(this, stamp);
+        if (framedPacket == null) {
+            synchronized (lock) {
+                // Built only once, even when requested by multiple connections at the same time
+                final int stamp = this.stamp;
+                framedPacket = cache.get(this, stamp);
+                if (framedPacket == null) {
+                    framedPacket = PacketUtils.allocateTrimmedPacket(packetSupplier.get());
+                    this.cache.put(this, stamp, framedPacket);
+                    this.cache.recordMiss();
+                    return framedPacket;
+                }
+            }
+        }
+        this.cache.recordHit();
+        return framedPacket;
+    }
 }
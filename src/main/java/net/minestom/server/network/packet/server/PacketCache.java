@@ -0,0 +1,88 @@
+package net.minestom.server.network.packet.server;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memory-bounded cache of framed packets, shared by every {@link CachedPacket} created with it.
+ * <p>
+ * Packets are framed and compressed once, then written as-is to every connection.
+ * The least recently used packets are evicted once the total size of the cached packets exceeds the limit.
+ */
+@ApiStatus.Experimental
+public final class PacketCache {
+    /**
+     * Cache used for chunk data and light packets, shared by every instance.
+     */
+    public static final PacketCache CHUNKS = new PacketCache(Long.getLong("minestom.chunk-packet-cache-size", 268_435_456));
+
+    private final Cache<CachedPacket, Entry> cache;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumSize the maximum size of the cached packets in bytes
+     */
+    public PacketCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumWeight(maximumSize)
+                .<CachedPacket, Entry>weigher((packet, entry) -> entry.packet().body().capacity())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Gets the usage statistics of this cache since its creation.
+     *
+     * @return the cache statistics
+     */
+    public @NotNull Statistics statistics() {
+        final CacheStats stats = cache.stats();
+        final long size = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+        return new Statistics(hitCount.sum(), missCount.sum(), stats.evictionCount(), size);
+    }
+
+    @Nullable FramedPacket get(@NotNull CachedPacket packet, int stamp) {
+        final Entry entry = cache.getIfPresent(packet);
+        return entry != null && entry.stamp() == stamp ? entry.packet() : null;
+    }
+
+    void recordHit() {
+        this.hitCount.increment();
+    }
+
+    void recordMiss() {
+        this.missCount.increment();
+    }
+
+    void put(@NotNull CachedPacket packet, int stamp, @NotNull FramedPacket framedPacket) {
+        this.cache.put(packet, new Entry(stamp, framedPacket));
+    }
+
+    void invalidate(@NotNull CachedPacket packet) {
+        this.cache.invalidate(packet);
+    }
+
+    /**
+     * @param hitCount      the number of packets served from the cache
+     * @param missCount     the number of packets that had to be built
+     * @param evictionCount the number of packets evicted due to the size limit
+     * @param size          the current size of the cached packets in bytes
+     */
+    public record Statistics(long hitCount, long missCount, long evictionCount, long size) {
+    }
+
+    // The stamp of the packet when it was built, stale after invalidation
+    private record Entry(int stamp, FramedPacket packet) {
+    }
+}
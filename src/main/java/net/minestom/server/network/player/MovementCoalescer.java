@@ -0,0 +1,102 @@
+package net.minestom.server.network.player;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.network.packet.client.ClientPacket;
+import net.minestom.server.network.packet.client.ClientPacketsHandler;
+import net.minestom.server.network.packet.client.play.ClientPlayerPacket;
+import net.minestom.server.network.packet.client.play.ClientPlayerPositionAndRotationPacket;
+import net.minestom.server.network.packet.client.play.ClientPlayerPositionPacket;
+import net.minestom.server.network.packet.client.play.ClientPlayerRotationPacket;
+import net.minestom.server.utils.PropertyUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes the movement packets of a connection into primitive fields, merging consecutive ones.
+ * <p>
+ * Movement packets received in the same read only produce a single packet holding the latest position,
+ * rotation and ground state. Any other packet must {@link #poll()} the pending movement first to keep the order.
+ * Only accessed by the connection worker.
+ */
+final class MovementCoalescer {
+    static final boolean ENABLED = PropertyUtils.getBoolean("minestom.coalesce-movement", true);
+
+    private static final ClientPacketsHandler PLAY_PACKETS = new ClientPacketsHandler.Play();
+    static final int POSITION = PLAY_PACKETS.packetId(ClientPlayerPositionPacket.class);
+    static final int POSITION_AND_ROTATION = PLAY_PACKETS.packetId(ClientPlayerPositionAndRotationPacket.class);
+    static final int ROTATION = PLAY_PACKETS.packetId(ClientPlayerRotationPacket.class);
+    static final int ON_GROUND = PLAY_PACKETS.packetId(ClientPlayerPacket.class);
+
+    private boolean pending;
+    private boolean hasPosition, hasRotation;
+    private double x, y, z;
+    private float yaw, pitch;
+    private boolean onGround;
+
+    /**
+     * Decodes a packet if it is a movement.
+     *
+     * @param packetId the packet id
+     * @param payload  the packet payload, fully read if accepted
+     * @return true if the packet has been merged into the pending movement
+     */
+    boolean accept(int packetId, ByteBuffer payload) {
+        final int size = payload.remaining();
+        if (packetId == POSITION) {
+            if (size != 25) return false;
+            readPosition(payload);
+        } else if (packetId == POSITION_AND_ROTATION) {
+            if (size != 33) return false;
+            readPosition(payload);
+            readRotation(payload);
+        } else if (packetId == ROTATION) {
+            if (size != 9) return false;
+            readRotation(payload);
+        } else if (packetId == ON_GROUND) {
+            if (size != 1) return false;
+        } else {
+            return false;
+        }
+        this.onGround = payload.get() == 1;
+        this.pending = true;
+        return true;
+    }
+
+    /**
+     * Gets the merged movement and resets the state.
+     *
+     * @return the pending movement, null if there is none
+     */
+    @Nullable ClientPacket poll() {
+        if (!pending) return null;
+        final ClientPacket packet;
+        if (hasPosition && hasRotation) {
+            packet = new ClientPlayerPositionAndRotationPacket(new Pos(x, y, z, yaw, pitch), onGround);
+        } else if (hasPosition) {
+            packet = new ClientPlayerPositionPacket(new Vec(x, y, z), onGround);
+        } else if (hasRotation) {
+            packet = new ClientPlayerRotationPacket(yaw, pitch, onGround);
+        } else {
+            packet = new ClientPlayerPacket(onGround);
+        }
+        this.pending = false;
+        this.hasPosition = false;
+        this.hasRotation = false;
+        return packet;
+    }
+
+    private void readPosition(ByteBuffer payload) {
+        this.x = payload.getDouble();
+        this.y = payload.getDouble();
+        this.z = payload.getDouble();
+        this.hasPosition = true;
+    }
+
+    private void readRotation(ByteBuffer payload) {
+        this.yaw = payload.getFloat();
+        this.pitch = payload.getFloat();
+        this.hasRotation = true;
+    }
+}
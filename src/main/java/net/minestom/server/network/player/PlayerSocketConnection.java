@@ -9,13 +9,16 @@ import net.minestom.server.event.ListenerHandle;
 import net.minestom.server.event.player.PlayerPacketOutEvent;
 import net.minestom.server.extras.mojangAuth.MojangCrypt;
 import net.minestom.server.network.ConnectionState;
+import net.minestom.server.network.PacketMetrics;
 import net.minestom.server.network.PacketProcessor;
 import net.minestom.server.network.packet.client.ClientPacket;
 import net.minestom.server.network.packet.server.*;
 import net.minestom.server.network.packet.server.login.SetCompressionPacket;
+import net.minestom.server.network.packet.server.play.*;
 import net.minestom.server.network.socket.Worker;
 import net.minestom.server.utils.ObjectPool;
 import net.minestom.server.utils.PacketUtils;
+import net.minestom.server.utils.SharedBuffer;
 import net.minestom.server.utils.binary.BinaryBuffer;
 import net.minestom.server.utils.validate.Check;
 import org.jctools.queues.MessagePassingQueue;
@@ -29,6 +32,7 @@ import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import javax.crypto.ShortBufferException;
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
@@ -47,11 +51,20 @@ import java.util.zip.DataFormatException;
 public class PlayerSocketConnection extends PlayerConnection {
     private final static Logger LOGGER = LoggerFactory.getLogger(PlayerSocketConnection.class);
     private static final ObjectPool<BinaryBuffer> POOL = ObjectPool.BUFFER_POOL;
+    private static final long MAX_PENDING_BYTES = Long.getLong("minestom.max-pending-bytes", 33_554_432);
+    private static final OverflowPolicy OVERFLOW_POLICY = OverflowPolicy.valueOf(System.getProperty("minestom.overflow-policy", "DISCONNECT"));
+    // Packets which can be lost without breaking the client state
+    // Relative movements are kept, dropping a delta would shift the entity until its next teleport
+    private static final Set<Class<? extends ServerPacket>> NON_ESSENTIAL_PACKETS = Set.of(
+            ParticlePacket.class, SoundEffectPacket.class, EntitySoundEffectPacket.class, NamedSoundEffectPacket.class,
+            EntityAnimationPacket.class, BlockBreakAnimationPacket.class,
+            EntityHeadLookPacket.class, EntityRotationPacket.class, EntityVelocityPacket.class);
 
     private final Worker worker;
     private final MessagePassingQueue<Runnable> workerQueue;
     private final SocketChannel channel;
     private SocketAddress remoteAddress;
+    private final boolean localLink;
 
     private volatile boolean compressed = false;
 
@@ -70,9 +83,20 @@ public class PlayerSocketConnection extends PlayerConnection {
     // cleared once the player enters the play state
     private final Map<Integer, String> pluginRequestMap = new ConcurrentHashMap<>();
 
-    private final List<BinaryBuffer> waitingBuffers = new ArrayList<>();
+    // Data waiting for the socket, written before the readable part of the tick buffer
+    private final ArrayDeque<Segment> waitingSegments = new ArrayDeque<>();
     private final AtomicReference<BinaryBuffer> tickBuffer = new AtomicReference<>(POOL.get());
     private BinaryBuffer cacheBuffer;
+    private final MovementCoalescer movement = new MovementCoalescer();
+    // Bytes written but not yet flushed to the socket, only accessed by the worker
+    private long backlog;
+    // Copy of the backlog as of the last flush
+    private volatile long pendingBytes;
+    private volatile long droppedPackets;
+    private volatile long maxPendingBytes = MAX_PENDING_BYTES;
+    private volatile OverflowPolicy overflowPolicy = OVERFLOW_POLICY;
+    // Only counted when packet metrics are enabled, written by the worker
+    private volatile long sentPackets, sentBytes, receivedPackets, receivedBytes;
 
     private final ListenerHandle<PlayerPacketOutEvent> outgoing = EventDispatcher.getHandle(PlayerPacketOutEvent.class);
 
@@ -82,6 +106,9 @@ public class PlayerSocketConnection extends PlayerConnection {
         this.workerQueue = worker.queue();
         this.channel = channel;
         this.remoteAddress = remoteAddress;
+        // Private addresses are not considered local, every client behind NAT or a container network has one
+        this.localLink = !(remoteAddress instanceof InetSocketAddress inetAddress) ||
+                inetAddress.getAddress().isLoopbackAddress();
     }
 
     public void processPackets(BinaryBuffer readBuffer, PacketProcessor packetProcessor) {
@@ -104,6 +131,15 @@ public class PlayerSocketConnection extends PlayerConnection {
                     (id, payload) -> {
                         if (!isOnline())
                             return; // Prevent packet corruption
+                        if (PacketMetrics.ENABLED) {
+                            this.receivedPackets++;
+                            this.receivedBytes += payload.remaining();
+                        }
+                        if (MovementCoalescer.ENABLED && getConnectionState() == ConnectionState.PLAY &&
+                                movement.accept(id, payload)) {
+                            return; // Merged with the other movements of this read
+                        }
+                        flushMovement();
                         ClientPacket packet = null;
                         try {
                             packet = packetProcessor.process(this, id, payload);
@@ -119,9 +155,18 @@ public class PlayerSocketConnection extends PlayerConnection {
         } catch (DataFormatException e) {
             MinecraftServer.getExceptionManager().handleException(e);
             disconnect();
+        } finally {
+            flushMovement();
         }
     }
 
+    private void flushMovement() {
+        final ClientPacket packet = movement.poll();
+        if (packet == null) return;
+        final Player player = getPlayer();
+        if (player != null) player.addPacketToQueue(packet);
+    }
+
     public void consumeCache(BinaryBuffer buffer) {
         final BinaryBuffer cache = this.cacheBuffer;
         if (cache != null) {
@@ -171,7 +216,10 @@ public class PlayerSocketConnection extends PlayerConnection {
 
     @ApiStatus.Internal
     public void write(@NotNull ByteBuffer buffer, int index, int length) {
-        this.workerQueue.relaxedOffer(() -> writeBufferSync(buffer, index, length));
+        this.workerQueue.relaxedOffer(() -> {
+            if (backlog > maxPendingBytes && !overflow(null)) return;
+            writeBufferSync(buffer, index, length);
+        });
     }
 
     @ApiStatus.Internal
@@ -179,6 +227,25 @@ public class PlayerSocketConnection extends PlayerConnection {
         write(buffer, buffer.position(), buffer.remaining());
     }
 
+    /**
+     * Queues a region of a shared buffer without copying it, a reference is held until it has been written.
+     *
+     * @param buffer the shared buffer, not modified anymore
+     * @param index  the region start
+     * @param length the region length
+     */
+    @ApiStatus.Internal
+    public void write(@NotNull SharedBuffer buffer, int index, int length) {
+        buffer.retain();
+        this.workerQueue.relaxedOffer(() -> {
+            if (backlog > maxPendingBytes && !overflow(null)) {
+                buffer.release();
+                return;
+            }
+            writeSharedSync(buffer, index, length);
+        });
+    }
+
     @Override
     public @NotNull SocketAddress getRemoteAddress() {
         return remoteAddress;
@@ -203,8 +270,8 @@ public class PlayerSocketConnection extends PlayerConnection {
             this.worker.disconnect(this, channel);
             final BinaryBuffer tick = tickBuffer.getAndSet(null);
             if (tick != null) POOL.add(tick);
-            for (BinaryBuffer buffer : waitingBuffers) POOL.add(buffer);
-            this.waitingBuffers.clear();
+            Segment segment;
+            while ((segment = waitingSegments.poll()) != null) segment.release();
         });
     }
 
@@ -212,6 +279,68 @@ public class PlayerSocketConnection extends PlayerConnection {
         return channel;
     }
 
+    /**
+     * Gets if the socket peer is on the same host, such as a local proxy.
+     * <p>
+     * Based on the address of the socket, not on the one forwarded by a proxy.
+     *
+     * @return true if the connection does not go through the network
+     */
+    public boolean isLocalLink() {
+        return localLink;
+    }
+
+    /**
+     * Gets the number of bytes waiting to be written to the socket, as of the last flush.
+     * <p>
+     * Grows when the client cannot keep up with the data sent to it.
+     *
+     * @return the outstanding write backlog in bytes
+     */
+    public long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    /**
+     * Gets the number of packets dropped by {@link OverflowPolicy#DROP}.
+     *
+     * @return the dropped packet count
+     */
+    public long getDroppedPackets() {
+        return droppedPackets;
+    }
+
+    /**
+     * Gets the packets and bytes exchanged with this connection, only counted when {@link PacketMetrics#ENABLED}.
+     *
+     * @return the traffic since the connection has been opened
+     */
+    public @NotNull PacketMetrics.Traffic getTraffic() {
+        return new PacketMetrics.Traffic(sentPackets, sentBytes, receivedPackets, receivedBytes);
+    }
+
+    /**
+     * Gets the number of bytes allowed to wait for the socket before applying the {@link OverflowPolicy}.
+     *
+     * @return the backlog limit in bytes
+     */
+    public long getMaxPendingBytes() {
+        return maxPendingBytes;
+    }
+
+    public void setMaxPendingBytes(long maxPendingBytes) {
+        Check.argCondition(maxPendingBytes <= 0, "The backlog limit must be positive");
+        this.maxPendingBytes = maxPendingBytes;
+    }
+
+    public @NotNull OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(@NotNull OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
     public @Nullable GameProfile gameProfile() {
         return gameProfile;
     }
@@ -335,6 +464,7 @@ public class PlayerSocketConnection extends PlayerConnection {
 
     private void writePacketSync(SendablePacket packet, boolean compressed) {
         if (!channel.isConnected()) return;
+        if (backlog > maxPendingBytes && !overflow(packet)) return;
         final Player player = getPlayer();
         // Outgoing event
         if (player != null && outgoing.hasListener()) {
@@ -343,6 +473,7 @@ public class PlayerSocketConnection extends PlayerConnection {
             outgoing.call(event);
             if (event.isCancelled()) return;
         }
+        if (PacketMetrics.ENABLED) this.sentPackets++;
         // Write packet
         if (packet instanceof ServerPacket serverPacket) {
             writeServerPacketSync(serverPacket, compressed);
@@ -369,7 +500,7 @@ public class PlayerSocketConnection extends PlayerConnection {
             }
         }
         try (var hold = ObjectPool.PACKET_POOL.hold()) {
-            var buffer = PacketUtils.createFramedPacket(hold.get(), serverPacket, compressed);
+            var buffer = PacketUtils.createFramedPacket(hold.get(), serverPacket, compressed, this);
             writeBufferSync(buffer, 0, buffer.limit());
         }
     }
@@ -396,6 +527,9 @@ public class PlayerSocketConnection extends PlayerConnection {
         BinaryBuffer localBuffer = tickBuffer.getPlain();
         if (localBuffer == null)
             return; // Socket is closed
+        this.backlog += length;
+        if (PacketMetrics.ENABLED) this.sentBytes += length;
+        this.worker.markDirty(this);
         final int capacity = localBuffer.capacity();
         if (length <= capacity) {
             if (!localBuffer.canWrite(length)) localBuffer = updateLocalBuffer();
@@ -411,34 +545,141 @@ public class PlayerSocketConnection extends PlayerConnection {
         }
     }
 
+    private void writeSharedSync(SharedBuffer buffer, int index, int length) {
+        final BinaryBuffer localBuffer = tickBuffer.getPlain();
+        if (localBuffer != null) {
+            if (encryptionContext != null) {
+                // Encrypted per connection, cannot be shared
+                writeBufferSync(buffer.buffer(), index, length);
+            } else {
+                // Keep the order with the data already in the tick buffer
+                if (localBuffer.readableBytes() > 0) {
+                    this.waitingSegments.add(new Segment(localBuffer.asByteBuffer(localBuffer.readerOffset(), localBuffer.readableBytes()), null, null));
+                    localBuffer.readerOffset(localBuffer.writerOffset());
+                }
+                this.waitingSegments.add(new Segment(buffer.slice(index, length), null, buffer));
+                this.backlog += length;
+                if (PacketMetrics.ENABLED) this.sentBytes += length;
+                this.worker.markDirty(this);
+                return;
+            }
+        }
+        buffer.release();
+    }
+
     public void flushSync() throws IOException {
         final SocketChannel channel = this.channel;
-        final List<BinaryBuffer> waitingBuffers = this.waitingBuffers;
+        final ArrayDeque<Segment> waitingSegments = this.waitingSegments;
         if (!channel.isConnected()) throw new ClosedChannelException();
-        if (waitingBuffers.isEmpty()) {
-            BinaryBuffer localBuffer = tickBuffer.getPlain();
-            if (localBuffer == null)
-                return; // Socket is closed
-            localBuffer.writeChannel(channel);
+        final BinaryBuffer localBuffer = tickBuffer.getPlain();
+        if (localBuffer == null)
+            return; // Socket is closed
+        if (waitingSegments.isEmpty()) {
+            if (!localBuffer.writeChannel(channel)) {
+                updatePendingBytes();
+                return;
+            }
         } else {
-            // Write as much as possible from the waiting list
-            Iterator<BinaryBuffer> iterator = waitingBuffers.iterator();
-            while (iterator.hasNext()) {
-                BinaryBuffer waitingBuffer = iterator.next();
-                if (!waitingBuffer.writeChannel(channel)) break;
-                iterator.remove();
-                POOL.add(waitingBuffer);
+            // Write as much as possible from the waiting segments and the current buffer in a single call
+            ByteBuffer[] buffers = new ByteBuffer[waitingSegments.size() + 1];
+            int i = 0;
+            for (Segment segment : waitingSegments) buffers[i++] = segment.data();
+            final ByteBuffer localData = localBuffer.asByteBuffer(localBuffer.readerOffset(), localBuffer.readableBytes());
+            buffers[i] = localData;
+            if (channel.write(buffers) == -1) throw new IOException("Disconnected");
+            localBuffer.readerOffset(localBuffer.readerOffset() + localData.position());
+            // Release the fully written segments
+            Segment segment;
+            while ((segment = waitingSegments.peek()) != null && !segment.data().hasRemaining()) {
+                waitingSegments.poll();
+                segment.release();
+            }
+            if (!waitingSegments.isEmpty() || localBuffer.readableBytes() > 0) {
+                updatePendingBytes();
+                return;
             }
         }
+        // Everything has been written, reuse the current buffer from the start
+        localBuffer.clear();
+        updatePendingBytes();
+    }
+
+    private void updatePendingBytes() {
+        final BinaryBuffer localBuffer = tickBuffer.getPlain();
+        long pending = localBuffer != null ? localBuffer.readableBytes() : 0;
+        for (Segment segment : waitingSegments) pending += segment.data().remaining();
+        this.backlog = pending;
+        this.pendingBytes = pending;
+    }
+
+    /**
+     * Applies the overflow policy to a packet sent while the backlog is over its limit.
+     *
+     * @param packet the packet, null for raw buffers
+     * @return true if the packet should still be written
+     */
+    private boolean overflow(@Nullable SendablePacket packet) {
+        this.pendingBytes = backlog;
+        return switch (overflowPolicy) {
+            case PAUSE_CHUNKS -> true;
+            case DROP -> {
+                if (!(packet instanceof ServerPacket serverPacket) || !NON_ESSENTIAL_PACKETS.contains(serverPacket.getClass())) {
+                    yield true;
+                }
+                this.droppedPackets++;
+                yield false;
+            }
+            case DISCONNECT -> {
+                if (isOnline()) {
+                    LOGGER.warn("Disconnecting {}, {} bytes are waiting to be sent", getRemoteAddress(), backlog);
+                    disconnect();
+                }
+                yield false;
+            }
+        };
     }
 
     private BinaryBuffer updateLocalBuffer() {
+        final BinaryBuffer localBuffer = tickBuffer.getPlain();
         BinaryBuffer newBuffer = POOL.get();
-        this.waitingBuffers.add(tickBuffer.getPlain());
+        this.waitingSegments.add(new Segment(localBuffer.asByteBuffer(localBuffer.readerOffset(), localBuffer.readableBytes()), localBuffer, null));
         this.tickBuffer.setPlain(newBuffer);
         return newBuffer;
     }
 
     record EncryptionContext(Cipher encrypt, Cipher decrypt) {
     }
+
+    /**
+     * Data waiting for the socket, and what to release once it has been written.
+     * Segments without owner are views of a tick buffer, recycled by a later segment or once everything has been written.
+     */
+    private record Segment(ByteBuffer data, @Nullable BinaryBuffer pooled, @Nullable SharedBuffer shared) {
+        void release() {
+            if (pooled != null) POOL.add(pooled);
+            if (shared != null) shared.release();
+        }
+    }
+
+    /**
+     * What to do when a client cannot keep up with the data sent to it.
+     * <p>
+     * Chunk sending is paused by every policy, see {@link net.minestom.server.instance.ChunkSendQueue}.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Only pauses chunk sending, other packets keep being buffered.
+         */
+        PAUSE_CHUNKS,
+        /**
+         * Drops packets that the client can live without, such as particles, sounds, entity rotations and velocities
+         * (replaced by the next one). Entity positions and teleports are always kept.
+         * Packets written as raw buffers, like the ones broadcast to viewers, are always kept.
+         */
+        DROP,
+        /**
+         * Disconnects the client.
+         */
+        DISCONNECT
+    }
 }
@@ -0,0 +1,22 @@
+package net.minestom.server.network.socket;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.channels.spi.SelectorProvider;
+
+final class NioTransport implements Transport {
+    static final NioTransport INSTANCE = new NioTransport();
+
+    private NioTransport() {
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "nio";
+    }
+
+    @Override
+    public @NotNull SelectorProvider provider() {
+        return SelectorProvider.provider();
+    }
+}
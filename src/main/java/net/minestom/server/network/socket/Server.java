@@ -4,6 +4,8 @@ import net.minestom.server.MinecraftServer;
 import net.minestom.server.network.PacketProcessor;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.*;
@@ -14,8 +16,10 @@ import java.nio.channels.SocketChannel;
 import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.List;
+import java.util.ServiceLoader;
 
 public final class Server {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Server.class);
     public static final int WORKER_COUNT = Integer.getInteger("minestom.workers", Runtime.getRuntime().availableProcessors());
     public static final int MAX_PACKET_SIZE = Integer.getInteger("minestom.max-packet-size", 2_097_151); // 3 bytes var-int
     public static final int SOCKET_SEND_BUFFER_SIZE = Integer.getInteger("minestom.send-buffer-size", 262_143);
@@ -25,7 +29,8 @@ public final class Server {
 
     private volatile boolean stop;
 
-    private final Selector selector = Selector.open();
+    private final Transport transport;
+    private final Selector selector;
     private final PacketProcessor packetProcessor;
     private final List<Worker> workers;
     private int index;
@@ -36,7 +41,13 @@ public final class Server {
     private int port;
 
     public Server(PacketProcessor packetProcessor) throws IOException {
+        this(packetProcessor, loadTransport());
+    }
+
+    public Server(@NotNull PacketProcessor packetProcessor, @NotNull Transport transport) throws IOException {
         this.packetProcessor = packetProcessor;
+        this.transport = transport;
+        this.selector = transport.provider().openSelector();
         Worker[] workers = new Worker[WORKER_COUNT];
         Arrays.setAll(workers, value -> new Worker(this));
         this.workers = List.of(workers);
@@ -57,7 +68,7 @@ public final class Server {
             throw new IllegalArgumentException("Address must be an InetSocketAddress or a UnixDomainSocketAddress");
         }
 
-        ServerSocketChannel server = ServerSocketChannel.open(family);
+        ServerSocketChannel server = transport.provider().openServerSocketChannel(family);
         server.bind(address);
         server.configureBlocking(false);
         server.register(selector, SelectionKey.OP_ACCEPT);
@@ -120,6 +131,10 @@ public final class Server {
         return packetProcessor;
     }
 
+    public @NotNull Transport transport() {
+        return transport;
+    }
+
     public SocketAddress socketAddress() {
         return socketAddress;
     }
@@ -136,4 +151,16 @@ public final class Server {
         this.index = ++index % WORKER_COUNT;
         return workers.get(index);
     }
+
+    private static Transport loadTransport() {
+        final String name = System.getProperty("minestom.transport");
+        if (Transport.nio().name().equals(name)) return Transport.nio();
+        for (Transport transport : ServiceLoader.load(Transport.class)) {
+            if (name != null && !name.equals(transport.name())) continue;
+            if (transport.isAvailable()) return transport;
+            LOGGER.warn("Transport {} is not available on this platform", transport.name());
+        }
+        if (name != null) LOGGER.warn("Transport {} could not be loaded, using {}", name, Transport.nio().name());
+        return Transport.nio();
+    }
 }
@@ -0,0 +1,49 @@
+package net.minestom.server.network.socket;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.channels.spi.SelectorProvider;
+
+/**
+ * Provides the sockets and selectors used by the {@link Server} and its workers.
+ * <p>
+ * The default transport uses the JDK selector (level-triggered epoll on Linux).
+ * Other backends, such as native edge-triggered epoll or io_uring, can be shipped as optional modules
+ * registered with {@link java.util.ServiceLoader}. The first available one is used unless
+ * the {@code minestom.transport} property names another transport.
+ */
+@ApiStatus.Experimental
+public interface Transport {
+    /**
+     * Gets the default transport, based on {@link SelectorProvider#provider()}.
+     *
+     * @return the NIO transport
+     */
+    static @NotNull Transport nio() {
+        return NioTransport.INSTANCE;
+    }
+
+    /**
+     * Gets the name of this transport, as used by the {@code minestom.transport} property.
+     *
+     * @return the transport name
+     */
+    @NotNull String name();
+
+    /**
+     * Gets if this transport can be used on this platform, for example if its native library has been loaded.
+     *
+     * @return true if the transport can be used
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Gets the provider used to open the server socket, the client sockets and the worker selectors.
+     *
+     * @return the selector provider
+     */
+    @NotNull SelectorProvider provider();
+}
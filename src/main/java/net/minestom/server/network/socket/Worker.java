@@ -1,5 +1,7 @@
 package net.minestom.server.network.socket;
 
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.network.player.PlayerSocketConnection;
 import net.minestom.server.thread.MinestomThread;
@@ -27,12 +29,14 @@ public final class Worker extends MinestomThread {
     private final Map<SocketChannel, PlayerSocketConnection> connectionMap = new ConcurrentHashMap<>();
     private final Server server;
     private final MpscUnboundedXaddArrayQueue<Runnable> queue = new MpscUnboundedXaddArrayQueue<>(1024);
+    // Connections with data waiting to be flushed, only accessed by this thread
+    private final ReferenceLinkedOpenHashSet<PlayerSocketConnection> dirtyConnections = new ReferenceLinkedOpenHashSet<>();
 
     Worker(Server server) {
         super("Ms-worker-" + COUNTER.getAndIncrement());
         this.server = server;
         try {
-            this.selector = Selector.open();
+            this.selector = server.transport().provider().openSelector();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -47,14 +51,7 @@ public final class Worker extends MinestomThread {
                 } catch (Exception e) {
                     MinecraftServer.getExceptionManager().handleException(e);
                 }
-                // Flush all connections if needed
-                for (PlayerSocketConnection connection : connectionMap.values()) {
-                    try {
-                        connection.flushSync();
-                    } catch (Exception e) {
-                        connection.disconnect();
-                    }
-                }
+                flushDirtyConnections();
                 // Wait for an event
                 this.selector.select(key -> {
                     final SocketChannel channel = (SocketChannel) key.channel();
@@ -96,6 +93,7 @@ public final class Worker extends MinestomThread {
         assert !connection.isOnline();
         assert Thread.currentThread() == this;
         this.connectionMap.remove(channel);
+        this.dirtyConnections.remove(connection);
         if (channel.isOpen()) {
             try {
                 connection.flushSync();
@@ -106,6 +104,18 @@ public final class Worker extends MinestomThread {
         }
     }
 
+    /**
+     * Schedules a connection to be flushed by the next loop iteration.
+     * <p>
+     * Must be called from this worker once data has been written to the connection.
+     *
+     * @param connection the connection with pending data
+     */
+    public void markDirty(PlayerSocketConnection connection) {
+        assert Thread.currentThread() == this;
+        this.dirtyConnections.add(connection);
+    }
+
     void receiveConnection(SocketChannel channel) throws IOException {
         this.connectionMap.put(channel, new PlayerSocketConnection(this, channel, channel.getRemoteAddress()));
         channel.configureBlocking(false);
@@ -120,6 +130,21 @@ public final class Worker extends MinestomThread {
         this.selector.wakeup();
     }
 
+    private void flushDirtyConnections() {
+        ObjectIterator<PlayerSocketConnection> iterator = dirtyConnections.iterator();
+        while (iterator.hasNext()) {
+            final PlayerSocketConnection connection = iterator.next();
+            try {
+                connection.flushSync();
+                // Kept until the socket accepted everything
+                if (connection.getPendingBytes() == 0) iterator.remove();
+            } catch (Exception e) {
+                iterator.remove();
+                connection.disconnect();
+            }
+        }
+    }
+
     public MessagePassingQueue<Runnable> queue() {
         return queue;
     }
@@ -55,6 +55,21 @@ public final class Registry {
 
     @ApiStatus.Internal
     public static Map<String, Map<String, Object>> load(Resource resource) {
+        // Prefer the snapshot precompiled at build time, avoiding json parsing
+        final Map<String, Map<String, Object>> binary = loadBinary(resource);
+        return binary != null ? binary : loadJson(resource);
+    }
+
+    static @Nullable Map<String, Map<String, Object>> loadBinary(Resource resource) {
+        try (InputStream binaryStream = Registry.class.getClassLoader().getResourceAsStream(resource.binaryName)) {
+            if (binaryStream != null) return RegistryBinary.read(binaryStream);
+        } catch (IOException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+        return null;
+    }
+
+    static Map<String, Map<String, Object>> loadJson(Resource resource) {
         Map<String, Map<String, Object>> map = new HashMap<>();
         try (InputStream resourceStream = Registry.class.getClassLoader().getResourceAsStream(resource.name)) {
             Check.notNull(resourceStream, "Resource {0} does not exist!", resource);
@@ -150,9 +165,21 @@ public final class Registry {
         ITEM_TAGS("tags/item_tags.json");
 
         private final String name;
+        private final String binaryName;
 
         Resource(String name) {
             this.name = name;
+            this.binaryName = "registry/" + name.substring(0, name.length() - ".json".length()) + ".bin";
+        }
+
+        /**
+         * Gets the path of the json file in the data resources.
+         *
+         * @return the resource path
+         */
+        @ApiStatus.Internal
+        public @NotNull String fileName() {
+            return name;
         }
     }
 
@@ -169,6 +196,9 @@ public final class Registry {
         private final boolean air;
         private final boolean solid;
         private final boolean liquid;
+        private final int lightEmission;
+        private final boolean occludes;
+        private final int lightBlocked;
         private final String blockEntity;
         private final int blockEntityId;
         private final Supplier<Material> materialSupplier;
@@ -189,6 +219,10 @@ public final class Registry {
             this.air = main.getBoolean("air", false);
             this.solid = main.getBoolean("solid");
             this.liquid = main.getBoolean("liquid", false);
+            this.lightEmission = main.getInt("lightEmission", 0);
+            this.occludes = main.getBoolean("occludes", solid);
+            // Older data only tells whether the block occludes
+            this.lightBlocked = main.getInt("lightBlocked", occludes ? 15 : 0);
             {
                 Properties blockEntity = main.section("blockEntity");
                 if (blockEntity != null) {
@@ -257,6 +291,25 @@ public final class Registry {
             return liquid;
         }
 
+        public int lightEmission() {
+            return lightEmission;
+        }
+
+        public boolean occludes() {
+            return occludes;
+        }
+
+        /**
+         * Gets the amount of light absorbed when going through this block.
+         * <p>
+         * Light loses at least 1 level per block, 15 completely blocks it.
+         *
+         * @return the light opacity, from 0 to 15
+         */
+        public int lightBlocked() {
+            return lightBlocked;
+        }
+
         public boolean isBlockEntity() {
             return blockEntity != null;
         }
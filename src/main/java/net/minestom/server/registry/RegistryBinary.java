@@ -0,0 +1,103 @@
+package net.minestom.server.registry;
+
+import net.minestom.server.utils.Utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the registry snapshots precompiled by the code generators.
+ * <p>
+ * A snapshot contains the same tree as its json counterpart, prefixed by a table of every string
+ * so that keys and values are decoded once and shared between entries.
+ * Numbers are stored already parsed, matching {@code ToNumberPolicy.LONG_OR_DOUBLE}.
+ */
+final class RegistryBinary {
+    static final int MAGIC = 0x4D535247; // MSRG
+    static final int VERSION = 1;
+
+    static final byte OBJECT = 0;
+    static final byte ARRAY = 1;
+    static final byte STRING = 2;
+    static final byte LONG = 3;
+    static final byte DOUBLE = 4;
+    static final byte TRUE = 5;
+    static final byte FALSE = 6;
+
+    private final ByteBuffer buffer;
+    private final String[] strings;
+
+    private RegistryBinary(ByteBuffer buffer) {
+        this.buffer = buffer;
+        final int magic = buffer.getInt();
+        final int version = buffer.getInt();
+        if (magic != MAGIC || version != VERSION) {
+            throw new IllegalStateException("Invalid registry snapshot (magic " + magic + ", version " + version + ")");
+        }
+        this.strings = new String[Utils.readVarInt(buffer)];
+        for (int i = 0; i < strings.length; i++) {
+            final int length = Utils.readVarInt(buffer);
+            final int position = buffer.position();
+            this.strings[i] = new String(buffer.array(), position, length, StandardCharsets.UTF_8);
+            buffer.position(position + length);
+        }
+    }
+
+    static Map<String, Map<String, Object>> read(InputStream stream) throws IOException {
+        RegistryBinary binary = new RegistryBinary(ByteBuffer.wrap(stream.readAllBytes()));
+        final ByteBuffer buffer = binary.buffer;
+        if (buffer.get() != OBJECT) throw new IllegalStateException("Registry snapshot root must be an object");
+        final int size = Utils.readVarInt(buffer);
+        Map<String, Map<String, Object>> map = new HashMap<>(capacity(size));
+        for (int i = 0; i < size; i++) {
+            final String key = binary.strings[Utils.readVarInt(buffer)];
+            //noinspection unchecked
+            map.put(key, (Map<String, Object>) binary.readValue());
+        }
+        return map;
+    }
+
+    private Object readValue() {
+        final byte type = buffer.get();
+        return switch (type) {
+            case OBJECT -> {
+                final int size = Utils.readVarInt(buffer);
+                Map<String, Object> map = new HashMap<>(capacity(size));
+                for (int i = 0; i < size; i++) map.put(strings[Utils.readVarInt(buffer)], readValue());
+                yield map;
+            }
+            case ARRAY -> {
+                final int size = Utils.readVarInt(buffer);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) list.add(readValue());
+                yield list;
+            }
+            case STRING -> strings[Utils.readVarInt(buffer)];
+            case LONG -> readVarLong();
+            case DOUBLE -> buffer.getDouble();
+            case TRUE -> Boolean.TRUE;
+            case FALSE -> Boolean.FALSE;
+            default -> throw new IllegalStateException("Invalid value type: " + type);
+        };
+    }
+
+    private long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            final byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return (result >>> 1) ^ -(result & 1); // ZigZag
+        }
+        throw new IllegalStateException("VarLong is too big");
+    }
+
+    private static int capacity(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+}
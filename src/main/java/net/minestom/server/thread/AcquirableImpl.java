@@ -10,11 +10,6 @@ import java.util.concurrent.locks.ReentrantLock;
 final class AcquirableImpl<T> implements Acquirable<T> {
     static final AtomicLong WAIT_COUNTER_NANO = new AtomicLong();
 
-    /**
-     * Global lock used for synchronization.
-     */
-    private static final ReentrantLock GLOBAL_LOCK = new ReentrantLock();
-
     private final T value;
     private TickThread assignedThread;
 
@@ -38,37 +33,54 @@ final class AcquirableImpl<T> implements Acquirable<T> {
         VarHandle.releaseFence();
     }
 
+    /**
+     * Acquires the lock of {@code elementThread}.
+     * <p>
+     * Tick thread locks are ordered by {@link TickThread#lockOrder()}, a thread holding its own lock
+     * only waits on a higher lock, otherwise it releases its own lock until the target is acquired.
+     * Waits therefore never form a cycle and disjoint pairs of threads do not contend with each other.
+     * Acquiring elements of multiple threads at once must follow the same order to be deadlock-free.
+     *
+     * @param currentThread the thread acquiring the element
+     * @param elementThread the thread owning the element
+     * @return the lock to pass to {@link #leave(ReentrantLock)}, null if no lock has been acquired
+     */
     static @Nullable ReentrantLock enter(@NotNull Thread currentThread, @Nullable TickThread elementThread) {
         if (elementThread == null) return null;
         if (currentThread == elementThread) return null;
-        final ReentrantLock currentLock = currentThread instanceof TickThread ? ((TickThread) currentThread).lock() : null;
         final ReentrantLock targetLock = elementThread.lock();
         if (targetLock.isHeldByCurrentThread()) return null;
+        // Fast path, the target thread is idle or waiting for a tick
+        if (targetLock.tryLock()) return targetLock;
 
         // Monitoring
         final long time = System.nanoTime();
 
         // Enter the target thread
-        // TODO reduce global lock scope
-        if (currentLock != null) {
-            while (!GLOBAL_LOCK.tryLock()) {
-                currentLock.unlock();
-                currentLock.lock();
-            }
+        final TickThread currentTickThread = currentThread instanceof TickThread tickThread ? tickThread : null;
+        final ReentrantLock currentLock = currentTickThread != null &&
+                currentTickThread.lockOrder() > elementThread.lockOrder() ? currentTickThread.lock() : null;
+        final int holdCount = currentLock != null ? currentLock.getHoldCount() : 0;
+        if (holdCount == 0) {
+            // Only waiting on a higher lock
+            targetLock.lock();
         } else {
-            GLOBAL_LOCK.lock();
+            // Our lock comes later in the order, release it while waiting as the target thread may need it
+            for (int i = 0; i < holdCount; i++) currentLock.unlock();
+            targetLock.lock();
+            for (int i = 0; i < holdCount; i++) currentLock.lock();
         }
-        targetLock.lock();
 
         // Monitoring
-        WAIT_COUNTER_NANO.addAndGet(System.nanoTime() - time);
+        final long waitTime = System.nanoTime() - time;
+        WAIT_COUNTER_NANO.addAndGet(waitTime);
+        if (currentTickThread != null) currentTickThread.addWaitTime(waitTime);
         return targetLock;
     }
 
     static void leave(@Nullable ReentrantLock lock) {
         if (lock != null) {
             lock.unlock();
-            GLOBAL_LOCK.unlock();
         }
     }
 }
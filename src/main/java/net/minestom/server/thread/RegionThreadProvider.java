@@ -0,0 +1,142 @@
+package net.minestom.server.thread;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import static net.minestom.server.utils.chunk.ChunkUtils.*;
+
+/**
+ * Groups connected loaded chunks into regions, each region being ticked by a single thread.
+ * <p>
+ * Regions are capped in size so that a large loaded area is still spread over the threads.
+ * They are rebuilt when chunks get loaded or unloaded (at most once per second) so that they split and merge,
+ * chunks loaded in between join a neighbouring region.
+ * <p>
+ * Each region has a unique id, returned by {@link #findThread(Chunk)}.
+ *
+ * @see ThreadProvider#regions(int, int)
+ */
+final class RegionThreadProvider implements ThreadProvider<Chunk> {
+    static final int DEFAULT_MAX_CHUNKS = 256;
+    // Groups are queried again by the dispatcher once this delay has passed
+    private static final long REBUILD_INTERVAL = ThreadDispatcher.REGROUP_DELAY;
+    private static final int NO_REGION = -1;
+
+    private final int radius;
+    private final int maxChunks;
+    private final Map<Instance, Regions> instanceRegions = new WeakHashMap<>();
+    private int nextRegionId;
+
+    RegionThreadProvider(int radius, int maxChunks) {
+        Check.argCondition(radius < 1, "Radius must be at least 1: {0}", radius);
+        Check.argCondition(maxChunks < 1, "Region size must be at least 1: {0}", maxChunks);
+        this.radius = radius;
+        this.maxChunks = maxChunks;
+    }
+
+    @Override
+    public synchronized int findThread(@NotNull Chunk chunk) {
+        final Instance instance = chunk.getInstance();
+        final long time = System.nanoTime();
+        final int chunkX = chunk.getChunkX(), chunkZ = chunk.getChunkZ();
+        final long index = getChunkIndex(chunkX, chunkZ);
+        Regions regions = instanceRegions.get(instance);
+        if (regions == null || (time - regions.buildTime >= REBUILD_INTERVAL &&
+                (!regions.chunkRegions.containsKey(index) || regions.chunkCount != instance.getChunks().size()))) {
+            regions = build(instance, regions, time);
+            this.instanceRegions.put(instance, regions);
+        }
+        int region = regions.chunkRegions.get(index);
+        if (region == NO_REGION) {
+            // Chunk loaded since the last build, join a neighbour
+            search:
+            for (int x = -radius; x <= radius; x++) {
+                for (int z = -radius; z <= radius; z++) {
+                    region = regions.chunkRegions.get(getChunkIndex(chunkX + x, chunkZ + z));
+                    if (region != NO_REGION) break search;
+                }
+            }
+            if (region == NO_REGION) region = nextRegionId();
+            regions.chunkRegions.put(index, region);
+        }
+        return region;
+    }
+
+    @Override
+    public @NotNull RefreshType refreshType() {
+        return RefreshType.BALANCED;
+    }
+
+    private Regions build(Instance instance, Regions previous, long time) {
+        final Collection<Chunk> chunks = instance.getChunks();
+        LongOpenHashSet loaded = new LongOpenHashSet(chunks.size());
+        for (Chunk chunk : chunks) {
+            loaded.add(getChunkIndex(chunk.getChunkX(), chunk.getChunkZ()));
+        }
+        // Sorted to fill regions from one side of the world, leaving compact areas behind a full region
+        final long[] starts = loaded.toLongArray();
+        Arrays.sort(starts);
+
+        Long2IntOpenHashMap chunkRegions = new Long2IntOpenHashMap(loaded.size());
+        chunkRegions.defaultReturnValue(NO_REGION);
+        // Lowest chunk index of a region -> region id, kept across builds so that ids stay stable
+        Long2IntOpenHashMap regionIds = new Long2IntOpenHashMap();
+        regionIds.defaultReturnValue(NO_REGION);
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        LongArrayList members = new LongArrayList();
+        for (long start : starts) {
+            if (chunkRegions.containsKey(start)) continue;
+            // Flood fill, chunks are marked when queued
+            chunkRegions.put(start, NO_REGION);
+            queue.enqueue(start);
+            long lowest = start;
+            while (!queue.isEmpty()) {
+                final long index = queue.dequeueLong();
+                if (members.size() == maxChunks) {
+                    // Region full, left for another one
+                    chunkRegions.remove(index);
+                    continue;
+                }
+                members.add(index);
+                lowest = Math.min(lowest, index);
+                final int chunkX = getChunkCoordX(index), chunkZ = getChunkCoordZ(index);
+                for (int x = -radius; x <= radius; x++) {
+                    for (int z = -radius; z <= radius; z++) {
+                        final long neighbour = getChunkIndex(chunkX + x, chunkZ + z);
+                        if (loaded.contains(neighbour) && !chunkRegions.containsKey(neighbour)) {
+                            chunkRegions.put(neighbour, NO_REGION);
+                            queue.enqueue(neighbour);
+                        }
+                    }
+                }
+            }
+            int id = previous != null ? previous.regionIds.get(lowest) : NO_REGION;
+            if (id == NO_REGION) id = nextRegionId();
+            regionIds.put(lowest, id);
+            for (int i = 0; i < members.size(); i++) chunkRegions.put(members.getLong(i), id);
+            members.clear();
+        }
+        return new Regions(chunkRegions, regionIds, loaded.size(), time);
+    }
+
+    private int nextRegionId() {
+        final int id = nextRegionId;
+        this.nextRegionId = (id + 1) & Integer.MAX_VALUE;
+        return id;
+    }
+
+    private record Regions(Long2IntOpenHashMap chunkRegions, Long2IntOpenHashMap regionIds,
+                           int chunkCount, long buildTime) {
+    }
+}
@@ -1,7 +1,10 @@
 package net.minestom.server.thread;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minestom.server.Tickable;
 import net.minestom.server.entity.Entity;
+import net.minestom.server.instance.Instance;
 import org.jctools.queues.MessagePassingQueue;
 import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.ApiStatus;
@@ -10,12 +13,21 @@ import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Used to link chunks into multiple groups.
  * Then executed into a thread pool.
  */
 public final class ThreadDispatcher<P> {
+    // Threads are rebalanced once the most loaded one exceeds the average load by this factor
+    private static final double IMBALANCE_THRESHOLD = 1.25;
+    // New assignments must reduce the load of the most loaded thread by this factor to be applied
+    private static final double MIN_IMPROVEMENT = 0.9;
+    // Groups are queried again after this delay following a partition load or unload,
+    // letting providers rebuild their groups at most once per delay
+    static final long REGROUP_DELAY = TimeUnit.SECONDS.toNanos(1);
+
     private final ThreadProvider<P> provider;
     private final List<TickThread> threads;
 
@@ -26,6 +38,10 @@ public final class ThreadDispatcher<P> {
     private final Map<Tickable, Partition> elements = new WeakHashMap<>();
     // Queue to update chunks linked thread
     private final ArrayDeque<P> partitionUpdateQueue = new ArrayDeque<>();
+    // Whether partitions got loaded or unloaded since the groups were last computed
+    private boolean groupsOutdated;
+    // Time at which the groups should be queried again, 0 if up-to-date
+    private long regroupTime;
 
     // Requests consumed at the end of each tick
     private final MessagePassingQueue<DispatchUpdate<P>> updates = new MpscUnboundedArrayQueue<>(1024);
@@ -56,7 +72,18 @@ public final class ThreadDispatcher<P> {
      *
      * @param time the tick time in milliseconds
      */
-    public synchronized void updateAndAwait(long time) {
+    public void updateAndAwait(long time) {
+        updateAndAwait(time, Set.of());
+    }
+
+    /**
+     * Prepares the update by creating the {@link TickThread} tasks.
+     *
+     * @param time             the tick time in milliseconds
+     * @param skippedInstances the instances skipping this tick, their chunks and non-player entities are not ticked
+     * @see Instance#nextTickSkipped()
+     */
+    public synchronized void updateAndAwait(long time, @NotNull Set<Instance> skippedInstances) {
         // Update dispatcher
         this.updates.drain(update -> {
             if (update instanceof DispatchUpdate.PartitionLoad<P> chunkUpdate) {
@@ -73,7 +100,7 @@ public final class ThreadDispatcher<P> {
         });
         // Tick all partitions
         CountDownLatch latch = new CountDownLatch(threads.size());
-        for (TickThread thread : threads) thread.startTick(latch, time);
+        for (TickThread thread : threads) thread.startTick(latch, time, skippedInstances);
         try {
             latch.await();
         } catch (InterruptedException e) {
@@ -84,8 +111,11 @@ public final class ThreadDispatcher<P> {
     /**
      * Called at the end of each tick to clear removed entities,
      * refresh the chunk linked to an entity, and chunk threads based on {@link ThreadProvider#findThread(Object)}.
+     * <p>
+     * With {@link ThreadProvider.RefreshType#BALANCED}, partitions are instead redistributed
+     * based on their {@link Partition#tickCost()}.
      *
-     * @param nanoTimeout max time in nanoseconds to update partitions
+     * @param nanoTimeout max time in nanoseconds to update partitions, ignored when balancing
      */
     public void refreshThreads(long nanoTimeout) {
         switch (provider.refreshType()) {
@@ -101,19 +131,14 @@ public final class ThreadDispatcher<P> {
                     // Update chunk's thread
                     Partition partitionEntry = partitions.get(partition);
                     assert partitionEntry != null;
-                    final TickThread previous = partitionEntry.thread;
-                    final TickThread next = retrieveThread(partition);
-                    if (next != previous) {
-                        partitionEntry.thread = next;
-                        previous.entries().remove(partitionEntry);
-                        next.entries().add(partitionEntry);
-                    }
+                    moveThread(partitionEntry, retrieveThread(provider.findThread(partition)));
                     this.partitionUpdateQueue.addLast(partition);
                     if (--counter <= 0 || System.nanoTime() - currentTime >= nanoTimeout) {
                         break;
                     }
                 }
             }
+            case BALANCED -> balanceThreads();
         }
     }
 
@@ -146,23 +171,98 @@ public final class ThreadDispatcher<P> {
         this.threads.forEach(TickThread::shutdown);
     }
 
-    private TickThread retrieveThread(P partition) {
-        final int threadId = provider.findThread(partition);
+    private TickThread retrieveThread(int threadId) {
         final int index = Math.abs(threadId) % threads.size();
         return threads.get(index);
     }
 
+    /**
+     * Redistributes the partitions using the longest-processing-time-first heuristic:
+     * the most expensive groups are assigned first, each to the least loaded thread.
+     */
+    private void balanceThreads() {
+        final int threadCount = threads.size();
+        if (threadCount == 1) return;
+        // Partitions sharing the same ThreadProvider#findThread value are kept on a single thread,
+        // the value only changes when partitions get loaded or unloaded
+        final long time = System.nanoTime();
+        if (groupsOutdated || (regroupTime != 0 && time - regroupTime >= 0)) {
+            for (Map.Entry<P, Partition> entry : partitions.entrySet()) {
+                entry.getValue().group = provider.findThread(entry.getKey());
+            }
+            // The provider may only notice the change later
+            this.regroupTime = groupsOutdated ? time + REGROUP_DELAY : 0;
+            this.groupsOutdated = false;
+        }
+        Int2ObjectMap<PartitionGroup> groups = new Int2ObjectOpenHashMap<>();
+        for (Partition partition : partitions.values()) {
+            final PartitionGroup group = groups.computeIfAbsent(partition.group, id -> new PartitionGroup());
+            group.partitions.add(partition);
+            group.cost += partition.tickCost;
+            if (group.main == null || partition.tickCost > group.main.tickCost) group.main = partition;
+        }
+        // Gather the groups that got split or merged on the thread of their most expensive partition
+        for (PartitionGroup group : groups.values()) {
+            final TickThread thread = group.main.thread;
+            for (Partition partition : group.partitions) moveThread(partition, thread);
+        }
+
+        long totalLoad = 0, maxLoad = 0;
+        for (TickThread thread : threads) {
+            long load = 0;
+            for (Partition partition : thread.entries()) load += partition.tickCost;
+            totalLoad += load;
+            maxLoad = Math.max(maxLoad, load);
+        }
+        if (totalLoad == 0 || maxLoad <= IMBALANCE_THRESHOLD * totalLoad / threadCount) return;
+
+        PartitionGroup[] sorted = groups.values().toArray(PartitionGroup[]::new);
+        Arrays.sort(sorted, Comparator.comparingLong((PartitionGroup group) -> group.cost).reversed());
+        long[] loads = new long[threadCount];
+        TickThread[] assigned = new TickThread[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            int target = 0;
+            for (int j = 1; j < threadCount; j++) {
+                if (loads[j] < loads[target]) target = j;
+            }
+            loads[target] += sorted[i].cost;
+            assigned[i] = threads.get(target);
+        }
+        long newMaxLoad = 0;
+        for (long load : loads) newMaxLoad = Math.max(newMaxLoad, load);
+        // Moving partitions is not free, only apply a significant improvement
+        if (newMaxLoad > MIN_IMPROVEMENT * maxLoad) return;
+        for (int i = 0; i < sorted.length; i++) {
+            for (Partition partition : sorted[i].partitions) moveThread(partition, assigned[i]);
+        }
+    }
+
+    private void moveThread(Partition partitionEntry, TickThread next) {
+        final TickThread previous = partitionEntry.thread;
+        if (next == previous) return;
+        partitionEntry.thread = next;
+        previous.entries().remove(partitionEntry);
+        next.entries().add(partitionEntry);
+        for (Tickable element : partitionEntry.elements) {
+            if (element instanceof Entity entity) {
+                ((AcquirableImpl<?>) entity.getAcquirable()).updateThread(next);
+            }
+        }
+    }
+
     private void signalUpdate(@NotNull DispatchUpdate<P> update) {
         this.updates.relaxedOffer(update);
     }
 
     private void processLoadedPartition(P partition) {
         if (partitions.containsKey(partition)) return;
-        final TickThread thread = retrieveThread(partition);
-        final Partition partitionEntry = new Partition(thread);
+        final int group = provider.findThread(partition);
+        final TickThread thread = retrieveThread(group);
+        final Partition partitionEntry = new Partition(thread, group);
         thread.entries().add(partitionEntry);
         this.partitions.put(partition, partitionEntry);
         this.partitionUpdateQueue.add(partition);
+        this.groupsOutdated = true;
         if (partition instanceof Tickable tickable) {
             processUpdatedElement(tickable, partition);
         }
@@ -175,6 +275,7 @@ public final class ThreadDispatcher<P> {
             thread.entries().remove(partitionEntry);
         }
         this.partitionUpdateQueue.remove(partition);
+        this.groupsOutdated = true;
         if (partition instanceof Tickable tickable) {
             processRemovedElement(tickable);
         }
@@ -209,9 +310,14 @@ public final class ThreadDispatcher<P> {
     public static final class Partition {
         private TickThread thread;
         private final List<Tickable> elements = new ArrayList<>();
+        // Smoothed tick time, written by the owning thread and read between ticks
+        private long tickCost;
+        // Last ThreadProvider#findThread value, used to group partitions when balancing
+        private int group;
 
-        private Partition(TickThread thread) {
+        private Partition(TickThread thread, int group) {
             this.thread = thread;
+            this.group = group;
         }
 
         public @NotNull TickThread thread() {
@@ -221,6 +327,25 @@ public final class ThreadDispatcher<P> {
         public @NotNull List<Tickable> elements() {
             return elements;
         }
+
+        /**
+         * Gets the time spent ticking this partition, averaged over the last ticks.
+         *
+         * @return the tick cost in nanoseconds
+         */
+        public long tickCost() {
+            return tickCost;
+        }
+
+        void updateTickCost(long nanos) {
+            this.tickCost += (nanos - tickCost) / 4;
+        }
+    }
+
+    private static final class PartitionGroup {
+        private final List<Partition> partitions = new ArrayList<>();
+        private long cost;
+        private Partition main;
     }
 
     @ApiStatus.Internal
@@ -1,5 +1,6 @@
 package net.minestom.server.thread;
 
+import net.minestom.server.instance.Chunk;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
@@ -19,6 +20,34 @@ public interface ThreadProvider<T> {
         };
     }
 
+    /**
+     * Creates a provider ticking connected loaded chunks on the same thread,
+     * reducing cross-thread {@link Acquirable} synchronization between neighbouring chunks.
+     * <p>
+     * Regions follow the loaded chunks as they split and merge, and are distributed between threads
+     * by load ({@link RefreshType#BALANCED}).
+     * <p>
+     * Regions are limited to 256 chunks, see {@link #regions(int, int)}.
+     *
+     * @param radius the maximum distance in chunks between two connected chunks
+     * @return a new region provider
+     */
+    static @NotNull ThreadProvider<Chunk> regions(int radius) {
+        return regions(radius, RegionThreadProvider.DEFAULT_MAX_CHUNKS);
+    }
+
+    /**
+     * Creates a provider ticking connected loaded chunks on the same thread,
+     * splitting regions larger than {@code maxChunks} so that a single large area can still use multiple threads.
+     *
+     * @param radius    the maximum distance in chunks between two connected chunks
+     * @param maxChunks the maximum number of chunks in a region
+     * @return a new region provider
+     */
+    static @NotNull ThreadProvider<Chunk> regions(int radius, int maxChunks) {
+        return new RegionThreadProvider(radius, maxChunks);
+    }
+
     /**
      * Performs a server tick for all chunks based on their linked thread.
      *
@@ -50,6 +79,18 @@ public interface ThreadProvider<T> {
          * <p>
          * Means that {@link #findThread(Object)} may be called multiple time for each partition.
          */
-        ALWAYS
+        ALWAYS,
+        /**
+         * Thread is defined once with {@link #findThread(Object)}, then partitions are moved
+         * between threads based on their measured tick time when the load becomes uneven.
+         * <p>
+         * Partitions for which {@link #findThread(Object)} returns the same value form a group, always moved
+         * to a single thread. Means that {@link #findThread(Object)} is called for each partition
+         * after partitions get loaded or unloaded, and once more a second later so that providers
+         * can delay recomputing their groups.
+         *
+         * @see ThreadDispatcher.Partition#tickCost()
+         */
+        BALANCED
     }
 }
@@ -0,0 +1,64 @@
+package net.minestom.server.thread;
+
+import net.minestom.server.instance.Instance;
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Predicate;
+
+/**
+ * Defines when the server ticks, and how it behaves when a tick takes longer than planned.
+ *
+ * @see net.minestom.server.MinecraftServer#setTickPacing(TickPacing)
+ */
+@ApiStatus.Experimental
+public sealed interface TickPacing permits TickPacing.FixedRate, TickPacing.FixedDelay, TickPacing.Adaptive {
+    /**
+     * Ticks at a fixed rate, running late ticks back to back to catch up.
+     *
+     * @param maxCatchUpTicks the maximum number of late ticks to catch up, older ones are skipped
+     * @return a fixed rate pacing
+     */
+    static @NotNull TickPacing fixedRate(int maxCatchUpTicks) {
+        return new FixedRate(maxCatchUpTicks);
+    }
+
+    /**
+     * Waits a full tick between the end of a tick and the start of the next one.
+     *
+     * @return a fixed delay pacing
+     */
+    static @NotNull TickPacing fixedDelay() {
+        return new FixedDelay();
+    }
+
+    /**
+     * Ticks at a fixed rate without catch-up, and lowers the tick rate of some instances while the server is overloaded.
+     * <p>
+     * Throttled instances have their {@link Instance#getTickInterval() tick interval} raised one step at a time
+     * up to {@code maxInterval}, and lowered back once the load decreases.
+     *
+     * @param maxInterval the maximum number of ticks between two ticks of a throttled instance
+     * @param throttled   the instances that can be throttled
+     * @return an adaptive pacing
+     */
+    static @NotNull TickPacing adaptive(int maxInterval, @NotNull Predicate<@NotNull Instance> throttled) {
+        return new Adaptive(maxInterval, throttled);
+    }
+
+    record FixedRate(int maxCatchUpTicks) implements TickPacing {
+        public FixedRate {
+            Check.argCondition(maxCatchUpTicks < 0, "Catch-up ticks cannot be negative: {0}", maxCatchUpTicks);
+        }
+    }
+
+    record FixedDelay() implements TickPacing {
+    }
+
+    record Adaptive(int maxInterval, @NotNull Predicate<@NotNull Instance> throttled) implements TickPacing {
+        public Adaptive {
+            Check.argCondition(maxInterval < 1, "Interval must be at least 1: {0}", maxInterval);
+        }
+    }
+}
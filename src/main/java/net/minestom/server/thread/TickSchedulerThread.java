@@ -2,32 +2,155 @@ package net.minestom.server.thread;
 
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.ServerProcess;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.monitoring.TickJitter;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 
 @ApiStatus.Internal
 public final class TickSchedulerThread extends MinestomThread {
+    // Time before the next tick below which the thread spins instead of parking, for a precise start
+    private static final long SPIN_TIME = Long.getLong("minestom.tick-spin-nanos", 0);
+    private static final long LATE_THRESHOLD = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long THROTTLE_UPDATE_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private static volatile TickJitter jitter = TickJitter.EMPTY;
+
     private final ServerProcess serverProcess;
+    private final long tickNs = (long) (MinecraftServer.TICK_MS * 1e6);
+
+    // Jitter of the current second
+    private int ticks, lateTicks;
+    private long skippedTicks, totalJitter, maxJitter;
+
+    // Adaptive pacing state
+    private TickPacing.Adaptive adaptive;
+    private double averageTickTime;
+    private int throttleInterval = 1;
+    private long lastThrottleUpdate;
 
     public TickSchedulerThread(ServerProcess serverProcess) {
         super(MinecraftServer.THREAD_NAME_TICK_SCHEDULER);
         this.serverProcess = serverProcess;
     }
 
+    /**
+     * Gets the tick jitter measured over the last second.
+     *
+     * @return the last tick jitter
+     */
+    public static @NotNull TickJitter jitter() {
+        return jitter;
+    }
+
     @Override
     public void run() {
-        final long tickNs = (long) (MinecraftServer.TICK_MS * 1e6);
+        long nextTick = System.nanoTime();
         while (serverProcess.isAlive()) {
             final long tickStart = System.nanoTime();
+            recordJitter(tickStart - nextTick);
             try {
                 serverProcess.ticker().tick(tickStart);
             } catch (Exception e) {
                 serverProcess.exception().handleException(e);
             }
-            final long wait = tickStart + tickNs - System.nanoTime();
-            assert wait <= tickNs : "Wait time is too long: " + (wait / 1e6) + "ms";
-            LockSupport.parkNanos(wait);
+            final long tickEnd = System.nanoTime();
+            nextTick = nextTick(MinecraftServer.getTickPacing(), nextTick, tickStart, tickEnd);
+            sleepUntil(nextTick);
+        }
+    }
+
+    /**
+     * Computes the planned start of the next tick.
+     *
+     * @param pacing    the pacing strategy
+     * @param scheduled the planned start of the last tick
+     * @param tickStart the actual start of the last tick
+     * @param tickEnd   the end of the last tick
+     * @return the planned start of the next tick
+     */
+    long nextTick(@NotNull TickPacing pacing, long scheduled, long tickStart, long tickEnd) {
+        if (adaptive != null && !(pacing instanceof TickPacing.Adaptive)) {
+            // Adaptive pacing disabled, restore the throttled instances
+            updateThrottledInstances(adaptive, 1);
+            this.adaptive = null;
+            this.throttleInterval = 1;
+        }
+        final int maxCatchUpTicks;
+        if (pacing instanceof TickPacing.FixedDelay) {
+            return tickEnd + tickNs;
+        } else if (pacing instanceof TickPacing.FixedRate fixedRate) {
+            maxCatchUpTicks = fixedRate.maxCatchUpTicks();
+        } else if (pacing instanceof TickPacing.Adaptive adaptive) {
+            adapt(adaptive, tickEnd - tickStart, tickEnd);
+            maxCatchUpTicks = 0;
+        } else {
+            throw new IllegalStateException("Unknown pacing: " + pacing);
+        }
+        final long next = scheduled + tickNs;
+        // Ticks planned before this point are too late to be caught up
+        final long limit = tickEnd - maxCatchUpTicks * tickNs;
+        if (next < limit) {
+            this.skippedTicks += (limit - next) / tickNs;
+            return limit;
+        }
+        return next;
+    }
+
+    private void adapt(TickPacing.Adaptive adaptive, long tickTime, long time) {
+        if (this.adaptive != adaptive) {
+            if (this.adaptive != null) updateThrottledInstances(this.adaptive, 1);
+            this.adaptive = adaptive;
+            this.throttleInterval = 1;
+        }
+        this.averageTickTime += (tickTime - averageTickTime) * 0.1;
+        if (time - lastThrottleUpdate < THROTTLE_UPDATE_INTERVAL) return;
+        this.lastThrottleUpdate = time;
+        int interval = throttleInterval;
+        if (averageTickTime > tickNs * 0.9) {
+            interval = Math.min(adaptive.maxInterval(), interval + 1);
+        } else if (averageTickTime < tickNs * 0.5) {
+            interval = Math.max(1, interval - 1);
+        }
+        this.throttleInterval = interval;
+        // Also applied when unchanged, for the instances registered since the last update
+        updateThrottledInstances(adaptive, interval);
+    }
+
+    private void updateThrottledInstances(TickPacing.Adaptive adaptive, int interval) {
+        for (Instance instance : serverProcess.instance().getInstances()) {
+            if (adaptive.throttled().test(instance)) instance.setTickInterval(interval);
+        }
+    }
+
+    private void recordJitter(long delay) {
+        delay = Math.max(0, delay);
+        this.ticks++;
+        if (delay > LATE_THRESHOLD) this.lateTicks++;
+        this.totalJitter += delay;
+        this.maxJitter = Math.max(maxJitter, delay);
+        if (ticks == MinecraftServer.TICK_PER_SECOND) {
+            jitter = new TickJitter(ticks, lateTicks, skippedTicks, totalJitter / 1e6 / ticks, maxJitter / 1e6);
+            this.ticks = 0;
+            this.lateTicks = 0;
+            this.skippedTicks = 0;
+            this.totalJitter = 0;
+            this.maxJitter = 0;
+        }
+    }
+
+    private static void sleepUntil(long deadline) {
+        while (true) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return;
+            if (remaining > SPIN_TIME) {
+                LockSupport.parkNanos(remaining - SPIN_TIME);
+            } else {
+                Thread.onSpinWait();
+            }
         }
     }
 }
@@ -1,16 +1,21 @@
 package net.minestom.server.thread;
 
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.Tickable;
 import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.Player;
 import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.monitoring.TickProfiler;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -21,12 +26,19 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 @ApiStatus.Internal
 public final class TickThread extends MinestomThread {
+    private static final AtomicInteger LOCK_ORDER_COUNTER = new AtomicInteger();
+
     private final ReentrantLock lock = new ReentrantLock();
+    private final int lockOrder = LOCK_ORDER_COUNTER.getAndIncrement();
     private volatile boolean stop;
 
     private CountDownLatch latch;
     private long tickTime;
-    private final List<ThreadDispatcher.Partition> entries = new ArrayList<>();
+    private Set<Instance> skippedInstances = Set.of();
+    // Linked to move partitions between threads without scanning the entries
+    private final Set<ThreadDispatcher.Partition> entries = new ReferenceLinkedOpenHashSet<>();
+    // Time spent waiting on acquisition locks, excluded from the partition tick costs
+    private long waitTime;
 
     public TickThread(int number) {
         super(MinecraftServer.THREAD_NAME_TICK + "-" + number);
@@ -52,26 +64,58 @@ public final class TickThread extends MinestomThread {
     private void tick() {
         final ReentrantLock lock = this.lock;
         final long tickTime = this.tickTime;
+        final TickProfiler.Sampler sampler = TickProfiler.ENABLED ? TickProfiler.sampler() : null;
         for (ThreadDispatcher.Partition entry : entries) {
             assert entry.thread() == this;
             final List<Tickable> elements = entry.elements();
-            if (elements.isEmpty()) continue;
+            if (elements.isEmpty()) {
+                entry.updateTickCost(0);
+                continue;
+            }
+            final long start = System.nanoTime();
+            final long startWaitTime = this.waitTime;
             for (Tickable element : elements) {
+                if (isSkipped(element)) continue;
                 if (lock.hasQueuedThreads()) {
+                    final long yieldStart = System.nanoTime();
                     lock.unlock();
                     // #acquire() callbacks should be called here
                     lock.lock();
+                    this.waitTime += System.nanoTime() - yieldStart;
                 }
                 try {
-                    element.tick(tickTime);
+                    if (sampler != null) {
+                        final long elementStart = System.nanoTime();
+                        element.tick(tickTime);
+                        sampler.element(element, System.nanoTime() - elementStart);
+                    } else {
+                        element.tick(tickTime);
+                    }
                 } catch (Throwable e) {
                     MinecraftServer.getExceptionManager().handleException(e);
                 }
             }
+            final long partitionTime = System.nanoTime() - start - (this.waitTime - startWaitTime);
+            entry.updateTickCost(partitionTime);
+            if (sampler != null) sampler.partition(entry, partitionTime);
+        }
+    }
+
+    private boolean isSkipped(Tickable element) {
+        final Set<Instance> skippedInstances = this.skippedInstances;
+        if (skippedInstances.isEmpty()) return false;
+        final Instance instance;
+        if (element instanceof Chunk chunk) {
+            instance = chunk.getInstance();
+        } else if (element instanceof Entity entity && !(entity instanceof Player)) {
+            instance = entity.getInstance();
+        } else {
+            return false;
         }
+        return instance != null && skippedInstances.contains(instance);
     }
 
-    void startTick(CountDownLatch latch, long tickTime) {
+    void startTick(CountDownLatch latch, long tickTime, Set<Instance> skippedInstances) {
         if (entries.isEmpty()) {
             // Nothing to tick
             latch.countDown();
@@ -79,6 +123,7 @@ public final class TickThread extends MinestomThread {
         }
         this.latch = latch;
         this.tickTime = tickTime;
+        this.skippedInstances = skippedInstances;
         this.stop = false;
         LockSupport.unpark(this);
     }
@@ -96,6 +141,26 @@ public final class TickThread extends MinestomThread {
         return lock;
     }
 
+    /**
+     * Gets the position of this thread's {@link #lock()} in the global acquisition order.
+     * <p>
+     * Unique to each thread, a thread holding its own lock can only wait on the locks of higher order.
+     *
+     * @return the lock order
+     */
+    int lockOrder() {
+        return lockOrder;
+    }
+
+    /**
+     * Records time spent by this thread waiting on another thread's lock.
+     *
+     * @param nanos the waited time in nanoseconds
+     */
+    void addWaitTime(long nanos) {
+        this.waitTime += nanos;
+    }
+
     void shutdown() {
         this.stop = true;
         LockSupport.unpark(this);
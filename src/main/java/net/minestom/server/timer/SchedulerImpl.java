@@ -1,12 +1,10 @@
 package net.minestom.server.timer;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectAVLTreeMap;
+import net.minestom.server.monitoring.TickProfiler;
 import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledExecutorService;
@@ -22,12 +20,20 @@ final class SchedulerImpl implements Scheduler {
         return thread;
     });
     private static final ForkJoinPool EXECUTOR = ForkJoinPool.commonPool();
+    private static final int TICK_WHEEL_SIZE = 64;
+    // Duration timers have a millisecond resolution
+    private static final int DURATION_WHEEL_SIZE = 256;
 
     private final MpscUnboundedArrayQueue<TaskImpl> taskQueue = new MpscUnboundedArrayQueue<>(64);
-    // Tasks scheduled on a certain tick
-    private final Int2ObjectAVLTreeMap<List<TaskImpl>> tickTaskQueue = new Int2ObjectAVLTreeMap<>();
+    // Timers scheduled from any thread, moved to the wheels by the processing thread
+    private final MpscUnboundedArrayQueue<TaskImpl> timerQueue = new MpscUnboundedArrayQueue<>(16);
+    // Created on the first timer, most schedulers never use them
+    private TimingWheel tickWheel, durationWheel;
+    // Thread currently processing, allowed to add timers without going through the queue
+    // Not volatile, a thread can only see itself after setting the field
+    private Thread processingThread;
 
-    private int tickState;
+    private long tickState;
 
     @Override
     public void process() {
@@ -40,23 +46,37 @@ final class SchedulerImpl implements Scheduler {
     }
 
     private void processTick(int tickDelta) {
-        synchronized (this) {
-            this.tickState += tickDelta;
-            int tickToProcess;
-            while (!tickTaskQueue.isEmpty() && (tickToProcess = tickTaskQueue.firstIntKey()) <= tickState) {
-                final List<TaskImpl> tickScheduledTasks = tickTaskQueue.remove(tickToProcess);
-                if (tickScheduledTasks != null) tickScheduledTasks.forEach(taskQueue::relaxedOffer);
-            }
+        this.processingThread = Thread.currentThread();
+        try {
+            processTick0(tickDelta);
+        } finally {
+            this.processingThread = null;
         }
+    }
+
+    private void processTick0(int tickDelta) {
+        // Timers are relative to the last processed tick
+        if (!timerQueue.isEmpty()) this.timerQueue.drain(this::addTimer);
+        this.tickState += tickDelta;
+        if (tickWheel != null) tickWheel.advance(tickState, this::runTask);
+        if (durationWheel != null) durationWheel.advance(currentMillis(), this::runTask);
         // Run all tasks lock-free, either in the current thread or pool
-        if (!taskQueue.isEmpty()) {
-            this.taskQueue.drain(task -> {
-                if (!task.isAlive()) return;
-                switch (task.executionType()) {
-                    case SYNC -> handleTask(task);
-                    case ASYNC -> EXECUTOR.submit(() -> handleTask(task));
+        if (!taskQueue.isEmpty()) this.taskQueue.drain(this::runTask);
+    }
+
+    private void runTask(TaskImpl task) {
+        if (!task.isAlive()) return;
+        switch (task.executionType()) {
+            case SYNC -> {
+                if (TickProfiler.ENABLED) {
+                    final long start = System.nanoTime();
+                    handleTask(task);
+                    TickProfiler.sampler().task(task.id(), task.task(), System.nanoTime() - start);
+                } else {
+                    handleTask(task);
                 }
-            });
+            }
+            case ASYNC -> EXECUTOR.submit(() -> handleTask(task));
         }
     }
 
@@ -88,16 +108,44 @@ final class SchedulerImpl implements Scheduler {
         }
     }
 
+    private void offerTimer(TaskImpl task) {
+        if (processingThread == Thread.currentThread()) {
+            addTimer(task);
+        } else {
+            this.timerQueue.relaxedOffer(task);
+        }
+    }
+
+    private void addTimer(TaskImpl task) {
+        if (task.durationTimer) {
+            if (durationWheel == null) durationWheel = new TimingWheel(DURATION_WHEEL_SIZE, currentMillis());
+            this.durationWheel.schedule(task, task.timerDeadline);
+        } else {
+            if (tickWheel == null) tickWheel = new TimingWheel(TICK_WHEEL_SIZE, tickState);
+            this.tickWheel.schedule(task, tickState + task.timerDeadline);
+        }
+    }
+
+    private static long currentMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
     private void handleTask(TaskImpl task) {
         final TaskSchedule schedule = task.task().get();
         if (schedule instanceof TaskScheduleImpl.DurationSchedule durationSchedule) {
             final Duration duration = durationSchedule.duration();
-            SCHEDULER.schedule(() -> safeExecute(task), duration.toMillis(), TimeUnit.MILLISECONDS);
-        } else if (schedule instanceof TaskScheduleImpl.TickSchedule tickSchedule) {
-            synchronized (this) {
-                final int target = tickState + tickSchedule.tick();
-                this.tickTaskQueue.computeIfAbsent(target, i -> new ArrayList<>()).add(task);
+            if (task.executionType() == ExecutionType.SYNC) {
+                // Run by the processing thread once due
+                task.durationTimer = true;
+                task.timerDeadline = currentMillis() + duration.toMillis();
+                offerTimer(task);
+            } else {
+                SCHEDULER.schedule(() -> safeExecute(task), duration.toMillis(), TimeUnit.MILLISECONDS);
             }
+        } else if (schedule instanceof TaskScheduleImpl.TickSchedule tickSchedule) {
+            task.durationTimer = false;
+            task.timerDeadline = tickSchedule.tick();
+            offerTimer(task);
         } else if (schedule instanceof TaskScheduleImpl.FutureSchedule futureSchedule) {
             futureSchedule.future().thenRun(() -> safeExecute(task));
         } else if (schedule instanceof TaskScheduleImpl.Park) {
@@ -26,6 +26,11 @@ final class TaskImpl implements Task {
     volatile boolean alive;
     volatile boolean parked;
 
+    // Timer state, handed to the processing thread through SchedulerImpl#timerQueue
+    boolean durationTimer;
+    long timerDeadline;
+    TaskImpl timerNext;
+
     TaskImpl(int id,
              @NotNull Supplier<TaskSchedule> task,
              @NotNull ExecutionType executionType,
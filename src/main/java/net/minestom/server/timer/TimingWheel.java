@@ -0,0 +1,120 @@
+package net.minestom.server.timer;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel with two levels.
+ * <p>
+ * The first level has a slot per time unit, the second a slot per round of the first level.
+ * Tasks due in a later round wait in the second level and are moved down when their round starts,
+ * tasks further than the second level stay in their slot until their round comes.
+ * <p>
+ * Tasks are linked through {@link TaskImpl#timerNext} so that scheduling does not allocate.
+ * Not thread-safe, only used by the thread processing the scheduler.
+ */
+final class TimingWheel {
+    private final int shift;
+    private final int mask;
+    private final TaskImpl[] slots;
+    private final TaskImpl[] rounds;
+    private long time;
+
+    TimingWheel(int size, long time) {
+        assert Integer.bitCount(size) == 1 : "Wheel size must be a power of two";
+        this.shift = Integer.numberOfTrailingZeros(size);
+        this.mask = size - 1;
+        this.slots = new TaskImpl[size];
+        this.rounds = new TaskImpl[size];
+        this.time = time;
+    }
+
+    /**
+     * Adds a task to the wheel.
+     *
+     * @param task     the task, not already in a wheel
+     * @param deadline the time at which the task is due, tasks due in the past are run on the next {@link #advance(long, Consumer)}
+     */
+    void schedule(@NotNull TaskImpl task, long deadline) {
+        deadline = Math.max(deadline, time + 1);
+        task.timerDeadline = deadline;
+        if (deadline - time < slots.length) {
+            final int index = (int) (deadline & mask);
+            task.timerNext = slots[index];
+            slots[index] = task;
+        } else {
+            final int index = (int) ((deadline >> shift) & mask);
+            task.timerNext = rounds[index];
+            rounds[index] = task;
+        }
+    }
+
+    /**
+     * Moves the wheel up to {@code now}, removing the due tasks.
+     *
+     * @param now     the current time
+     * @param expired the consumer of the due tasks
+     */
+    void advance(long now, @NotNull Consumer<@NotNull TaskImpl> expired) {
+        if (now <= time) return;
+        if (now - time > (long) slots.length * rounds.length) {
+            // Too far to step through, check every task once
+            TaskImpl all = null;
+            for (TaskImpl[] level : new TaskImpl[][]{slots, rounds}) {
+                for (int i = 0; i < level.length; i++) {
+                    TaskImpl task = level[i];
+                    level[i] = null;
+                    while (task != null) {
+                        final TaskImpl next = task.timerNext;
+                        task.timerNext = all;
+                        all = task;
+                        task = next;
+                    }
+                }
+            }
+            this.time = now;
+            while (all != null) {
+                final TaskImpl next = all.timerNext;
+                all.timerNext = null;
+                if (all.timerDeadline <= now) {
+                    expired.accept(all);
+                } else {
+                    schedule(all, all.timerDeadline);
+                }
+                all = next;
+            }
+            return;
+        }
+        for (long t = time + 1; t <= now; t++) {
+            this.time = t;
+            final int index = (int) (t & mask);
+            if (index == 0) {
+                // New round, move its tasks to the first level
+                final int roundIndex = (int) ((t >> shift) & mask);
+                TaskImpl task = rounds[roundIndex];
+                rounds[roundIndex] = null;
+                while (task != null) {
+                    final TaskImpl next = task.timerNext;
+                    // Tasks due on this exact time would be scheduled after it, add them to the current slot
+                    if (task.timerDeadline == t) {
+                        task.timerNext = slots[index];
+                        slots[index] = task;
+                    } else {
+                        schedule(task, task.timerDeadline);
+                    }
+                    task = next;
+                }
+            }
+            TaskImpl task = slots[index];
+            if (task == null) continue;
+            slots[index] = null;
+            while (task != null) {
+                final TaskImpl next = task.timerNext;
+                task.timerNext = null;
+                expired.accept(task);
+                task = next;
+            }
+        }
+    }
+}
@@ -20,12 +20,13 @@ import java.util.function.UnaryOperator;
 @ApiStatus.Experimental
 public final class ObjectPool<T> {
     private static final int QUEUE_SIZE = 32_768;
-    private static final int BUFFER_SIZE = Integer.getInteger("minestom.pooled-buffer-size", 262_143);
+    static final int BUFFER_SIZE = Integer.getInteger("minestom.pooled-buffer-size", 262_143);
+    // Shared by all pools, each cleaner has its own thread
+    private static final Cleaner CLEANER = Cleaner.create();
 
     public static final ObjectPool<BinaryBuffer> BUFFER_POOL = new ObjectPool<>(() -> BinaryBuffer.ofSize(BUFFER_SIZE), BinaryBuffer::clear);
     public static final ObjectPool<ByteBuffer> PACKET_POOL = new ObjectPool<>(() -> ByteBuffer.allocateDirect(Server.MAX_PACKET_SIZE), ByteBuffer::clear);
 
-    private final Cleaner cleaner = Cleaner.create();
     private final MessagePassingQueue<SoftReference<T>> pool = new MpmcUnboundedXaddArrayQueue<>(QUEUE_SIZE);
     private final Supplier<T> supplier;
     private final UnaryOperator<T> sanitizer;
@@ -64,15 +65,15 @@ public final class ObjectPool<T> {
     }
 
     public void register(@NotNull Object ref, @NotNull AtomicReference<T> objectRef) {
-        this.cleaner.register(ref, new BufferRefCleaner<>(this, objectRef));
+        CLEANER.register(ref, new BufferRefCleaner<>(this, objectRef));
     }
 
     public void register(@NotNull Object ref, @NotNull T object) {
-        this.cleaner.register(ref, new BufferCleaner<>(this, object));
+        CLEANER.register(ref, new BufferCleaner<>(this, object));
     }
 
     public void register(@NotNull Object ref, @NotNull Collection<T> objects) {
-        this.cleaner.register(ref, new BuffersCleaner<>(this, objects));
+        CLEANER.register(ref, new BuffersCleaner<>(this, objects));
     }
 
     public @NotNull Holder hold() {
@@ -17,7 +17,10 @@ import net.minestom.server.adventure.MinestomAdventure;
 import net.minestom.server.adventure.audience.PacketGroupingAudience;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.Player;
+import net.minestom.server.network.CompressionPolicy;
 import net.minestom.server.network.NetworkBuffer;
+import net.minestom.server.network.PacketCompressor;
+import net.minestom.server.network.PacketMetrics;
 import net.minestom.server.network.packet.server.*;
 import net.minestom.server.network.player.PlayerConnection;
 import net.minestom.server.network.player.PlayerSocketConnection;
@@ -33,7 +36,6 @@ import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.zip.DataFormatException;
-import java.util.zip.Deflater;
 import java.util.zip.Inflater;
 
 /**
@@ -45,7 +47,8 @@ import java.util.zip.Inflater;
  * Be sure to check the implementation code.
  */
 public final class PacketUtils {
-    private static final ThreadLocal<Deflater> LOCAL_DEFLATER = ThreadLocal.withInitial(Deflater::new);
+    private static final PacketCompressor COMPRESSOR = PacketCompressor.load();
+    private static final ThreadLocal<Inflater> LOCAL_INFLATER = ThreadLocal.withInitial(Inflater::new);
 
     public static final boolean GROUPED_PACKET = PropertyUtils.getBoolean("minestom.grouped-packet", true);
     public static final boolean CACHED_PACKET = PropertyUtils.getBoolean("minestom.cached-packet", true);
@@ -214,13 +217,22 @@ public final class PacketUtils {
                         // Data is too small to be compressed, payload is following
                         decompressedSize = payloadLength;
                     } else {
+                        if (dataLength > pool.capacity()) {
+                            throw new DataFormatException("Decompressed size " + dataLength + " exceeds the maximum packet size");
+                        }
                         // Decompress to content buffer
                         content = BinaryBuffer.wrap(pool);
                         decompressedSize = dataLength;
-                        Inflater inflater = new Inflater(); // TODO: Pool?
-                        inflater.setInput(readBuffer.asByteBuffer(readBuffer.readerOffset(), payloadLength));
-                        inflater.inflate(content.asByteBuffer(0, dataLength));
-                        inflater.reset();
+                        Inflater inflater = LOCAL_INFLATER.get();
+                        try {
+                            inflater.setInput(readBuffer.asByteBuffer(readBuffer.readerOffset(), payloadLength));
+                            final int inflated = inflater.inflate(content.asByteBuffer(0, dataLength));
+                            if (inflated != dataLength) {
+                                throw new DataFormatException("Invalid decompressed size " + inflated + ", expected " + dataLength);
+                            }
+                        } finally {
+                            inflater.reset();
+                        }
                     }
                 }
                 // Slice packet
@@ -254,6 +266,33 @@ public final class PacketUtils {
                                          int id,
                                          @NotNull NetworkBuffer.Writer writer,
                                          int compressionThreshold) {
+        writeFramedPacket(buffer, id, writer, compressionThreshold, null);
+    }
+
+    /**
+     * Writes a framed packet, compressed as decided by {@link MinecraftServer#getCompressionPolicy()}.
+     *
+     * @param connection the connection the packet is written to, null if it is shared between connections
+     */
+    @ApiStatus.Internal
+    public static void writeFramedPacket(@NotNull ByteBuffer buffer,
+                                         int id,
+                                         @NotNull NetworkBuffer.Writer writer,
+                                         int compressionThreshold,
+                                         @Nullable PlayerConnection connection) {
+        if (!PacketMetrics.ENABLED) {
+            writeFramedPacket0(buffer, id, writer, compressionThreshold, connection);
+            return;
+        }
+        final long start = System.nanoTime();
+        final int position = buffer.position();
+        final int packetSize = writeFramedPacket0(buffer, id, writer, compressionThreshold, connection);
+        PacketMetrics.recordEncode(id, packetSize, buffer.position() - position, System.nanoTime() - start);
+    }
+
+    // Returns the size of the packet id and payload, before compression
+    private static int writeFramedPacket0(ByteBuffer buffer, int id, NetworkBuffer.Writer writer,
+                                          int compressionThreshold, PlayerConnection connection) {
         NetworkBuffer networkBuffer = new NetworkBuffer(buffer, false);
         if (compressionThreshold <= 0) {
             // Uncompressed format https://wiki.vg/Protocol#Without_compression
@@ -263,7 +302,7 @@ public final class PacketUtils {
             final int finalSize = networkBuffer.writeIndex() - (lengthIndex + 3);
             Utils.writeVarIntHeader(buffer, lengthIndex, finalSize);
             buffer.position(networkBuffer.writeIndex());
-            return;
+            return finalSize;
         }
         // Compressed format https://wiki.vg/Protocol#With_compression
         final int compressedIndex = networkBuffer.skipWrite(3);
@@ -273,18 +312,24 @@ public final class PacketUtils {
         networkBuffer.write(NetworkBuffer.VAR_INT, id);
         networkBuffer.write(writer);
         final int packetSize = networkBuffer.writeIndex() - contentStart;
-        final boolean compressed = packetSize >= compressionThreshold;
-        if (compressed) {
-            // Packet large enough, compress it
-            try (var hold = ObjectPool.PACKET_POOL.hold()) {
-                final ByteBuffer input = hold.get().put(0, buffer, contentStart, packetSize);
-                Deflater deflater = LOCAL_DEFLATER.get();
-                deflater.setInput(input.limit(packetSize));
-                deflater.finish();
-                deflater.deflate(buffer.position(contentStart));
-                deflater.reset();
-
-                networkBuffer.skipWrite(buffer.position() - contentStart);
+        boolean compressed = false;
+        if (packetSize >= compressionThreshold) {
+            // Packet large enough, compress it unless the policy decides otherwise
+            final CompressionPolicy policy = MinecraftServer.getCompressionPolicy();
+            final int level = policy.level(connection, writer, id, packetSize);
+            if (level != CompressionPolicy.SKIP) {
+                try (var hold = ObjectPool.PACKET_POOL.hold()) {
+                    final ByteBuffer input = hold.get().put(0, buffer, contentStart, packetSize).limit(packetSize);
+                    compressed = COMPRESSOR.compress(input, buffer.position(contentStart), level);
+                    if (compressed) {
+                        final int compressedSize = buffer.position() - contentStart;
+                        networkBuffer.writeIndex(contentStart + compressedSize);
+                        policy.sample(id, packetSize, compressedSize);
+                    } else {
+                        // Not enough space, restore the uncompressed packet
+                        buffer.put(contentStart, input, 0, packetSize);
+                    }
+                }
             }
         }
         // Packet header (Packet + Data Length)
@@ -292,6 +337,7 @@ public final class PacketUtils {
         Utils.writeVarIntHeader(buffer, uncompressedIndex, compressed ? packetSize : 0);
 
         buffer.position(networkBuffer.writeIndex());
+        return packetSize;
     }
 
     @ApiStatus.Internal
@@ -300,6 +346,13 @@ public final class PacketUtils {
         return buffer.flip();
     }
 
+    @ApiStatus.Internal
+    public static ByteBuffer createFramedPacket(@NotNull ByteBuffer buffer, @NotNull ServerPacket packet, boolean compression,
+                                                @Nullable PlayerConnection connection) {
+        writeFramedPacket(buffer, packet.getId(), packet, compression ? MinecraftServer.getCompressionThreshold() : 0, connection);
+        return buffer.flip();
+    }
+
     @ApiStatus.Internal
     public static ByteBuffer createFramedPacket(@NotNull ByteBuffer buffer, @NotNull ServerPacket packet) {
         return createFramedPacket(buffer, packet, MinecraftServer.getCompressionThreshold() > 0);
@@ -318,25 +371,46 @@ public final class PacketUtils {
     private static final class ViewableStorage {
         // Player id -> list of offsets to ignore (32:32 bits)
         private final Int2ObjectMap<LongArrayList> entityIdMap = new Int2ObjectOpenHashMap<>();
-        private final BinaryBuffer buffer = ObjectPool.BUFFER_POOL.getAndRegister(this);
+        // Packets waiting for the next flush, only allocated when needed and handed over to the viewers
+        private SharedBuffer buffer;
+        // Size of the last flushed buffer, the next one starts at the same size
+        private int lastSize;
 
         private synchronized void append(Viewable viewable, ServerPacket serverPacket, Player player) {
             try (var hold = ObjectPool.PACKET_POOL.hold()) {
                 final ByteBuffer framedPacket = createFramedPacket(hold.get(), serverPacket);
                 final int packetSize = framedPacket.limit();
-                if (packetSize >= buffer.capacity()) {
+                if (packetSize >= SharedBuffer.MAX_POOLED_SIZE) {
                     process(viewable);
+                    SharedBuffer packet = SharedBuffer.allocate(packetSize);
+                    packet.buffer().put(framedPacket);
                     for (Player viewer : viewable.getViewers()) {
                         if (!Objects.equals(player, viewer)) {
-                            writeTo(viewer.getPlayerConnection(), framedPacket, 0, packetSize);
+                            writeTo(viewer.getPlayerConnection(), packet, 0, packetSize);
                         }
                     }
+                    packet.release();
                     return;
                 }
-                if (!buffer.canWrite(packetSize)) process(viewable);
-                final int start = buffer.writerOffset();
-                this.buffer.write(framedPacket);
-                final int end = buffer.writerOffset();
+                SharedBuffer buffer = this.buffer;
+                if (buffer == null) {
+                    buffer = this.buffer = SharedBuffer.allocate(Math.max(lastSize, packetSize));
+                } else if (buffer.buffer().remaining() < packetSize) {
+                    final int size = buffer.buffer().position();
+                    if (size + packetSize <= SharedBuffer.MAX_POOLED_SIZE) {
+                        // Grow to the next size
+                        SharedBuffer grown = SharedBuffer.allocate(size + packetSize);
+                        grown.buffer().put(buffer.slice(0, size));
+                        buffer.release();
+                        buffer = this.buffer = grown;
+                    } else {
+                        process(viewable);
+                        buffer = this.buffer = SharedBuffer.allocate(packetSize);
+                    }
+                }
+                final int start = buffer.buffer().position();
+                buffer.buffer().put(framedPacket);
+                final int end = buffer.buffer().position();
                 if (player != null) {
                     final long offsets = (long) start << 32 | end & 0xFFFFFFFFL;
                     LongList list = entityIdMap.computeIfAbsent(player.getEntityId(), id -> new LongArrayList());
@@ -346,16 +420,17 @@ public final class PacketUtils {
         }
 
         private synchronized void process(Viewable viewable) {
-            if (buffer.writerOffset() == 0) return;
-            ByteBuffer copy = ByteBuffer.allocateDirect(buffer.writerOffset());
-            copy.put(buffer.asByteBuffer(0, copy.capacity()));
-            viewable.getViewers().forEach(player -> processPlayer(player, copy));
-            this.buffer.clear();
+            final SharedBuffer buffer = this.buffer;
+            if (buffer == null) return;
+            final int size = buffer.buffer().position();
+            viewable.getViewers().forEach(player -> processPlayer(player, buffer, size));
+            buffer.release();
+            this.buffer = null;
+            this.lastSize = size;
             this.entityIdMap.clear();
         }
 
-        private void processPlayer(Player player, ByteBuffer buffer) {
-            final int size = buffer.limit();
+        private void processPlayer(Player player, SharedBuffer buffer, int size) {
             final PlayerConnection connection = player.getPlayerConnection();
             final LongArrayList pairs = entityIdMap.get(player.getEntityId());
             if (pairs != null) {
@@ -375,7 +450,7 @@ public final class PacketUtils {
             }
         }
 
-        private static void writeTo(PlayerConnection connection, ByteBuffer buffer, int offset, int length) {
+        private static void writeTo(PlayerConnection connection, SharedBuffer buffer, int offset, int length) {
             if (connection instanceof PlayerSocketConnection socketConnection) {
                 socketConnection.write(buffer, offset, length);
                 return;
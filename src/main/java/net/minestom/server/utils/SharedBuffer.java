@@ -0,0 +1,107 @@
+package net.minestom.server.utils;
+
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+
+/**
+ * Reference counted direct buffer, written once then read by any number of connections.
+ * <p>
+ * Buffers are pooled by power of two sizes from 1 KiB up to {@link #MAX_POOLED_SIZE},
+ * and go back to their pool once every reference has been released.
+ * Larger buffers are allocated on demand and left to the garbage collector.
+ */
+@ApiStatus.Internal
+public final class SharedBuffer {
+    private static final int MIN_SHIFT = 10;
+    private static final int MAX_SHIFT = Math.max(MIN_SHIFT, 32 - Integer.numberOfLeadingZeros(ObjectPool.BUFFER_SIZE - 1));
+    public static final int MAX_POOLED_SIZE = 1 << MAX_SHIFT;
+
+    private static final ObjectPool<SharedBuffer>[] POOLS;
+    private static final VarHandle REFERENCES;
+
+    static {
+        //noinspection unchecked
+        POOLS = new ObjectPool[MAX_SHIFT - MIN_SHIFT + 1];
+        for (int i = 0; i < POOLS.length; i++) {
+            final int size = 1 << (MIN_SHIFT + i);
+            final int poolIndex = i;
+            POOLS[i] = new ObjectPool<>(() -> new SharedBuffer(ByteBuffer.allocateDirect(size), poolIndex), SharedBuffer::clear);
+        }
+        try {
+            REFERENCES = MethodHandles.lookup().findVarHandle(SharedBuffer.class, "references", int.class);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final int poolIndex;
+    @SuppressWarnings("unused")
+    private volatile int references;
+
+    private SharedBuffer(ByteBuffer buffer, int poolIndex) {
+        this.buffer = buffer;
+        this.poolIndex = poolIndex;
+    }
+
+    /**
+     * Gets an empty buffer of at least {@code capacity} bytes, with a single reference owned by the caller.
+     *
+     * @param capacity the minimum capacity
+     * @return a new or recycled buffer
+     */
+    public static @NotNull SharedBuffer allocate(int capacity) {
+        final SharedBuffer result;
+        if (capacity > MAX_POOLED_SIZE) {
+            result = new SharedBuffer(ByteBuffer.allocateDirect(capacity), -1);
+        } else {
+            final int shift = 32 - Integer.numberOfLeadingZeros(Math.max(capacity, 1) - 1);
+            result = POOLS[Math.max(shift - MIN_SHIFT, 0)].get();
+        }
+        result.references = 1;
+        return result;
+    }
+
+    /**
+     * Gets the backing buffer, written from its position.
+     * <p>
+     * Must not be modified once shared.
+     *
+     * @return the backing buffer
+     */
+    public @NotNull ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Gets an independent view of a region of the buffer.
+     *
+     * @param index  the region start
+     * @param length the region length
+     * @return the view, only valid until its reference is released
+     */
+    public @NotNull ByteBuffer slice(int index, int length) {
+        return buffer.slice(index, length);
+    }
+
+    public void retain() {
+        final int previous = (int) REFERENCES.getAndAdd(this, 1);
+        Check.stateCondition(previous <= 0, "Buffer has already been released");
+    }
+
+    public void release() {
+        final int remaining = (int) REFERENCES.getAndAdd(this, -1) - 1;
+        Check.stateCondition(remaining < 0, "Buffer has already been released");
+        if (remaining == 0 && poolIndex != -1) POOLS[poolIndex].add(this);
+    }
+
+    private SharedBuffer clear() {
+        this.buffer.clear();
+        return this;
+    }
+}
@@ -28,6 +28,9 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class EntityFinder {
 
+    // Above this distance, filtering every entity of the instance is cheaper than a nearby query
+    private static final int MAX_NEARBY_DISTANCE = 256;
+
     private TargetSelector targetSelector;
 
     private EntitySort entitySort = EntitySort.ARBITRARY;
@@ -138,7 +141,14 @@ public class EntityFinder {
 
         final Point pos = startPosition != null ? startPosition : (self != null ? self.getPosition() : Vec.ZERO);
 
-        List<Entity> result = findTarget(instance, targetSelector, pos, self);
+        List<Entity> result;
+        if (instance != null && targetSelector == TargetSelector.ALL_ENTITIES &&
+                distance != null && distance.getMaximum() <= MAX_NEARBY_DISTANCE) {
+            // Only query the entities around the position
+            result = List.copyOf(instance.getNearbyEntities(pos, distance.getMaximum()));
+        } else {
+            result = findTarget(instance, targetSelector, pos, self);
+        }
         // Fast exit if there is nothing to process
         if (result.isEmpty())
             return result;
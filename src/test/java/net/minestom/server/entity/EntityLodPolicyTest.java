@@ -0,0 +1,28 @@
+package net.minestom.server.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EntityLodPolicyTest {
+
+    @Test
+    public void bands() {
+        var policy = EntityLodPolicy.bands(new EntityLodPolicy.Band(16, 1), new EntityLodPolicy.Band(48, 2),
+                new EntityLodPolicy.Band(96, 4));
+        assertEquals(1, policy.interval(null, null, 0));
+        assertEquals(1, policy.interval(null, null, 16 * 16));
+        assertEquals(2, policy.interval(null, null, 17 * 17));
+        assertEquals(4, policy.interval(null, null, 96 * 96));
+        assertEquals(4, policy.interval(null, null, 500 * 500));
+    }
+
+    @Test
+    public void invalidBands() {
+        assertThrows(IllegalArgumentException.class, EntityLodPolicy::bands);
+        assertThrows(IllegalArgumentException.class, () -> new EntityLodPolicy.Band(16, 0));
+        assertThrows(IllegalArgumentException.class, () -> EntityLodPolicy.bands(
+                new EntityLodPolicy.Band(32, 1), new EntityLodPolicy.Band(16, 2)));
+    }
+}
@@ -0,0 +1,107 @@
+package net.minestom.server.entity;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.network.packet.server.play.EntityHeadLookPacket;
+import net.minestom.server.network.packet.server.play.EntityPositionAndRotationPacket;
+import net.minestom.server.network.packet.server.play.EntityRotationPacket;
+import net.minestom.server.network.packet.server.play.EntityTeleportPacket;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@EnvTest
+public class EntityMovementIntegrationTest {
+
+    @Test
+    public void mergeMovement(Env env) {
+        assumeTrue(MovementAggregator.ENABLED);
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        connection.connect(instance, new Pos(0, 40, 0)).join();
+        var entity = new Entity(EntityType.ZOMBIE);
+        entity.setInstance(instance, new Pos(0, 40, 0)).join();
+        // Send packets directly to the viewers
+        entity.updateViewableRule(player -> true);
+        assertEquals(1, entity.getViewers().size());
+
+        var moveTracker = connection.trackIncoming(EntityPositionAndRotationPacket.class);
+        var headTracker = connection.trackIncoming(EntityHeadLookPacket.class);
+        var rotationTracker = connection.trackIncoming(EntityRotationPacket.class);
+        entity.refreshPosition(new Pos(0.5, 40, 0));
+        entity.refreshPosition(new Pos(1, 40, 0));
+        entity.setView(90, 0);
+        MovementAggregator.flush();
+
+        moveTracker.assertSingle(packet -> {
+            assertEquals(entity.getEntityId(), packet.entityId());
+            assertEquals(32 * 128, packet.deltaX());
+            assertEquals(0, packet.deltaY());
+            assertEquals(90, packet.yaw());
+        });
+        headTracker.assertSingle(packet -> assertEquals(90, packet.yaw()));
+        rotationTracker.assertEmpty();
+    }
+
+    @Test
+    public void teleportCancelsMovement(Env env) {
+        assumeTrue(MovementAggregator.ENABLED);
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        connection.connect(instance, new Pos(0, 40, 0)).join();
+        var entity = new Entity(EntityType.ZOMBIE);
+        entity.setInstance(instance, new Pos(0, 40, 0)).join();
+        entity.updateViewableRule(player -> true);
+
+        var moveTracker = connection.trackIncoming(EntityPositionAndRotationPacket.class);
+        var teleportTracker = connection.trackIncoming(EntityTeleportPacket.class);
+        entity.refreshPosition(new Pos(1, 40, 0));
+        entity.teleport(new Pos(2, 40, 0)).join();
+        MovementAggregator.flush();
+
+        moveTracker.assertEmpty();
+        teleportTracker.assertSingle(packet -> assertEquals(new Pos(2, 40, 0), packet.position()));
+    }
+
+    @Test
+    public void delayedViewer(Env env) {
+        assumeTrue(MovementAggregator.ENABLED);
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        connection.connect(instance, new Pos(0, 40, 0)).join();
+        var entity = new Entity(EntityType.ZOMBIE);
+        entity.setInstance(instance, new Pos(0, 40, 0)).join();
+        entity.updateViewableRule(player -> true);
+
+        AtomicInteger interval = new AtomicInteger(Integer.MAX_VALUE);
+        MinecraftServer.setEntityLodPolicy((e, viewer, distanceSquared) -> interval.get());
+        try {
+            var moveTracker = connection.trackIncoming(EntityPositionAndRotationPacket.class);
+            var teleportTracker = connection.trackIncoming(EntityTeleportPacket.class);
+            entity.refreshPosition(new Pos(1, 40, 0));
+            MovementAggregator.flush();
+            entity.refreshPosition(new Pos(2, 40, 0));
+            MovementAggregator.flush();
+            moveTracker.assertEmpty();
+            teleportTracker.assertEmpty();
+
+            // Delayed state is sent as soon as the viewer is due
+            interval.set(1);
+            MovementAggregator.flush();
+            moveTracker.assertEmpty();
+            teleportTracker.assertSingle(packet -> assertEquals(new Pos(2, 40, 0), packet.position()));
+
+            moveTracker = connection.trackIncoming(EntityPositionAndRotationPacket.class);
+            entity.refreshPosition(new Pos(3, 40, 0));
+            MovementAggregator.flush();
+            moveTracker.assertSingle(packet -> assertEquals(32 * 128, packet.deltaX()));
+        } finally {
+            MinecraftServer.setEntityLodPolicy(EntityLodPolicy.NONE);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import net.minestom.server.utils.chunk.ChunkUtils;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -73,6 +74,7 @@ public class PlayerMovementIntegrationTest {
         final CompletableFuture<@NotNull Player> future = connection.connect(flatInstance, new Pos(0.5, 40, 0.5));
         Collector<ChunkDataPacket> chunkDataPacketCollector = connection.trackIncoming(ChunkDataPacket.class);
         final Player player = future.join();
+        env.tickWhile(() -> player.getChunkSendQueue().getPendingChunks() > 0, Duration.ofSeconds(5));
         // Initial join
         chunkDataPacketCollector.assertCount(MathUtils.square(viewDiameter));
         player.addPacketToQueue(new ClientTeleportConfirmPacket(player.getLastSentTeleportId()));
@@ -81,30 +83,35 @@ public class PlayerMovementIntegrationTest {
         chunkDataPacketCollector = connection.trackIncoming(ChunkDataPacket.class);
         player.addPacketToQueue(new ClientPlayerPositionPacket(new Vec(-0.5, 40, 0.5), true));
         player.interpretPacketQueue();
+        env.tickWhile(() -> player.getChunkSendQueue().getPendingChunks() > 0, Duration.ofSeconds(5));
         chunkDataPacketCollector.assertCount(viewDiameter);
 
         // Move to next chunk
         chunkDataPacketCollector = connection.trackIncoming(ChunkDataPacket.class);
         player.addPacketToQueue(new ClientPlayerPositionPacket(new Vec(-0.5, 40, -0.5), true));
         player.interpretPacketQueue();
+        env.tickWhile(() -> player.getChunkSendQueue().getPendingChunks() > 0, Duration.ofSeconds(5));
         chunkDataPacketCollector.assertCount(viewDiameter);
 
         // Move to next chunk
         chunkDataPacketCollector = connection.trackIncoming(ChunkDataPacket.class);
         player.addPacketToQueue(new ClientPlayerPositionPacket(new Vec(0.5, 40, -0.5), true));
         player.interpretPacketQueue();
+        env.tickWhile(() -> player.getChunkSendQueue().getPendingChunks() > 0, Duration.ofSeconds(5));
         chunkDataPacketCollector.assertCount(viewDiameter);
 
         // Move to next chunk
         chunkDataPacketCollector = connection.trackIncoming(ChunkDataPacket.class);
         player.addPacketToQueue(new ClientPlayerPositionPacket(new Vec(0.5, 40, 0.5), true));
         player.interpretPacketQueue();
+        env.tickWhile(() -> player.getChunkSendQueue().getPendingChunks() > 0, Duration.ofSeconds(5));
         chunkDataPacketCollector.assertEmpty();
 
         // Move to next chunk
         chunkDataPacketCollector = connection.trackIncoming(ChunkDataPacket.class);
         player.addPacketToQueue(new ClientPlayerPositionPacket(new Vec(0.5, 40, -0.5), true));
         player.interpretPacketQueue();
+        env.tickWhile(() -> player.getChunkSendQueue().getPendingChunks() > 0, Duration.ofSeconds(5));
         chunkDataPacketCollector.assertEmpty();
 
         // Move to next chunk
@@ -112,6 +119,7 @@ public class PlayerMovementIntegrationTest {
         // Abuse the fact that there is no delta check
         player.addPacketToQueue(new ClientPlayerPositionPacket(new Vec(16.5, 40, -16.5), true));
         player.interpretPacketQueue();
+        env.tickWhile(() -> player.getChunkSendQueue().getPendingChunks() > 0, Duration.ofSeconds(5));
         chunkDataPacketCollector.assertCount(viewDiameter * 2 - 1);
     }
 }
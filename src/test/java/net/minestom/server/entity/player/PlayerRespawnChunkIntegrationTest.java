@@ -11,6 +11,7 @@ import net.minestom.testing.Env;
 import net.minestom.testing.EnvTest;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -44,6 +45,7 @@ public class PlayerRespawnChunkIntegrationTest {
         var loadChunkTracker = connection.trackIncoming(ChunkDataPacket.class);
         player.setHealth(0);
         player.respawn();
+        env.tickWhile(() -> player.getChunkSendQueue().getPendingChunks() > 0, Duration.ofSeconds(5));
         // Player should have all their chunks reloaded
         int chunkLoads = ChunkUtils.getChunkCount(Math.min(MinecraftServer.getChunkViewDistance(), player.getSettings().getViewDistance()));
         loadChunkTracker.assertCount(chunkLoads);
@@ -59,6 +61,7 @@ public class PlayerRespawnChunkIntegrationTest {
         player.setHealth(0);
         player.addPacketToQueue(new ClientStatusPacket(ClientStatusPacket.Action.PERFORM_RESPAWN));
         player.interpretPacketQueue();
+        env.tickWhile(() -> player.getChunkSendQueue().getPendingChunks() > 0, Duration.ofSeconds(5));
         List<ChunkDataPacket> dataPacketList = loadChunkTracker.collect();
         Set<ChunkDataPacket> duplicateCheck = new HashSet<>();
         int actualViewDistance = Math.min(MinecraftServer.getChunkViewDistance(), player.getSettings().getViewDistance());
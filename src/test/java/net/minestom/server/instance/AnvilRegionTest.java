@@ -0,0 +1,78 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.jglrxavpok.hephaistos.nbt.NBT;
+import org.jglrxavpok.hephaistos.nbt.NBTCompound;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class AnvilRegionTest {
+
+    @Test
+    public void missingChunk(@TempDir Path folder) throws Exception {
+        try (var region = new AnvilRegion(folder.resolve("r.0.0.mca"), 0, 0)) {
+            assertNull(region.readChunk(0, 0));
+            assertNull(region.readChunk(31, 31));
+        }
+    }
+
+    @Test
+    public void writeBatch(@TempDir Path folder) throws Exception {
+        final Path file = folder.resolve("r.-1.0.mca");
+        try (var region = new AnvilRegion(file, -1, 0)) {
+            Int2ObjectMap<byte[]> chunks = new Int2ObjectOpenHashMap<>();
+            for (int x = -32; x < -28; x++) {
+                for (int z = 0; z < 4; z++) {
+                    chunks.put(AnvilRegion.index(x, z), AnvilRegion.compress(chunk(x, z, 16)));
+                }
+            }
+            region.writeChunks(chunks);
+            assertEquals(chunk(-30, 2, 16), region.readChunk(-30, 2));
+        }
+        // Reopen
+        try (var region = new AnvilRegion(file, -1, 0)) {
+            for (int x = -32; x < -28; x++) {
+                for (int z = 0; z < 4; z++) {
+                    assertEquals(chunk(x, z, 16), region.readChunk(x, z));
+                }
+            }
+            assertNull(region.readChunk(-1, 31));
+        }
+    }
+
+    @Test
+    public void growChunk(@TempDir Path folder) throws Exception {
+        final Path file = folder.resolve("r.0.0.mca");
+        try (var region = new AnvilRegion(file, 0, 0)) {
+            region.writeChunks(new Int2ObjectOpenHashMap<>(Map.of(
+                    AnvilRegion.index(0, 0), AnvilRegion.compress(chunk(0, 0, 16)),
+                    AnvilRegion.index(1, 0), AnvilRegion.compress(chunk(1, 0, 16)))));
+            // Does not fit in its previous sectors anymore
+            region.writeChunks(new Int2ObjectOpenHashMap<>(Map.of(
+                    AnvilRegion.index(0, 0), AnvilRegion.compress(chunk(0, 0, 20_000)))));
+            assertEquals(chunk(0, 0, 20_000), region.readChunk(0, 0));
+            assertEquals(chunk(1, 0, 16), region.readChunk(1, 0));
+        }
+        try (var region = new AnvilRegion(file, 0, 0)) {
+            assertEquals(chunk(0, 0, 20_000), region.readChunk(0, 0));
+            assertEquals(chunk(1, 0, 16), region.readChunk(1, 0));
+        }
+    }
+
+    private static NBTCompound chunk(int x, int z, int size) {
+        byte[] data = new byte[size];
+        new Random(x * 31L + z).nextBytes(data);
+        return NBT.Compound(Map.of(
+                "xPos", NBT.Int(x),
+                "zPos", NBT.Int(z),
+                "data", NBT.ByteArray(data)));
+    }
+}
@@ -0,0 +1,77 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.network.packet.server.play.ChunkDataPacket;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnvTest
+public class ChunkSendQueueIntegrationTest {
+
+    @Test
+    public void closestFirst(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        var tracker = connection.trackIncoming(ChunkDataPacket.class);
+        var player = connection.connect(instance, new Pos(40, 40, -24)).join();
+        var queue = player.getChunkSendQueue();
+        env.tickWhile(() -> queue.getPendingChunks() > 0, Duration.ofSeconds(5));
+
+        var packets = tracker.collect();
+        final int count = ChunkUtils.getChunkCount(MinecraftServer.getChunkViewDistance());
+        assertEquals(count, packets.size());
+        assertEquals(2, packets.get(0).chunkX());
+        assertEquals(-2, packets.get(0).chunkZ());
+        int previousRing = 0;
+        for (ChunkDataPacket packet : packets) {
+            final int ring = Math.max(Math.abs(packet.chunkX() - 2), Math.abs(packet.chunkZ() + 2));
+            assertTrue(ring >= previousRing, "Chunks must be sent from the center");
+            previousRing = ring;
+        }
+        assertEquals(count, queue.getSentChunks());
+        assertTrue(queue.getSentBytes() > 0);
+    }
+
+    @Test
+    public void tickBudget(Env env) {
+        var instance = env.createFlatInstance();
+        var player = env.createPlayer(instance, new Pos(0, 40, 0));
+        for (int x = 100; x < 103; x++) instance.loadChunk(x, 0).join();
+
+        // Any chunk exceeds the budget, only one is sent each tick
+        var queue = new ChunkSendQueue(player, 1, Integer.MAX_VALUE);
+        for (int x = 100; x < 103; x++) queue.add(x, 0);
+        for (int i = 1; i <= 3; i++) {
+            queue.tick();
+            assertEquals(i, queue.getSentChunks());
+            assertEquals(3 - i, queue.getPendingChunks());
+            assertTrue(queue.getLastTickBytes() > 0);
+        }
+        assertTrue(queue.getSentBytes() >= queue.getLastTickBytes());
+    }
+
+    @Test
+    public void fullBacklog(Env env) {
+        var instance = env.createFlatInstance();
+        var player = env.createPlayer(instance, new Pos(0, 40, 0));
+        instance.loadChunk(100, 0).join();
+
+        // No room left in the connection backlog, chunks wait for the client to catch up
+        var queue = new ChunkSendQueue(player, Integer.MAX_VALUE, 0);
+        queue.add(100, 0);
+        for (int i = 0; i < 3; i++) {
+            queue.tick();
+            assertEquals(0, queue.getSentChunks());
+            assertEquals(0, queue.getLastTickBytes());
+        }
+        assertEquals(1, queue.getPendingChunks());
+    }
+}
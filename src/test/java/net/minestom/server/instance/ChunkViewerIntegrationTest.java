@@ -10,6 +10,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @EnvTest
@@ -45,6 +47,7 @@ public class ChunkViewerIntegrationTest {
         {
             var tracker = connection.trackIncoming(ChunkDataPacket.class);
             var player = connection.connect(instance, new Pos(0, 40, 0)).join();
+            env.tickWhile(() -> player.getChunkSendQueue().getPendingChunks() > 0, Duration.ofSeconds(5));
             assertEquals(instance, player.getInstance());
             assertEquals(new Pos(0, 40, 0), player.getPosition());
             assertEquals(count, tracker.collect().size());
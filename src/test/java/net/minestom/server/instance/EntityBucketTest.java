@@ -0,0 +1,91 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.coordinate.Vec;
+import org.junit.jupiter.api.Test;
+import space.vectrix.flare.fastutil.Long2ObjectSyncMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityBucketTest {
+    @Test
+    public void swapRemove() {
+        EntityBucket bucket = new EntityBucket(0);
+        List<EntityBucket.Tracked> tracked = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            var entry = new EntityBucket.Tracked(null, 1, 1, Vec.ZERO);
+            tracked.add(entry);
+            bucket.add(entry);
+            assertEquals(i, entry.slots[0]);
+        }
+        assertEquals(5, bucket.size());
+
+        bucket.remove(tracked.get(1));
+        assertEquals(4, bucket.size());
+        assertEquals(-1, tracked.get(1).slots[0]);
+        // Last entry moved in place of the removed one
+        assertEquals(1, tracked.get(4).slots[0]);
+
+        // Removing twice is a no-op
+        bucket.remove(tracked.get(1));
+        assertEquals(4, bucket.size());
+
+        List<EntityBucket.Tracked> result = new ArrayList<>();
+        bucket.forEach(result::add);
+        assertEquals(4, result.size());
+        assertFalse(result.contains(tracked.get(1)));
+    }
+
+    @Test
+    public void removeWhileIterating() {
+        EntityBucket bucket = new EntityBucket(0);
+        for (int i = 0; i < 100; i++) {
+            bucket.add(new EntityBucket.Tracked(null, 1, 1, Vec.ZERO));
+        }
+        List<EntityBucket.Tracked> visited = new ArrayList<>();
+        bucket.forEach(entry -> {
+            visited.add(entry);
+            bucket.remove(entry);
+        });
+        assertEquals(100, visited.size());
+        assertEquals(0, bucket.size());
+    }
+
+    @Test
+    public void view() {
+        EntityBucket bucket = new EntityBucket(0);
+        var view = new EntityBucket.View<>(() -> bucket);
+        assertTrue(view.isEmpty());
+        bucket.add(new EntityBucket.Tracked(null, 1, 1, Vec.ZERO));
+        assertEquals(1, view.size());
+        assertThrows(UnsupportedOperationException.class, () -> view.add(null));
+
+        var empty = new EntityBucket.View<>(() -> null);
+        assertTrue(empty.isEmpty());
+        assertFalse(empty.iterator().hasNext());
+    }
+
+    @Test
+    public void discard() {
+        Long2ObjectSyncMap<EntityBucket> buckets = Long2ObjectSyncMap.hashmap();
+        var first = new EntityBucket.Tracked(null, 1, 1, Vec.ZERO);
+        var second = new EntityBucket.Tracked(null, 1, 1, Vec.ZERO);
+        EntityBucket.add(buckets, 5, 0, first);
+        EntityBucket.add(buckets, 5, 0, second);
+        final EntityBucket bucket = buckets.get(5);
+        assertEquals(2, bucket.size());
+
+        EntityBucket.remove(buckets, 5, first);
+        assertSame(bucket, buckets.get(5));
+        EntityBucket.remove(buckets, 5, second);
+        assertTrue(buckets.isEmpty());
+        // A discarded bucket cannot be reused
+        assertFalse(bucket.add(first));
+
+        EntityBucket.add(buckets, 5, 0, first);
+        assertNotSame(bucket, buckets.get(5));
+        assertEquals(1, buckets.get(5).size());
+    }
+}
@@ -246,4 +246,104 @@ public class EntityTrackerTest {
         assertThrows(Exception.class, () -> entities.add(new Entity(EntityType.ZOMBIE)));
         assertThrows(Exception.class, () -> chunkEntities.add(new Entity(EntityType.ZOMBIE)));
     }
+
+    @Test
+    public void nearbySections() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+        EntityTracker tracker = EntityTracker.newTracker();
+        tracker.register(ent1, new Vec(0, 0, 0), EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent2, new Vec(0, 100, 0), EntityTracker.Target.ENTITIES, null);
+
+        Set<Entity> entities = new HashSet<>();
+        tracker.nearbyEntities(new Vec(0, 2, 0), 4, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1), entities);
+
+        // Section border
+        tracker.move(ent2, new Vec(0, 16, 0), EntityTracker.Target.ENTITIES, null);
+        entities.clear();
+        tracker.nearbyEntities(new Vec(0, 14, 0), 2, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent2), entities);
+
+        tracker.move(ent2, new Vec(0, -20, 0), EntityTracker.Target.ENTITIES, null);
+        entities.clear();
+        tracker.nearbyEntities(new Vec(0, 14, 0), 2, EntityTracker.Target.ENTITIES, entities::add);
+        assertTrue(entities.isEmpty());
+        tracker.nearbyEntities(new Vec(0, -19, 0), 2, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent2), entities);
+    }
+
+    @Test
+    public void box() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+        EntityTracker tracker = EntityTracker.newTracker();
+        tracker.register(ent1, new Vec(5, 0, 5), EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent2, new Vec(-5, 40, 30), EntityTracker.Target.ENTITIES, null);
+
+        Set<Entity> entities = new HashSet<>();
+        tracker.boxEntities(new Vec(0, 0, 0), new Vec(5, 5, 5), EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1), entities);
+
+        entities.clear();
+        tracker.boxEntities(new Vec(-10, 0, 0), new Vec(10, 50, 50), EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1, ent2), entities);
+
+        entities.clear();
+        tracker.boxEntities(new Vec(-4, 0, 0), new Vec(4, 50, 50), EntityTracker.Target.ENTITIES, entities::add);
+        assertTrue(entities.isEmpty());
+    }
+
+    @Test
+    public void raycast() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+        var ent3 = new Entity(EntityType.ZOMBIE);
+        EntityTracker tracker = EntityTracker.newTracker();
+        tracker.register(ent1, new Vec(5, 0, 0), EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent2, new Vec(20, 0, 0), EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent3, new Vec(5, 0, 1), EntityTracker.Target.ENTITIES, null);
+
+        Set<Entity> entities = new HashSet<>();
+        tracker.raycastEntities(new Vec(0, 1, 0), new Vec(1, 0, 0), 10, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1), entities);
+
+        entities.clear();
+        tracker.raycastEntities(new Vec(0, 1, 0), new Vec(2, 0, 0), 30, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1, ent2), entities);
+
+        // Behind the origin
+        entities.clear();
+        tracker.raycastEntities(new Vec(0, 1, 0), new Vec(-1, 0, 0), 30, EntityTracker.Target.ENTITIES, entities::add);
+        assertTrue(entities.isEmpty());
+    }
+
+    @Test
+    public void raycastLargeBox() {
+        // 12 blocks high, indexed in the section below the ray
+        var giant = new Entity(EntityType.GIANT);
+        EntityTracker tracker = EntityTracker.newTracker();
+        tracker.register(giant, new Vec(5, 14, 0), EntityTracker.Target.ENTITIES, null);
+
+        Set<Entity> entities = new HashSet<>();
+        tracker.raycastEntities(new Vec(0, 25, 0), new Vec(1, 0, 0), 10, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(giant), entities);
+    }
+
+    @Test
+    public void discardEmptyBuckets() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        EntityTrackerImpl tracker = new EntityTrackerImpl();
+        tracker.register(ent1, new Vec(0, 0, 0), EntityTracker.Target.ENTITIES, null);
+        for (int i = 1; i <= 10; i++) {
+            tracker.move(ent1, new Vec(i * 16, i * 16, 0), EntityTracker.Target.ENTITIES, null);
+        }
+        var entry = tracker.entries[EntityTracker.Target.ENTITIES.ordinal()];
+        assertEquals(1, entry.chunkEntities.size());
+        if (EntityTrackerImpl.SECTION_INDEX) assertEquals(1, entry.sectionEntities.size());
+
+        tracker.unregister(ent1, EntityTracker.Target.ENTITIES, null);
+        assertTrue(entry.chunkEntities.isEmpty());
+        assertTrue(entry.sectionEntities.isEmpty());
+    }
 }
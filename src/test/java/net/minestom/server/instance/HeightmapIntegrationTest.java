@@ -0,0 +1,79 @@
+package net.minestom.server.instance;
+
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import net.minestom.server.instance.block.Block;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnvTest
+public class HeightmapIntegrationTest {
+
+    @Test
+    public void generated(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = instance.loadChunk(0, 0).join();
+        for (Heightmap.Type type : Heightmap.Type.values()) {
+            assertEquals(40, chunk.getHeight(type, 0, 0), type.name());
+            assertEquals(40, chunk.getHeight(type, 15, 15), type.name());
+        }
+    }
+
+    @Test
+    public void empty(Env env) {
+        var instance = env.process().instance().createInstanceContainer();
+        var chunk = instance.loadChunk(0, 0).join();
+        final int minY = instance.getDimensionType().getMinY();
+        for (Heightmap.Type type : Heightmap.Type.values()) {
+            assertEquals(minY, chunk.getHeight(type, 5, 5), type.name());
+        }
+    }
+
+    @Test
+    public void setBlock(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = instance.loadChunk(0, 0).join();
+
+        instance.setBlock(3, 100, 4, Block.STONE);
+        assertEquals(101, chunk.getHeight(Heightmap.Type.WORLD_SURFACE, 3, 4));
+        assertEquals(101, chunk.getHeight(Heightmap.Type.MOTION_BLOCKING, 3, 4));
+        assertEquals(40, chunk.getHeight(Heightmap.Type.WORLD_SURFACE, 4, 4));
+
+        instance.setBlock(3, 100, 4, Block.AIR);
+        assertEquals(40, chunk.getHeight(Heightmap.Type.WORLD_SURFACE, 3, 4));
+        assertEquals(40, chunk.getHeight(Heightmap.Type.MOTION_BLOCKING, 3, 4));
+
+        instance.setBlock(3, 39, 4, Block.AIR);
+        assertEquals(40, chunk.getHeight(Heightmap.Type.WORLD_SURFACE, 3, 4));
+        instance.setBlock(3, 39, 4, Block.STONE);
+
+        instance.setBlock(3, 39, 4, Block.AIR);
+        instance.setBlock(3, 38, 4, Block.AIR);
+        instance.setBlock(3, 40, 4, Block.STONE);
+        instance.setBlock(3, 40, 4, Block.AIR);
+        assertEquals(38, chunk.getHeight(Heightmap.Type.WORLD_SURFACE, 3, 4));
+    }
+
+    @Test
+    public void leaves(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = instance.loadChunk(0, 0).join();
+
+        instance.setBlock(0, 50, 0, Block.OAK_LEAVES);
+        assertEquals(51, chunk.getHeight(Heightmap.Type.MOTION_BLOCKING, 0, 0));
+        assertEquals(40, chunk.getHeight(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, 0, 0));
+    }
+
+    @Test
+    public void copy(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = instance.loadChunk(0, 0).join();
+        instance.setBlock(0, 60, 0, Block.STONE);
+
+        var copy = chunk.copy(instance, 0, 0);
+        assertEquals(61, copy.getHeight(Heightmap.Type.WORLD_SURFACE, 0, 0));
+        instance.setBlock(0, 60, 0, Block.AIR);
+        assertEquals(61, copy.getHeight(Heightmap.Type.WORLD_SURFACE, 0, 0));
+    }
+}
@@ -3,11 +3,18 @@ package net.minestom.server.instance;
 import net.minestom.testing.Env;
 import net.minestom.testing.EnvTest;
 import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.GameMode;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockFace;
 import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.network.packet.client.play.ClientPlayerDiggingPacket;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.network.packet.server.play.AcknowledgeBlockChangePacket;
 import net.minestom.server.network.packet.server.play.BlockChangePacket;
 import net.minestom.server.network.packet.server.play.BlockEntityDataPacket;
+import net.minestom.server.network.packet.server.play.ChunkDataPacket;
+import net.minestom.server.network.packet.server.play.MultiBlockChangePacket;
 import net.minestom.server.tag.Tag;
 import net.minestom.server.utils.NamespaceID;
 import org.jetbrains.annotations.NotNull;
@@ -16,10 +23,13 @@ import org.jglrxavpok.hephaistos.parser.SNBTParser;
 import org.junit.jupiter.api.Test;
 
 import java.io.StringReader;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @EnvTest
 public class InstanceBlockPacketIntegrationTest {
@@ -34,8 +44,10 @@ public class InstanceBlockPacketIntegrationTest {
 
         assertEquals(Block.AIR, instance.getBlock(blockPoint));
 
-        var tracker = connection.trackIncoming();
+        var tracker = connection.trackIncoming(BlockChangePacket.class);
         instance.setBlock(blockPoint, Block.STONE);
+        tracker.assertEmpty();
+        env.tick();
         tracker.assertSingle(BlockChangePacket.class, packet -> {
             assertEquals(blockPoint, packet.blockPosition());
             assertEquals(Block.STONE.stateId(), packet.blockStateId());
@@ -44,6 +56,23 @@ public class InstanceBlockPacketIntegrationTest {
         assertEquals(Block.STONE, instance.getBlock(blockPoint));
     }
 
+    @Test
+    public void skippedTick(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        connection.connect(instance, new Pos(0, 40, 0)).join();
+        instance.setTickInterval(4);
+        // Ticking, the 3 following ticks are skipped
+        env.tick();
+
+        // Changes are sent even though the instance does not tick
+        var blockPoint = new Vec(5, 41, 0);
+        var tracker = connection.trackIncoming(BlockChangePacket.class);
+        instance.setBlock(blockPoint, Block.STONE);
+        env.tick();
+        tracker.assertSingle(packet -> assertEquals(blockPoint, packet.blockPosition()));
+    }
+
     @Test
     public void placeBlockEntity(Env env) {
         var instance = env.createFlatInstance();
@@ -84,6 +113,7 @@ public class InstanceBlockPacketIntegrationTest {
         var blockChangeTracker = connection.trackIncoming(BlockChangePacket.class);
         var blockEntityTracker = connection.trackIncoming(BlockEntityDataPacket.class);
         instance.setBlock(blockPoint, block);
+        env.tick();
         blockChangeTracker.assertSingle(packet -> {
             assertEquals(blockPoint, packet.blockPosition());
             assertEquals(block.stateId(), packet.blockStateId());
@@ -96,4 +126,102 @@ public class InstanceBlockPacketIntegrationTest {
 
         assertEquals(block, instance.getBlock(blockPoint));
     }
+
+    @Test
+    public void batchSection(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        connection.connect(instance, new Pos(0, 40, 0)).join();
+
+        var tracker = connection.trackIncoming(MultiBlockChangePacket.class);
+        var blockChangeTracker = connection.trackIncoming(BlockChangePacket.class);
+        instance.setBlock(1, 41, 2, Block.STONE);
+        instance.setBlock(3, 42, 4, Block.DIRT);
+        env.tick();
+        blockChangeTracker.assertEmpty();
+        tracker.assertSingle(packet -> {
+            assertEquals(new MultiBlockChangePacket(0, 2, 0, false, new long[0]).chunkSectionPosition(), packet.chunkSectionPosition());
+            assertArrayEquals(new long[]{
+                    (long) Block.STONE.stateId() << 12 | 1 << 8 | 2 << 4 | 9,
+                    (long) Block.DIRT.stateId() << 12 | 3 << 8 | 4 << 4 | 10
+            }, packet.blocks());
+        });
+    }
+
+    @Test
+    public void repeatedChanges(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        connection.connect(instance, new Pos(0, 40, 0)).join();
+
+        var tracker = connection.trackIncoming(MultiBlockChangePacket.class);
+        var chunkTracker = connection.trackIncoming(ChunkDataPacket.class);
+        // Only the last state of each position is sent, and counted once against the resend threshold
+        for (int i = 0; i < 5000; i++) {
+            instance.setBlock(1, 41, 2, i % 2 == 0 ? Block.STONE : Block.DIRT);
+            instance.setBlock(3, 42, 4, Block.DIRT);
+        }
+        instance.setBlock(1, 41, 2, Block.GRASS_BLOCK);
+        env.tick();
+        chunkTracker.assertEmpty();
+        tracker.assertSingle(packet -> assertArrayEquals(new long[]{
+                (long) Block.GRASS_BLOCK.stateId() << 12 | 1 << 8 | 2 << 4 | 9,
+                (long) Block.DIRT.stateId() << 12 | 3 << 8 | 4 << 4 | 10
+        }, packet.blocks()));
+    }
+
+    @Test
+    public void resendChunk(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        var player = connection.connect(instance, new Pos(0, 40, 0)).join();
+        env.tickWhile(() -> player.getChunkSendQueue().getPendingChunks() > 0, Duration.ofSeconds(5));
+
+        var tracker = connection.trackIncoming(ChunkDataPacket.class);
+        var multiBlockTracker = connection.trackIncoming(MultiBlockChangePacket.class);
+        for (int y = 41; y < 57; y++) {
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) instance.setBlock(x, y, z, Block.STONE);
+            }
+        }
+        env.tick();
+        multiBlockTracker.assertEmpty();
+        tracker.assertSingle(packet -> {
+            assertEquals(0, packet.chunkX());
+            assertEquals(0, packet.chunkZ());
+        });
+    }
+
+    @Test
+    public void acknowledgeAfterChange(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        var player = connection.connect(instance, new Pos(0, 42, 0)).join();
+        player.setGameMode(GameMode.CREATIVE);
+
+        var blockPoint = new Vec(2, 42, 0);
+        instance.setBlock(blockPoint, Block.STONE);
+        env.tick();
+
+        // The acknowledgement makes the client drop its prediction, the new block must be sent first
+        var tracker = connection.trackIncoming();
+        player.addPacketToQueue(new ClientPlayerDiggingPacket(ClientPlayerDiggingPacket.Status.STARTED_DIGGING,
+                blockPoint, BlockFace.TOP, 5));
+        player.interpretPacketQueue();
+        assertEquals(Block.AIR, instance.getBlock(blockPoint));
+
+        final List<ServerPacket> packets = tracker.collect();
+        int changeIndex = -1, ackIndex = -1;
+        for (int i = 0; i < packets.size(); i++) {
+            final ServerPacket packet = packets.get(i);
+            if (packet instanceof BlockChangePacket change && change.blockPosition().samePoint(blockPoint)) {
+                changeIndex = i;
+            } else if (packet instanceof AcknowledgeBlockChangePacket ack) {
+                assertEquals(5, ack.sequence());
+                ackIndex = i;
+            }
+        }
+        assertTrue(changeIndex != -1, "Block change not sent");
+        assertTrue(ackIndex > changeIndex, "Acknowledgement sent before the block change");
+    }
 }
@@ -0,0 +1,288 @@
+package net.minestom.server.instance.light;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import static net.minestom.server.utils.chunk.ChunkUtils.getChunkCoordX;
+import static net.minestom.server.utils.chunk.ChunkUtils.getChunkCoordZ;
+import static net.minestom.server.utils.chunk.ChunkUtils.getChunkIndex;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LightComputeTest {
+    private static final int SECTIONS = 4;
+    private static final byte OPAQUE = (byte) 0xF0;
+
+    @Test
+    public void empty() {
+        var input = input(new byte[SECTIONS][], new int[0], 0);
+        var result = LightCompute.compute(window(input, input), SECTIONS, true);
+        for (int i = 0; i < SECTIONS; i++) {
+            assertSame(LightCompute.EMPTY, result.blockLight()[i]);
+            assertEquals(15, get(result.skyLight()[i], 0, 0, 0));
+            assertEquals(15, get(result.skyLight()[i], 15, 15, 15));
+        }
+    }
+
+    @Test
+    public void noSkyLight() {
+        var input = input(new byte[SECTIONS][], new int[0], 0);
+        var result = LightCompute.compute(window(input, input), SECTIONS, false);
+        assertNull(result.skyLight());
+    }
+
+    @Test
+    public void blockLight() {
+        var floor = floor();
+        var center = input(floor, new int[]{emitter(8, 20, 8, 14)}, 16);
+        var neighbour = input(floor, new int[0], 16);
+        var result = LightCompute.compute(window(center, neighbour), SECTIONS, true);
+        assertEquals(14, get(result.blockLight()[1], 8, 4, 8));
+        assertEquals(13, get(result.blockLight()[1], 9, 4, 8));
+        assertEquals(10, get(result.blockLight()[1], 8, 0, 8));
+        // Light does not go through opaque blocks
+        assertEquals(0, get(result.blockLight()[0], 8, 15, 8));
+    }
+
+    @Test
+    public void neighbourBlockLight() {
+        var floor = floor();
+        var center = input(floor, new int[0], 16);
+        var west = input(floor, new int[]{emitter(15, 20, 8, 14)}, 16);
+        var window = window(center, center);
+        window[3] = west;
+        var result = LightCompute.compute(window, SECTIONS, true);
+        assertEquals(13, get(result.blockLight()[1], 0, 4, 8));
+        assertEquals(12, get(result.blockLight()[1], 1, 4, 8));
+    }
+
+    @Test
+    public void skyLight() {
+        var input = input(floor(), new int[0], 16);
+        var result = LightCompute.compute(window(input, input), SECTIONS, true);
+        assertSame(LightCompute.EMPTY, result.skyLight()[0]);
+        assertEquals(15, get(result.skyLight()[1], 3, 0, 3));
+        assertEquals(15, get(result.skyLight()[3], 3, 15, 3));
+    }
+
+    @Test
+    public void skyLightHole() {
+        byte[][] properties = floor();
+        properties[2] = new byte[4096];
+        Arrays.fill(properties[2], OPAQUE);
+        for (int y = 0; y < 16; y++) properties[2][y << 8 | 8 << 4 | 8] = 0;
+        int[] skyHeights = new int[256];
+        Arrays.fill(skyHeights, 48);
+        skyHeights[8 << 4 | 8] = 16;
+        var input = new LightCompute.ChunkInput(properties, new int[0], skyHeights);
+        var result = LightCompute.compute(window(input, input), SECTIONS, true);
+        assertEquals(15, get(result.skyLight()[1], 8, 4, 8));
+        assertEquals(14, get(result.skyLight()[1], 9, 4, 8));
+        assertEquals(0, get(result.skyLight()[1], 0, 4, 0));
+        assertEquals(0, get(result.skyLight()[2], 0, 5, 0));
+        assertEquals(15, get(result.skyLight()[3], 0, 0, 0));
+    }
+
+    @Test
+    public void partialOpacity() {
+        byte[][] properties = floor();
+        // Wall absorbing 3 levels
+        for (int y = 16; y < 32; y++) {
+            for (int z = 0; z < 16; z++) set(properties, 10, y, z, 3, 0);
+        }
+        var center = input(properties, new int[]{emitter(8, 20, 8, 14)}, 32);
+        var neighbour = input(floor(), new int[0], 16);
+        var result = LightCompute.compute(window(center, neighbour), SECTIONS, true);
+        assertEquals(13, get(result.blockLight()[1], 9, 4, 8));
+        assertEquals(10, get(result.blockLight()[1], 10, 4, 8));
+        assertEquals(9, get(result.blockLight()[1], 11, 4, 8));
+    }
+
+    @Test
+    public void skyLightThroughLeaves() {
+        byte[][] properties = floor();
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) set(properties, x, 40, z, 1, 0);
+        }
+        var input = input(properties, new int[0], 41);
+        var result = LightCompute.compute(window(input, input), SECTIONS, true);
+        assertEquals(15, get(result.skyLight()[2], 8, 9, 8));
+        assertEquals(14, get(result.skyLight()[2], 8, 8, 8));
+        assertEquals(13, get(result.skyLight()[2], 8, 7, 8));
+        assertEquals(5, get(result.skyLight()[1], 8, 15, 8));
+    }
+
+    @Test
+    public void updatePlaceEmitter() {
+        assertUpdate(world -> {
+        }, world -> set(world.get(0), 15, 20, 8, 0, 14), 15, 20, 8);
+    }
+
+    @Test
+    public void updateRemoveEmitter() {
+        assertUpdate(world -> set(world.get(0), 15, 20, 8, 0, 14),
+                world -> set(world.get(0), 15, 20, 8, 0, 0), 15, 20, 8);
+    }
+
+    @Test
+    public void updateOpaqueEmitter() {
+        assertUpdate(world -> set(world.get(0), 8, 20, 8, 0, 14),
+                world -> set(world.get(0), 8, 20, 8, 15, 14), 8, 20, 8);
+    }
+
+    @Test
+    public void updateWall() {
+        assertUpdate(world -> set(world.get(0), 8, 20, 8, 0, 14), world -> {
+            for (int y = 16; y < 32; y++) {
+                for (int z = 0; z < 16; z++) set(world.get(0), 10, y, z, 2, 0);
+            }
+        }, 10, 20, 8);
+    }
+
+    @Test
+    public void updateCoverSky() {
+        assertUpdate(world -> {
+        }, world -> set(world.get(getChunkIndex(1, 0)), 2, 50, 8, 15, 0), 18, 50, 8);
+    }
+
+    @Test
+    public void updateUncoverSky() {
+        assertUpdate(world -> set(world.get(getChunkIndex(1, 0)), 2, 50, 8, 15, 0),
+                world -> set(world.get(getChunkIndex(1, 0)), 2, 50, 8, 0, 0), 18, 50, 8);
+    }
+
+    @Test
+    public void updateLeaves() {
+        assertUpdate(world -> set(world.get(0), 8, 50, 8, 15, 0),
+                world -> set(world.get(0), 8, 50, 8, 1, 0), 8, 50, 8);
+    }
+
+    @Test
+    public void updateFloorHole() {
+        assertUpdate(world -> {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) set(world.get(0), x, 30, z, 15, 0);
+            }
+        }, world -> {
+            set(world.get(0), 0, 30, 4, 0, 0);
+            set(world.get(0), 0, 15, 4, 0, 0);
+        }, 0, 30, 4, 0, 15, 4);
+    }
+
+    /**
+     * Checks that updating the light of two loaded chunks after block changes
+     * gives the same light as computing it entirely.
+     *
+     * @param before  the initial blocks, the chunks have a floor
+     * @param after   the block changes
+     * @param changes the changed positions, 3 coordinates per change
+     */
+    private static void assertUpdate(Consumer<Long2ObjectMap<byte[][]>> before,
+                                     Consumer<Long2ObjectMap<byte[][]>> after, int... changes) {
+        Long2ObjectMap<byte[][]> world = new Long2ObjectOpenHashMap<>();
+        world.put(getChunkIndex(0, 0), floor());
+        world.put(getChunkIndex(1, 0), floor());
+        before.accept(world);
+        final Long2ObjectMap<LightCompute.Result> previous = computeAll(world);
+        after.accept(world);
+        final Long2ObjectMap<LightCompute.Result> expected = computeAll(world);
+
+        long[] positions = new long[changes.length / 3];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = LightCompute.packPosition(changes[i * 3], changes[i * 3 + 1], changes[i * 3 + 2]);
+        }
+        for (boolean skyLight : new boolean[]{true, false}) {
+            Long2ObjectMap<LightCompute.ChunkLight> chunks = new Long2ObjectOpenHashMap<>();
+            for (long index : world.keySet()) {
+                final LightCompute.Result result = previous.get(index);
+                final byte[][] light = skyLight ? result.skyLight() : result.blockLight();
+                chunks.put(index, new LightCompute.ChunkLight(chunk(world.get(index)),
+                        Arrays.stream(light).map(byte[]::clone).toArray(byte[][]::new)));
+            }
+            LightCompute.update(chunks, positions, SECTIONS, skyLight);
+            for (long index : world.keySet()) {
+                final LightCompute.Result result = expected.get(index);
+                final byte[][] light = skyLight ? result.skyLight() : result.blockLight();
+                for (int section = 0; section < SECTIONS; section++) {
+                    assertArrayEquals(light[section], chunks.get(index).light()[section],
+                            "Section " + section + " of chunk " + index + (skyLight ? " sky light" : " block light"));
+                }
+            }
+        }
+    }
+
+    private static Long2ObjectMap<LightCompute.Result> computeAll(Long2ObjectMap<byte[][]> world) {
+        Long2ObjectMap<LightCompute.Result> results = new Long2ObjectOpenHashMap<>();
+        for (long index : world.keySet()) {
+            final int chunkX = getChunkCoordX(index), chunkZ = getChunkCoordZ(index);
+            LightCompute.ChunkInput[] window = new LightCompute.ChunkInput[9];
+            for (int x = -1; x <= 1; x++) {
+                for (int z = -1; z <= 1; z++) {
+                    final byte[][] properties = world.get(getChunkIndex(chunkX + x, chunkZ + z));
+                    if (properties != null) window[(z + 1) * 3 + (x + 1)] = chunk(properties);
+                }
+            }
+            results.put(index, LightCompute.compute(window, SECTIONS, true));
+        }
+        return results;
+    }
+
+    /**
+     * Creates the input of a chunk the same way as {@link LightCompute#snapshot(net.minestom.server.instance.Chunk)}.
+     */
+    private static LightCompute.ChunkInput chunk(byte[][] properties) {
+        IntArrayList emitters = new IntArrayList();
+        int[] skyHeights = new int[256];
+        for (int y = 0; y < SECTIONS * 16; y++) {
+            final byte[] cells = properties[y >> 4];
+            if (cells == null) continue;
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    final int value = cells[(y & 0xF) << 8 | z << 4 | x];
+                    if ((value & 0xF) != 0) emitters.add(emitter(x, y, z, value & 0xF));
+                    if ((value & 0xF0) != 0) skyHeights[z << 4 | x] = y + 1;
+                }
+            }
+        }
+        return new LightCompute.ChunkInput(properties, emitters.toIntArray(), skyHeights);
+    }
+
+    private static void set(byte[][] properties, int x, int y, int z, int opacity, int emission) {
+        if (properties[y >> 4] == null) properties[y >> 4] = new byte[4096];
+        properties[y >> 4][(y & 0xF) << 8 | z << 4 | x] = (byte) (opacity << 4 | emission);
+    }
+
+    private static LightCompute.ChunkInput[] window(LightCompute.ChunkInput center, LightCompute.ChunkInput neighbour) {
+        LightCompute.ChunkInput[] window = new LightCompute.ChunkInput[9];
+        Arrays.fill(window, neighbour);
+        window[4] = center;
+        return window;
+    }
+
+    private static LightCompute.ChunkInput input(byte[][] properties, int[] emitters, int skyHeight) {
+        int[] skyHeights = new int[256];
+        Arrays.fill(skyHeights, skyHeight);
+        return new LightCompute.ChunkInput(properties, emitters, skyHeights);
+    }
+
+    private static byte[][] floor() {
+        byte[][] properties = new byte[SECTIONS][];
+        properties[0] = new byte[4096];
+        Arrays.fill(properties[0], OPAQUE);
+        return properties;
+    }
+
+    private static int emitter(int x, int y, int z, int level) {
+        return y << 12 | z << 8 | x << 4 | level;
+    }
+
+    private static int get(byte[] light, int x, int y, int z) {
+        if (light.length == 0) return 0;
+        final int index = y << 8 | z << 4 | x;
+        return (light[index >> 1] >> ((index & 1) << 2)) & 0xF;
+    }
+}
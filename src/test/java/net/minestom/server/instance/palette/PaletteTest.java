@@ -218,6 +218,22 @@ public class PaletteTest {
         }
     }
 
+    @Test
+    public void setAllIndexed() {
+        for (Palette palette : testPalettes()) {
+            final int[] values = {0, 5, 17, 5, 250_000};
+            int[] indices = new int[palette.maxSize()];
+            for (int i = 0; i < indices.length; i++) indices[i] = i % values.length;
+            palette.setAll(values, indices);
+            AtomicInteger index = new AtomicInteger();
+            palette.getAll((x, y, z, value) -> assertEquals(values[indices[index.getAndIncrement()]], value));
+            assertEquals(indices.length - (indices.length + values.length - 1) / values.length, palette.count());
+
+            palette.setAll(new int[]{3}, new int[palette.maxSize()]);
+            palette.getAll((x, y, z, value) -> assertEquals(3, value));
+        }
+    }
+
     @Test
     public void getAllPresent() {
         var palettes = testPalettes();
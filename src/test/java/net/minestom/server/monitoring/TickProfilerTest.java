@@ -0,0 +1,60 @@
+package net.minestom.server.monitoring;
+
+import net.minestom.server.Tickable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickProfilerTest {
+    @Test
+    public void record() {
+        Tickable fast = time -> {
+        };
+        Tickable slow = time -> {
+        };
+        var sampler = TickProfiler.sampler();
+        sampler.element(fast, 10);
+        sampler.element(slow, 1000);
+        sampler.task(1, (Runnable) () -> {
+        }, 100);
+        TickProfiler.endTick(2000, 5);
+
+        var history = TickProfiler.history();
+        var record = history.get(history.size() - 1);
+        assertEquals(2000, record.tickTime());
+        assertEquals(5, record.acquisitionTime());
+        assertEquals(100, record.categoryTimes().get("scheduled task"));
+        List<TickRecord.Sample> slowest = record.slowestElements();
+        assertEquals(3, slowest.size());
+        assertEquals(1000, slowest.get(0).time());
+        assertEquals(100, slowest.get(1).time());
+        assertTrue(slowest.get(1).name().startsWith("task 1 "));
+        assertEquals(10, slowest.get(2).time());
+
+        // Samples are reset every tick
+        TickProfiler.endTick(1000, 0);
+        history = TickProfiler.history();
+        record = history.get(history.size() - 1);
+        assertEquals(1000, record.tickTime());
+        assertTrue(record.slowestElements().isEmpty());
+        assertTrue(record.categoryTimes().isEmpty());
+    }
+
+    @Test
+    public void slowestLimit() {
+        var sampler = TickProfiler.sampler();
+        for (int i = 0; i < 100; i++) {
+            sampler.element(time -> {
+            }, i);
+        }
+        TickProfiler.endTick(0, 0);
+        var history = TickProfiler.history();
+        var slowest = history.get(history.size() - 1).slowestElements();
+        assertEquals(10, slowest.size());
+        for (int i = 0; i < slowest.size(); i++) {
+            assertEquals(99 - i, slowest.get(i).time());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package net.minestom.server.network;
+
+import net.minestom.server.network.packet.server.play.UpdateLightPacket;
+import net.minestom.server.network.packet.server.play.data.LightData;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompressionPolicyTest {
+
+    @Test
+    public void packetLevels() {
+        var policy = CompressionPolicy.adaptive();
+        NetworkBuffer.Writer packet = writer -> {
+        };
+        assertEquals(Deflater.DEFAULT_COMPRESSION, policy.level(null, packet, 5, 1000));
+        assertEquals(Deflater.BEST_COMPRESSION, policy.level(null,
+                new UpdateLightPacket(0, 0, new LightData(true,
+                        new BitSet(), new BitSet(), new BitSet(), new BitSet(), List.of(), List.of())), 5, 1000));
+    }
+
+    @Test
+    public void backOff() {
+        var policy = CompressionPolicy.adaptive();
+        NetworkBuffer.Writer packet = writer -> {
+        };
+        policy.sample(5, 1000, 200);
+        assertEquals(Deflater.DEFAULT_COMPRESSION, policy.level(null, packet, 5, 1000));
+
+        // Incompressible
+        for (int i = 0; i < 32; i++) policy.sample(5, 1000, 1000);
+        for (int i = 0; i < 64; i++) assertEquals(CompressionPolicy.SKIP, policy.level(null, packet, 5, 1000));
+        // Sampled again
+        assertEquals(Deflater.DEFAULT_COMPRESSION, policy.level(null, packet, 5, 1000));
+        // Other ids are not affected
+        assertEquals(Deflater.DEFAULT_COMPRESSION, policy.level(null, packet, 6, 1000));
+    }
+
+    @Test
+    public void alternateLevels() throws DataFormatException {
+        final PacketCompressor compressor = PacketCompressor.deflater();
+        final byte[] data = "Minestom ".repeat(100).getBytes();
+        // Same thread, the level changes between packets
+        for (int level : new int[]{Deflater.DEFAULT_COMPRESSION, Deflater.BEST_COMPRESSION, Deflater.BEST_COMPRESSION,
+                Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_COMPRESSION, Deflater.BEST_COMPRESSION}) {
+            ByteBuffer output = ByteBuffer.allocate(data.length);
+            assertTrue(compressor.compress(ByteBuffer.wrap(data), output, level), "Level " + level);
+            assertTrue(output.position() < data.length);
+
+            Inflater inflater = new Inflater();
+            inflater.setInput(output.flip());
+            byte[] result = new byte[data.length];
+            assertEquals(data.length, inflater.inflate(result));
+            assertArrayEquals(data, result);
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package net.minestom.server.network;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PacketMetricsTest {
+
+    @Test
+    public void encode() {
+        final long before = PacketMetrics.snapshot().encodeTime().count();
+        PacketMetrics.recordEncode(250, 1000, 250, 100);
+        PacketMetrics.recordEncode(250, 1000, 250, 300);
+
+        var snapshot = PacketMetrics.snapshot();
+        var statistics = snapshot.outbound().stream().filter(packet -> packet.id() == 250).findFirst().orElseThrow();
+        assertNull(statistics.state());
+        assertEquals(2, statistics.count());
+        assertEquals(2000, statistics.bytes());
+        assertEquals(500, statistics.wireBytes());
+        assertEquals(400, statistics.nanos());
+        assertEquals(4, statistics.compressionRatio());
+        assertEquals(before + 2, snapshot.encodeTime().count());
+    }
+
+    @Test
+    public void handle() {
+        PacketMetrics.recordHandle(ConnectionState.STATUS, 1000, 8, 5);
+        var statistics = PacketMetrics.snapshot().inbound().stream()
+                .filter(packet -> packet.state() == ConnectionState.STATUS && packet.id() == 255)
+                .findFirst().orElseThrow();
+        assertEquals(1, statistics.count());
+        assertEquals(8, statistics.bytes());
+    }
+
+    @Test
+    public void histogramBuckets() {
+        var before = PacketMetrics.snapshot().handleTime();
+        PacketMetrics.recordHandle(ConnectionState.LOGIN, 254, 1, 128);
+        PacketMetrics.recordHandle(ConnectionState.LOGIN, 254, 1, 129);
+        PacketMetrics.recordHandle(ConnectionState.LOGIN, 254, 1, Long.MAX_VALUE / 2);
+        var after = PacketMetrics.snapshot().handleTime();
+
+        final long[] bounds = after.upperBounds();
+        assertEquals(128, bounds[0]);
+        assertEquals(256, bounds[1]);
+        assertEquals(Long.MAX_VALUE, bounds[bounds.length - 1]);
+        assertEquals(before.counts()[0] + 1, after.counts()[0]);
+        assertEquals(before.counts()[1] + 1, after.counts()[1]);
+        assertEquals(before.counts()[bounds.length - 1] + 1, after.counts()[bounds.length - 1]);
+    }
+}
@@ -3,11 +3,13 @@ package net.minestom.server.network;
 import net.kyori.adventure.text.Component;
 import net.minestom.server.network.packet.server.CachedPacket;
 import net.minestom.server.network.packet.server.LazyPacket;
+import net.minestom.server.network.packet.server.PacketCache;
 import net.minestom.server.network.packet.server.play.SystemChatPacket;
 import net.minestom.server.utils.PacketUtils;
 import org.junit.jupiter.api.Test;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,4 +43,26 @@ public class SendablePacketTest {
 
         assertSame(packet, cached.packet());
     }
+
+    @Test
+    public void sharedCache() {
+        var packet = new SystemChatPacket(Component.text("Hello World!"), false);
+        var cache = new PacketCache(1024 * 1024);
+        AtomicInteger calls = new AtomicInteger();
+        var cached = new CachedPacket(() -> {
+            calls.incrementAndGet();
+            return packet;
+        }, cache, new Object());
+
+        var cachedBuffer = cached.body();
+        assertSame(cachedBuffer, cached.body());
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.statistics().missCount());
+        assertEquals(1, cache.statistics().hitCount());
+        assertEquals(cachedBuffer.capacity(), cache.statistics().size());
+
+        cached.invalidate();
+        assertNotSame(cachedBuffer, cached.body());
+        assertEquals(2, calls.get());
+    }
 }
@@ -1,5 +1,6 @@
 package net.minestom.server.network;
 
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.network.packet.server.ServerPacket;
 import net.minestom.server.utils.ObjectPool;
 import net.minestom.server.utils.PacketUtils;
@@ -11,8 +12,7 @@ import java.nio.charset.StandardCharsets;
 
 import static net.minestom.server.network.NetworkBuffer.INT;
 import static net.minestom.server.network.NetworkBuffer.STRING;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class SocketWriteTest {
 
@@ -79,6 +79,28 @@ public class SocketWriteTest {
         // 3 bytes packet length [var-int] + 3 bytes data length [var-int] + 1 byte packet id [var-int] + payload
         // The 3 bytes var-int length is hardcoded for performance purpose, could change in the future
         assertNotEquals(3 + 3 + 1 + lengthLength + stringLength, buffer.position(), "Buffer position does not account for compression");
+        assertTrue(buffer.position() < 3 + 3 + 1 + lengthLength + stringLength, "Compressed packet is not smaller");
+    }
+
+    @Test
+    public void writeSingleCompressedSkipped() {
+        var string = "Hello world!".repeat(200);
+        var stringLength = string.getBytes(StandardCharsets.UTF_8).length;
+        var lengthLength = Utils.getVarIntSize(stringLength);
+
+        var packet = new CompressiblePacket(string);
+
+        var previous = MinecraftServer.getCompressionPolicy();
+        MinecraftServer.setCompressionPolicy((connection, serverPacket, id, size) -> CompressionPolicy.SKIP);
+        try {
+            var buffer = ObjectPool.PACKET_POOL.get();
+            PacketUtils.writeFramedPacket(buffer, packet, true);
+            // Compressed format with an empty data length
+            assertEquals(3 + 3 + 1 + lengthLength + stringLength, buffer.position(), "Invalid buffer position");
+            assertEquals(0, buffer.get(5));
+        } finally {
+            MinecraftServer.setCompressionPolicy(previous);
+        }
     }
 
     @Test
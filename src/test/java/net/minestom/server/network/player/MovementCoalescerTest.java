@@ -0,0 +1,66 @@
+package net.minestom.server.network.player;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.network.NetworkBuffer;
+import net.minestom.server.network.packet.client.ClientPacket;
+import net.minestom.server.network.packet.client.play.*;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MovementCoalescerTest {
+
+    @Test
+    public void empty() {
+        assertNull(new MovementCoalescer().poll());
+    }
+
+    @Test
+    public void registeredIds() {
+        var ids = new int[]{MovementCoalescer.POSITION, MovementCoalescer.POSITION_AND_ROTATION,
+                MovementCoalescer.ROTATION, MovementCoalescer.ON_GROUND};
+        for (int id : ids) assertNotEquals(-1, id);
+        assertEquals(ids.length, Arrays.stream(ids).distinct().count());
+    }
+
+    @Test
+    public void singlePacket() {
+        var coalescer = new MovementCoalescer();
+        var packet = new ClientPlayerPositionPacket(new Vec(1, 2, 3), true);
+        assertTrue(coalescer.accept(MovementCoalescer.POSITION, payload(packet)));
+        assertEquals(packet, coalescer.poll());
+        assertNull(coalescer.poll());
+    }
+
+    @Test
+    public void merge() {
+        var coalescer = new MovementCoalescer();
+        assertTrue(coalescer.accept(MovementCoalescer.POSITION, payload(new ClientPlayerPositionPacket(new Vec(1, 2, 3), false))));
+        assertTrue(coalescer.accept(MovementCoalescer.ROTATION, payload(new ClientPlayerRotationPacket(90, 45, false))));
+        assertTrue(coalescer.accept(MovementCoalescer.POSITION, payload(new ClientPlayerPositionPacket(new Vec(4, 5, 6), false))));
+        assertTrue(coalescer.accept(MovementCoalescer.ON_GROUND, payload(new ClientPlayerPacket(true))));
+        assertEquals(new ClientPlayerPositionAndRotationPacket(new Pos(4, 5, 6, 90, 45), true), coalescer.poll());
+
+        assertTrue(coalescer.accept(MovementCoalescer.ROTATION, payload(new ClientPlayerRotationPacket(10, 20, true))));
+        assertEquals(new ClientPlayerRotationPacket(10, 20, true), coalescer.poll());
+    }
+
+    @Test
+    public void otherPackets() {
+        var coalescer = new MovementCoalescer();
+        var payload = payload(new ClientTeleportConfirmPacket(5));
+        assertFalse(coalescer.accept(0x00, payload));
+        assertEquals(0, payload.position());
+        // Unexpected size, left to the regular path
+        assertFalse(coalescer.accept(MovementCoalescer.POSITION, ByteBuffer.allocate(4)));
+        assertNull(coalescer.poll());
+    }
+
+    private static ByteBuffer payload(ClientPacket packet) {
+        return ByteBuffer.wrap(NetworkBuffer.makeArray(buffer -> buffer.write(packet)));
+    }
+}
@@ -0,0 +1,199 @@
+package net.minestom.server.network.socket;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.network.PacketProcessor;
+import net.minestom.server.network.packet.server.play.*;
+import net.minestom.server.network.player.PlayerSocketConnection;
+import net.minestom.server.network.player.PlayerSocketConnection.OverflowPolicy;
+import net.minestom.server.utils.PacketUtils;
+import net.minestom.server.utils.SharedBuffer;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class PlayerSocketConnectionIntegrationTest {
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(5);
+
+    private Server server;
+    private SocketChannel client;
+    private PlayerSocketConnection connection;
+
+    @AfterEach
+    public void close() throws IOException {
+        if (client != null) client.close();
+        if (server != null) server.stop();
+    }
+
+    @Test
+    public void dropPolicy(Env env) throws IOException {
+        connect(4096);
+        connection.setOverflowPolicy(OverflowPolicy.DROP);
+        connection.setMaxPendingBytes(1);
+        // The first packet exceeds the backlog limit, the following ones are subject to the policy
+        connection.sendPackets(List.of(new KeepAlivePacket(1),
+                new EntityRotationPacket(1, 90, 0, true),
+                new EntityPositionPacket(1, (short) 1, (short) 0, (short) 0, true),
+                new EntityHeadLookPacket(1, 90),
+                new EntityTeleportPacket(1, new Pos(1, 2, 3), true)));
+
+        var frames = readFrames(3);
+        assertEquals(List.of(new KeepAlivePacket(1).getId(), new EntityPositionPacket(1, (short) 1, (short) 0, (short) 0, true).getId(),
+                new EntityTeleportPacket(1, Pos.ZERO, true).getId()), frames.stream().map(frame -> readVarInt(frame)).toList());
+        assertEquals(2, connection.getDroppedPackets());
+        assertTrue(connection.isOnline());
+    }
+
+    @Test
+    public void pauseChunksPolicy(Env env) throws IOException {
+        connect(4096);
+        connection.setOverflowPolicy(OverflowPolicy.PAUSE_CHUNKS);
+        connection.setMaxPendingBytes(1);
+        connection.sendPackets(List.of(new KeepAlivePacket(1), new EntityRotationPacket(1, 90, 0, true),
+                new EntityHeadLookPacket(1, 90)));
+
+        assertEquals(3, readFrames(3).size());
+        assertEquals(0, connection.getDroppedPackets());
+        assertTrue(connection.isOnline());
+    }
+
+    @Test
+    public void disconnectPolicy(Env env) throws IOException {
+        connect(4096);
+        connection.setOverflowPolicy(OverflowPolicy.DISCONNECT);
+        connection.setMaxPendingBytes(1);
+        connection.sendPackets(List.of(new KeepAlivePacket(1), new KeepAlivePacket(2)));
+
+        // Only the packet written before the overflow is sent before closing
+        var frames = readFrames(2);
+        assertEquals(1, frames.size());
+        assertFalse(connection.isOnline());
+    }
+
+    @Test
+    public void gatheringFlush(Env env) throws IOException {
+        connect(4096);
+        SharedBuffer shared = SharedBuffer.allocate(1024);
+        PacketUtils.writeFramedPacket(shared.buffer(), new KeepAlivePacket(2), false);
+        final int length = shared.buffer().position();
+
+        // Shared segments are written in order with the packets around them
+        connection.sendPacket(new KeepAlivePacket(1));
+        connection.write(shared, 0, length);
+        connection.sendPacket(new KeepAlivePacket(3));
+        shared.release();
+
+        var frames = readFrames(3);
+        assertEquals(3, frames.size());
+        for (int i = 0; i < frames.size(); i++) {
+            final ByteBuffer frame = frames.get(i);
+            readVarInt(frame);
+            assertEquals(i + 1, frame.getLong());
+        }
+    }
+
+    @Test
+    public void pendingBytes(Env env) throws IOException {
+        connect(4096);
+        connection.setOverflowPolicy(OverflowPolicy.PAUSE_CHUNKS);
+        final ByteBuffer data = ByteBuffer.allocate(65_536);
+        final int count = 64;
+        for (int i = 0; i < count; i++) connection.write(data, 0, data.capacity());
+
+        // The client does not read, data waits for the socket
+        await(() -> connection.getPendingBytes() > 0);
+        assertTrue(connection.getPendingBytes() <= (long) count * data.capacity());
+
+        ByteBuffer readBuffer = ByteBuffer.allocate(65_536);
+        long read = 0;
+        final long start = System.nanoTime();
+        while (read < (long) count * data.capacity()) {
+            assertTrue(System.nanoTime() - start < TIMEOUT, "Timed out reading the data");
+            readBuffer.clear();
+            final int length = client.read(readBuffer);
+            assertNotEquals(-1, length);
+            read += length;
+        }
+        assertEquals((long) count * data.capacity(), read);
+        await(() -> connection.getPendingBytes() == 0);
+    }
+
+    private void connect(int bufferSize) throws IOException {
+        this.server = new Server(new PacketProcessor());
+        server.init(new InetSocketAddress("localhost", 0));
+        // Not started, only the worker is needed to run the connection
+        Worker worker = new Worker(server);
+        worker.start();
+
+        try (ServerSocketChannel listener = ServerSocketChannel.open()) {
+            listener.bind(new InetSocketAddress("localhost", 0));
+            this.client = SocketChannel.open();
+            client.setOption(StandardSocketOptions.SO_RCVBUF, bufferSize);
+            client.connect(listener.getLocalAddress());
+            client.configureBlocking(false);
+            SocketChannel channel = listener.accept();
+            channel.setOption(StandardSocketOptions.SO_SNDBUF, bufferSize);
+            channel.configureBlocking(false);
+            this.connection = new PlayerSocketConnection(worker, channel, channel.getRemoteAddress());
+        }
+    }
+
+    /**
+     * Reads frames until {@code count} have been received or the socket got closed.
+     */
+    private List<ByteBuffer> readFrames(int count) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(65_536);
+        List<ByteBuffer> frames = new ArrayList<>();
+        final long start = System.nanoTime();
+        while (frames.size() < count) {
+            assertTrue(System.nanoTime() - start < TIMEOUT, "Timed out waiting for " + count + " frames");
+            if (client.read(buffer) == -1) break;
+            buffer.flip();
+            while (true) {
+                final int frameStart = buffer.position();
+                final int length = readVarInt(buffer);
+                if (length == -1 || buffer.remaining() < length) {
+                    buffer.position(frameStart);
+                    break;
+                }
+                frames.add(ByteBuffer.allocate(length).put(buffer.slice(buffer.position(), length)).flip());
+                buffer.position(buffer.position() + length);
+            }
+            buffer.compact();
+        }
+        return frames;
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int i = 0; i < 5; i++) {
+            if (!buffer.hasRemaining()) return -1;
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << (i * 7);
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalStateException("VarInt is too big");
+    }
+
+    private static void await(BooleanSupplier condition) {
+        final long start = System.nanoTime();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() - start < TIMEOUT, "Timed out");
+            Thread.onSpinWait();
+        }
+    }
+}
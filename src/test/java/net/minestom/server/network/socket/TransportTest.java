@@ -0,0 +1,98 @@
+package net.minestom.server.network.socket;
+
+import net.minestom.server.network.PacketProcessor;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolFamily;
+import java.nio.channels.*;
+import java.nio.channels.spi.AbstractSelector;
+import java.nio.channels.spi.SelectorProvider;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransportTest {
+
+    @Test
+    public void defaultTransport() throws IOException {
+        var server = new Server(new PacketProcessor());
+        assertSame(Transport.nio(), server.transport());
+    }
+
+    @Test
+    public void customTransport() throws IOException {
+        var transport = new CountingTransport();
+        var server = new Server(new PacketProcessor(), transport);
+        assertSame(transport, server.transport());
+        // Entrypoint and workers
+        assertEquals(Server.WORKER_COUNT + 1, transport.selectors.get());
+
+        server.init(new InetSocketAddress("localhost", 0));
+        assertEquals(1, transport.serverSockets.get());
+        assertDoesNotThrow(server::start);
+        assertDoesNotThrow(server::stop);
+    }
+
+    static final class CountingTransport implements Transport {
+        final AtomicInteger selectors = new AtomicInteger();
+        final AtomicInteger serverSockets = new AtomicInteger();
+        private final SelectorProvider delegate = SelectorProvider.provider();
+        private final SelectorProvider provider = new SelectorProvider() {
+            @Override
+            public DatagramChannel openDatagramChannel() throws IOException {
+                return delegate.openDatagramChannel();
+            }
+
+            @Override
+            public DatagramChannel openDatagramChannel(ProtocolFamily family) throws IOException {
+                return delegate.openDatagramChannel(family);
+            }
+
+            @Override
+            public Pipe openPipe() throws IOException {
+                return delegate.openPipe();
+            }
+
+            @Override
+            public AbstractSelector openSelector() throws IOException {
+                selectors.incrementAndGet();
+                return delegate.openSelector();
+            }
+
+            @Override
+            public ServerSocketChannel openServerSocketChannel() throws IOException {
+                serverSockets.incrementAndGet();
+                return delegate.openServerSocketChannel();
+            }
+
+            @Override
+            public ServerSocketChannel openServerSocketChannel(ProtocolFamily family) throws IOException {
+                serverSockets.incrementAndGet();
+                return delegate.openServerSocketChannel(family);
+            }
+
+            @Override
+            public SocketChannel openSocketChannel() throws IOException {
+                return delegate.openSocketChannel();
+            }
+
+            @Override
+            public SocketChannel openSocketChannel(ProtocolFamily family) throws IOException {
+                return delegate.openSocketChannel(family);
+            }
+        };
+
+        @Override
+        public @NotNull String name() {
+            return "counting";
+        }
+
+        @Override
+        public @NotNull SelectorProvider provider() {
+            return provider;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package net.minestom.server.registry;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistryBinaryTest {
+
+    @ParameterizedTest
+    @EnumSource(Registry.Resource.class)
+    public void sameAsJson(Registry.Resource resource) {
+        var binary = Registry.loadBinary(resource);
+        assertNotNull(binary, "Missing snapshot for " + resource);
+        var json = Registry.loadJson(resource);
+        assertEquals(json.keySet(), binary.keySet());
+        for (var entry : json.entrySet()) {
+            assertEquals(entry.getValue(), binary.get(entry.getKey()), () -> resource + " " + entry.getKey());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package net.minestom.server.thread;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class RegionThreadProviderIntegrationTest {
+
+    @Test
+    public void connectedChunks(Env env) {
+        var instance = env.createFlatInstance();
+        Chunk first = instance.loadChunk(0, 0).join();
+        Chunk neighbour = instance.loadChunk(1, 0).join();
+        Chunk distant = instance.loadChunk(10, 10).join();
+
+        var provider = ThreadProvider.regions(1);
+        assertEquals(provider.findThread(first), provider.findThread(neighbour));
+        assertNotEquals(provider.findThread(first), provider.findThread(distant));
+    }
+
+    @Test
+    public void mergeRegions(Env env) {
+        var instance = env.createFlatInstance();
+        Chunk first = instance.loadChunk(0, 0).join();
+        Chunk second = instance.loadChunk(2, 0).join();
+
+        var provider = ThreadProvider.regions(1);
+        assertNotEquals(provider.findThread(first), provider.findThread(second));
+        // Chunk connecting both regions, joins one of them until the next rebuild
+        Chunk bridge = instance.loadChunk(1, 0).join();
+        final int bridgeThread = provider.findThread(bridge);
+        assertTrue(bridgeThread == provider.findThread(first) || bridgeThread == provider.findThread(second));
+    }
+
+    @Test
+    public void dispatcherMergeRegions(Env env) throws InterruptedException {
+        var instance = env.createFlatInstance();
+        Chunk first = instance.loadChunk(0, 0).join();
+        Chunk second = instance.loadChunk(2, 0).join();
+
+        ThreadDispatcher<Chunk> dispatcher = ThreadDispatcher.of(ThreadProvider.regions(1), 2);
+        try {
+            dispatcher.createPartition(first);
+            dispatcher.createPartition(second);
+            dispatcher.updateAndAwait(System.currentTimeMillis());
+            dispatcher.refreshThreads();
+            assertEquals(1, dispatcher.threads().get(0).entries().size());
+            assertEquals(1, dispatcher.threads().get(1).entries().size());
+
+            Chunk bridge = instance.loadChunk(1, 0).join();
+            dispatcher.createPartition(bridge);
+            dispatcher.updateAndAwait(System.currentTimeMillis());
+            dispatcher.refreshThreads();
+
+            // Regions are rebuilt once the delay passed, without any other load
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(ThreadDispatcher.REGROUP_DELAY) + 100);
+            dispatcher.updateAndAwait(System.currentTimeMillis());
+            dispatcher.refreshThreads();
+            assertTrue(dispatcher.threads().stream().anyMatch(thread -> thread.entries().size() == 3),
+                    "Both sides of the bridge should share a thread");
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void splitLargeRegions(Env env) {
+        var instance = env.createFlatInstance();
+        for (int x = 0; x < 4; x++) instance.loadChunk(x, 0).join();
+
+        var provider = ThreadProvider.regions(1, 2);
+        Set<Integer> regions = new HashSet<>();
+        for (Chunk chunk : instance.getChunks()) regions.add(provider.findThread(chunk));
+        assertEquals(2, regions.size());
+    }
+
+    @Test
+    public void invalidRadius() {
+        assertThrows(IllegalArgumentException.class, () -> ThreadProvider.regions(0));
+        assertThrows(IllegalArgumentException.class, () -> ThreadProvider.regions(1, 0));
+    }
+}
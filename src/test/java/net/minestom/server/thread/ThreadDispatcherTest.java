@@ -4,10 +4,12 @@ import net.minestom.server.Tickable;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -167,4 +169,154 @@ public class ThreadDispatcherTest {
 
         dispatcher.shutdown();
     }
+
+    @Test
+    public void balancedThreads() {
+        // Ensure that partitions are moved away from an overloaded thread
+        // when RefreshType.BALANCED is used
+        final int threadCount = 2;
+        Map<Tickable, Integer> groups = new ConcurrentHashMap<>();
+        ThreadDispatcher<Tickable> dispatcher = ThreadDispatcher.of(new ThreadProvider<>() {
+            @Override
+            public int findThread(@NotNull Tickable partition) {
+                // Distinct groups, all initially on the first thread
+                return groups.computeIfAbsent(partition, p -> groups.size() * threadCount);
+            }
+
+            @Override
+            public @NotNull RefreshType refreshType() {
+                return RefreshType.BALANCED;
+            }
+        }, threadCount);
+
+        Set<Tickable> partitions = IntStream.range(0, 4)
+                .mapToObj(value -> (Tickable) (time) -> {
+                    try {
+                        Thread.sleep(1 + value % 2);
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                })
+                .collect(Collectors.toUnmodifiableSet());
+        partitions.forEach(dispatcher::createPartition);
+
+        for (int i = 0; i < 10; i++) dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(4, dispatcher.threads().get(0).entries().size());
+        assertEquals(0, dispatcher.threads().get(1).entries().size());
+
+        dispatcher.refreshThreads();
+        assertEquals(2, dispatcher.threads().get(0).entries().size());
+        assertEquals(2, dispatcher.threads().get(1).entries().size());
+
+        // Balanced load is left untouched
+        for (int i = 0; i < 10; i++) dispatcher.updateAndAwait(System.currentTimeMillis());
+        var entries = List.copyOf(dispatcher.threads().get(0).entries());
+        dispatcher.refreshThreads();
+        assertEquals(entries, List.copyOf(dispatcher.threads().get(0).entries()));
+
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void groupedThreads() {
+        // Ensure that partitions of a same group are gathered on a single thread
+        interface Grouped extends Tickable {
+            int group();
+        }
+
+        final int threadCount = 2;
+        ThreadDispatcher<Grouped> dispatcher = ThreadDispatcher.of(new ThreadProvider<>() {
+            @Override
+            public int findThread(@NotNull Grouped partition) {
+                return partition.group();
+            }
+
+            @Override
+            public @NotNull RefreshType refreshType() {
+                return RefreshType.BALANCED;
+            }
+        }, threadCount);
+
+        AtomicInteger secondGroup = new AtomicInteger(1);
+        Grouped first = new Grouped() {
+            @Override
+            public int group() {
+                return 0;
+            }
+
+            @Override
+            public void tick(long time) {
+            }
+        };
+        Grouped second = new Grouped() {
+            @Override
+            public int group() {
+                return secondGroup.get();
+            }
+
+            @Override
+            public void tick(long time) {
+            }
+        };
+        dispatcher.createPartition(first);
+        dispatcher.createPartition(second);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(1, dispatcher.threads().get(0).entries().size());
+        assertEquals(1, dispatcher.threads().get(1).entries().size());
+
+        dispatcher.refreshThreads();
+        assertEquals(1, dispatcher.threads().get(0).entries().size());
+
+        // Merge both groups, only noticed once partitions get loaded or unloaded
+        secondGroup.set(0);
+        dispatcher.refreshThreads();
+        assertEquals(1, dispatcher.threads().get(0).entries().size());
+        Grouped third = new Grouped() {
+            @Override
+            public int group() {
+                return 0;
+            }
+
+            @Override
+            public void tick(long time) {
+            }
+        };
+        dispatcher.createPartition(third);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        dispatcher.refreshThreads();
+        assertEquals(3, dispatcher.threads().stream().mapToInt(thread -> thread.entries().size()).max().orElseThrow());
+
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void delayedGroups() throws InterruptedException {
+        // Provider noticing a merge only once its groups are rebuilt, at most once per delay
+        final long loadTime = System.nanoTime();
+        ThreadDispatcher<Integer> dispatcher = ThreadDispatcher.of(new ThreadProvider<>() {
+            @Override
+            public int findThread(@NotNull Integer partition) {
+                return System.nanoTime() - loadTime >= ThreadDispatcher.REGROUP_DELAY ? 0 : partition;
+            }
+
+            @Override
+            public @NotNull RefreshType refreshType() {
+                return RefreshType.BALANCED;
+            }
+        }, 2);
+        dispatcher.createPartition(0);
+        dispatcher.createPartition(1);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        dispatcher.refreshThreads();
+        assertEquals(1, dispatcher.threads().get(0).entries().size());
+        assertEquals(1, dispatcher.threads().get(1).entries().size());
+
+        // Queried again without any other load or unload
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(ThreadDispatcher.REGROUP_DELAY) + 100);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        dispatcher.refreshThreads();
+        assertEquals(2, dispatcher.threads().stream().mapToInt(thread -> thread.entries().size()).max().orElseThrow());
+
+        dispatcher.shutdown();
+    }
 }
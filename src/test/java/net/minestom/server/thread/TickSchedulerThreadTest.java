@@ -0,0 +1,45 @@
+package net.minestom.server.thread;
+
+import net.minestom.server.MinecraftServer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickSchedulerThreadTest {
+    private static final long TICK = MinecraftServer.TICK_MS * 1_000_000L;
+
+    @Test
+    public void fixedRate() {
+        var thread = new TickSchedulerThread(null);
+        var pacing = TickPacing.fixedRate(2);
+        // On time
+        assertEquals(TICK, thread.nextTick(pacing, 0, 0, TICK / 2));
+        // Late, catch up
+        assertEquals(TICK, thread.nextTick(pacing, 0, 0, TICK * 2));
+        // Too late, skip the oldest ticks
+        assertEquals(TICK * 3, thread.nextTick(pacing, 0, 0, TICK * 5));
+    }
+
+    @Test
+    public void noCatchUp() {
+        var thread = new TickSchedulerThread(null);
+        var pacing = TickPacing.fixedRate(0);
+        assertEquals(TICK, thread.nextTick(pacing, 0, 0, TICK / 2));
+        // Next tick starts right away
+        assertEquals(TICK * 3 / 2, thread.nextTick(pacing, 0, 0, TICK * 3 / 2));
+    }
+
+    @Test
+    public void fixedDelay() {
+        var thread = new TickSchedulerThread(null);
+        var pacing = TickPacing.fixedDelay();
+        assertEquals(TICK * 3 / 2, thread.nextTick(pacing, 0, 0, TICK / 2));
+        assertEquals(TICK * 3, thread.nextTick(pacing, 0, 0, TICK * 2));
+    }
+
+    @Test
+    public void invalidPacing() {
+        assertThrows(IllegalArgumentException.class, () -> TickPacing.fixedRate(-1));
+        assertThrows(IllegalArgumentException.class, () -> TickPacing.adaptive(0, instance -> true));
+    }
+}
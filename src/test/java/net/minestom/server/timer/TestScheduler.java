@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -40,6 +41,25 @@ public class TestScheduler {
         assertTrue(result.get(), "Tick task must be executed after 1 second");
     }
 
+    @Test
+    public void longTickTask() {
+        // Delay longer than a wheel round
+        Scheduler scheduler = Scheduler.newScheduler();
+        AtomicInteger result = new AtomicInteger();
+        scheduler.buildTask(result::incrementAndGet)
+                .delay(TaskSchedule.tick(100))
+                .repeat(TaskSchedule.tick(70))
+                .schedule();
+        for (int i = 0; i < 99; i++) scheduler.processTick();
+        assertEquals(0, result.get());
+        scheduler.processTick();
+        assertEquals(1, result.get());
+        for (int i = 0; i < 69; i++) scheduler.processTick();
+        assertEquals(1, result.get());
+        scheduler.processTick();
+        assertEquals(2, result.get());
+    }
+
     @Test
     public void immediateTask() {
         Scheduler scheduler = Scheduler.newScheduler();
@@ -0,0 +1,81 @@
+package net.minestom.server.timer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+    private static TaskImpl task(int id) {
+        return new TaskImpl(id, TaskSchedule::stop, ExecutionType.SYNC, new SchedulerImpl());
+    }
+
+    @Test
+    public void advance() {
+        TimingWheel wheel = new TimingWheel(8, 0);
+        TaskImpl first = task(0), second = task(1), later = task(2);
+        wheel.schedule(first, 2);
+        wheel.schedule(second, 2);
+        // Same slot, next round
+        wheel.schedule(later, 10);
+
+        List<TaskImpl> expired = new ArrayList<>();
+        wheel.advance(1, expired::add);
+        assertTrue(expired.isEmpty());
+        wheel.advance(2, expired::add);
+        assertEquals(2, expired.size());
+        assertTrue(expired.containsAll(List.of(first, second)));
+
+        expired.clear();
+        wheel.advance(9, expired::add);
+        assertTrue(expired.isEmpty());
+        wheel.advance(10, expired::add);
+        assertEquals(List.of(later), expired);
+    }
+
+    @Test
+    public void advanceMultipleRounds() {
+        TimingWheel wheel = new TimingWheel(8, 0);
+        List<TaskImpl> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            TaskImpl task = task(i);
+            tasks.add(task);
+            wheel.schedule(task, i + 1);
+        }
+        List<TaskImpl> expired = new ArrayList<>();
+        wheel.advance(25, expired::add);
+        assertEquals(25, expired.size());
+        assertTrue(expired.containsAll(tasks.subList(0, 25)));
+        wheel.advance(1000, expired::add);
+        assertEquals(50, expired.size());
+    }
+
+    @Test
+    public void advanceBeyondRounds() {
+        // 8 * 8 ticks fit in both levels, later deadlines wait for their round
+        TimingWheel wheel = new TimingWheel(8, 0);
+        final long[] deadlines = {8, 63, 64, 65, 100, 200, 513};
+        for (int i = 0; i < deadlines.length; i++) wheel.schedule(task(i), deadlines[i]);
+        List<Long> expired = new ArrayList<>();
+        for (long time = 1; time <= 600; time++) {
+            final long now = time;
+            wheel.advance(now, task -> {
+                assertEquals(now, task.timerDeadline);
+                expired.add(now);
+            });
+        }
+        assertEquals(deadlines.length, expired.size());
+    }
+
+    @Test
+    public void pastDeadline() {
+        TimingWheel wheel = new TimingWheel(8, 5);
+        TaskImpl task = task(0);
+        wheel.schedule(task, 2);
+        List<TaskImpl> expired = new ArrayList<>();
+        wheel.advance(6, expired::add);
+        assertEquals(List.of(task), expired);
+    }
+}
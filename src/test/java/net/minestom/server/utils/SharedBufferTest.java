@@ -0,0 +1,48 @@
+package net.minestom.server.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SharedBufferTest {
+
+    @Test
+    public void sizeClasses() {
+        assertEquals(1024, SharedBuffer.allocate(0).buffer().capacity());
+        assertEquals(1024, SharedBuffer.allocate(1024).buffer().capacity());
+        assertEquals(2048, SharedBuffer.allocate(1025).buffer().capacity());
+        assertEquals(SharedBuffer.MAX_POOLED_SIZE, SharedBuffer.allocate(SharedBuffer.MAX_POOLED_SIZE).buffer().capacity());
+        assertEquals(SharedBuffer.MAX_POOLED_SIZE + 1, SharedBuffer.allocate(SharedBuffer.MAX_POOLED_SIZE + 1).buffer().capacity());
+    }
+
+    @Test
+    public void recycle() {
+        var buffer = SharedBuffer.allocate(100_000);
+        buffer.buffer().putInt(5);
+        buffer.retain();
+        buffer.release();
+        assertNotSame(buffer, SharedBuffer.allocate(100_000), "Buffer recycled while still referenced");
+
+        buffer.release();
+        var recycled = SharedBuffer.allocate(100_000);
+        assertSame(buffer, recycled);
+        assertEquals(0, recycled.buffer().position());
+    }
+
+    @Test
+    public void slice() {
+        var buffer = SharedBuffer.allocate(16);
+        buffer.buffer().putInt(1).putInt(2);
+        var slice = buffer.slice(4, 4);
+        assertEquals(2, slice.getInt());
+        assertEquals(8, buffer.buffer().position());
+        buffer.release();
+    }
+
+    @Test
+    public void released() {
+        var buffer = SharedBuffer.allocate(16);
+        buffer.release();
+        assertThrows(IllegalStateException.class, buffer::retain);
+    }
+}